@@ -450,7 +450,6 @@ public final class Source {
     private byte[] getDigestBytes() {
         byte[] ldigest = digest;
         if (ldigest == null) {
-            final byte[] bytes = data().getBytes(StandardCharsets.UTF_16LE);
             try {
                 final MessageDigest md = MessageDigest.getInstance("SHA-1");
                 if (name != null) {
@@ -462,9 +461,10 @@ public final class Source {
                 if (getURL() != null) {
                     md.update(getURL().toString().getBytes(StandardCharsets.UTF_8));
                 }
+                updateDigestUTF16LE(md, data());
                 // Message digest to file name encoder
                 Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
-                digest = ldigest = base64.encode(md.digest(bytes));
+                digest = ldigest = base64.encode(md.digest());
             } catch (final NoSuchAlgorithmException e) {
                 throw new RuntimeException(e);
             }
@@ -472,6 +472,25 @@ public final class Source {
         return ldigest;
     }
 
+    /**
+     * Feeds the UTF-16LE encoding of the content to the digest in chunks, so that large sources are
+     * not copied into a byte array twice their size.
+     */
+    private static void updateDigestUTF16LE(final MessageDigest md, final String content) {
+        final byte[] buffer = new byte[2 * BUF_SIZE];
+        final int length = content.length();
+        for (int start = 0; start < length; start += BUF_SIZE) {
+            final int end = Math.min(start + BUF_SIZE, length);
+            int j = 0;
+            for (int i = start; i < end; i++) {
+                final char ch = content.charAt(i);
+                buffer[j++] = (byte) ch;
+                buffer[j++] = (byte) (ch >>> 8);
+            }
+            md.update(buffer, 0, j);
+        }
+    }
+
     // fake directory like name
     private static String baseName(final String name) {
         int idx = name.lastIndexOf('/');
@@ -40,7 +40,11 @@
  */
 package com.oracle.truffle.js.jmh;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -67,17 +71,38 @@ public class JMHArrayInteropBenchmark {
         Value preallocatedArray;
         Value preallocatedTypedArray;
 
+        Context hostAccessContext;
+        Value javaFrom;
+        int[] intArray;
+        double[] doubleArray;
+        long[] longArray;
+        List<Number> numberList;
+
         @Setup(Level.Trial)
         public void doSetup() {
             context = Context.create("js");
             preSizedArraySource = Source.create("js", "new Array(" + ARRAY_SIZE + ")");
             preallocatedArray = context.eval(Source.create("js", "new Array(" + ARRAY_SIZE + ").fill(0)"));
             preallocatedTypedArray = context.eval(Source.create("js", "new Int32Array(" + ARRAY_SIZE + ")"));
+
+            hostAccessContext = Context.newBuilder("js").allowHostAccess(HostAccess.ALL).allowHostClassLookup(className -> true).build();
+            javaFrom = hostAccessContext.eval(Source.create("js", "(javaArray) => Java.from(javaArray)"));
+            intArray = new int[ARRAY_SIZE];
+            doubleArray = new double[ARRAY_SIZE];
+            longArray = new long[ARRAY_SIZE];
+            numberList = new ArrayList<>(ARRAY_SIZE);
+            for (int i = 0; i < ARRAY_SIZE; i++) {
+                intArray[i] = i;
+                doubleArray[i] = i + 0.5;
+                longArray[i] = i;
+                numberList.add(i);
+            }
         }
 
         @TearDown(Level.Trial)
         public void doTearDown() {
             context.close();
+            hostAccessContext.close();
         }
     }
 
@@ -90,6 +115,26 @@ public class JMHArrayInteropBenchmark {
         return array;
     }
 
+    @Benchmark
+    public Value testJavaFromIntArray(MyState state) {
+        return state.javaFrom.execute(state.intArray);
+    }
+
+    @Benchmark
+    public Value testJavaFromDoubleArray(MyState state) {
+        return state.javaFrom.execute(state.doubleArray);
+    }
+
+    @Benchmark
+    public Value testJavaFromLongArray(MyState state) {
+        return state.javaFrom.execute(state.longArray);
+    }
+
+    @Benchmark
+    public Value testJavaFromNumberList(MyState state) {
+        return state.javaFrom.execute(state.numberList);
+    }
+
     @Benchmark
     public Value testWriteJSArrayFromJava(MyState state) {
         Value array = state.preallocatedArray;
@@ -55,6 +55,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 
 @Warmup(iterations = 5)
 @Measurement(iterations = 5)
@@ -67,6 +68,7 @@ public class JMHJsObjectInteropBenchmark {
         protected static final int MIN_PROPERTY_VALUE_LENGTH = 3;
         protected static final int MAX_PROPERTY_VALUE_LENGTH = 50;
         protected static final int PROPERTIES_COUNT = 10;
+        protected static final int OBJECTS_COUNT = 100;
         protected static final Character[] ALLOWED_CHARS = IntStream.range(0, 256).filter(i -> Character.isAlphabetic(i) || Character.isDigit(i)).mapToObj(i -> (char) i).toArray(Character[]::new);
 
         String generateString(int length) {
@@ -81,6 +83,7 @@ public class JMHJsObjectInteropBenchmark {
         Source emptyObjectSource;
         String[] propertyKeys;
         String[] propertyValues;
+        Value sameShapeObjects;
         Random rnd;
 
         @Setup(Level.Trial)
@@ -92,6 +95,12 @@ public class JMHJsObjectInteropBenchmark {
                             String[]::new);
             propertyValues = IntStream.range(0, PROPERTIES_COUNT).mapToObj(i -> generateString(3 + rnd.nextInt(MAX_PROPERTY_VALUE_LENGTH - MIN_PROPERTY_VALUE_LENGTH + 1))).toArray(
                             String[]::new);
+
+            Value object = context.eval(emptyObjectSource);
+            for (int i = 0; i < PROPERTIES_COUNT; i++) {
+                object.putMember(propertyKeys[i], propertyValues[i]);
+            }
+            sameShapeObjects = context.eval(Source.create("js", "(template, n) => Array.from({length: n}, () => Object.assign({}, template))")).execute(object, OBJECTS_COUNT);
         }
 
         @TearDown(Level.Trial)
@@ -109,4 +118,15 @@ public class JMHJsObjectInteropBenchmark {
         return object;
     }
 
+    @Benchmark
+    public void testReadJSObjectMembersFromJava(MyState state, Blackhole blackhole) {
+        Value objects = state.sameShapeObjects;
+        for (int i = 0; i < MyState.OBJECTS_COUNT; i++) {
+            Value object = objects.getArrayElement(i);
+            for (String key : object.getMemberKeys()) {
+                blackhole.consume(object.getMember(key));
+            }
+        }
+    }
+
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Map-heavy loops with monomorphic key types.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHMapBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int MAP_SIZE = 10000;
+
+        Context context;
+        Value intKeyLoop;
+        Value doubleKeyLoop;
+        Value stringKeyLoop;
+        Value populateLoop;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var intMap = new Map();\n" +
+                            "var doubleMap = new Map();\n" +
+                            "var stringMap = new Map();\n" +
+                            "var stringKeys = [];\n" +
+                            "for (var i = 0; i < " + MAP_SIZE + "; i++) {\n" +
+                            "  intMap.set(i, i);\n" +
+                            "  doubleMap.set(i + 0.5, i);\n" +
+                            "  stringKeys.push('key' + i);\n" +
+                            "  stringMap.set(stringKeys[i], i);\n" +
+                            "}\n"));
+            intKeyLoop = context.eval(Source.create("js", "" +
+                            "(function() {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var i = 0; i < intMap.size; i++) {\n" +
+                            "    if (intMap.has(i)) sum += intMap.get(i);\n" +
+                            "  }\n" +
+                            "  return sum;\n" +
+                            "})"));
+            doubleKeyLoop = context.eval(Source.create("js", "" +
+                            "(function() {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var i = 0; i < doubleMap.size; i++) {\n" +
+                            "    sum += doubleMap.get(i + 0.5);\n" +
+                            "  }\n" +
+                            "  return sum;\n" +
+                            "})"));
+            stringKeyLoop = context.eval(Source.create("js", "" +
+                            "(function() {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var i = 0; i < stringKeys.length; i++) {\n" +
+                            "    sum += stringMap.get(stringKeys[i]);\n" +
+                            "  }\n" +
+                            "  return sum;\n" +
+                            "})"));
+            populateLoop = context.eval(Source.create("js", "" +
+                            "(function() {\n" +
+                            "  var map = new Map();\n" +
+                            "  for (var i = 0; i < " + MAP_SIZE + "; i++) {\n" +
+                            "    map.set(i, i);\n" +
+                            "    map.set(stringKeys[i], i);\n" +
+                            "  }\n" +
+                            "  return map.size;\n" +
+                            "})"));
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testMapIntKeys(MyState state) {
+        return state.intKeyLoop.execute();
+    }
+
+    @Benchmark
+    public Value testMapDoubleKeys(MyState state) {
+        return state.doubleKeyLoop.execute();
+    }
+
+    @Benchmark
+    public Value testMapStringKeys(MyState state) {
+        return state.stringKeyLoop.execute();
+    }
+
+    @Benchmark
+    public Value testMapPopulate(MyState state) {
+        return state.populateLoop.execute();
+    }
+}
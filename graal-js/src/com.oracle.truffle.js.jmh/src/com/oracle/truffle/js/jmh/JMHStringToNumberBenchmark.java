@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * String to number conversion of decimal literals with fractions and exponents.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHStringToNumberBenchmark {
+    protected static final int COUNT = 10000;
+
+    @State(Scope.Thread)
+    public static class JSState {
+        Context context;
+        Value numberLoop;
+        Value parseFloatLoop;
+        Value jsonParse;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var strings = [];\n" +
+                            "for (var i = 0; i < " + COUNT + "; i++) {\n" +
+                            "  strings.push(String(i % 2 === 0 ? Math.floor(Math.random() * 10000000) / 100 : Math.random() * Math.pow(10, Math.floor(Math.random() * 40) - 10)));\n" +
+                            "}\n" +
+                            "var json = '[' + strings.join() + ']';\n"));
+            numberLoop = context.eval(Source.create("js", "" +
+                            "(function() {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var i = 0; i < strings.length; i++) {\n" +
+                            "    sum += Number(strings[i]);\n" +
+                            "  }\n" +
+                            "  return sum;\n" +
+                            "})"));
+            parseFloatLoop = context.eval(Source.create("js", "" +
+                            "(function() {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var i = 0; i < strings.length; i++) {\n" +
+                            "    sum += parseFloat(strings[i]);\n" +
+                            "  }\n" +
+                            "  return sum;\n" +
+                            "})"));
+            jsonParse = context.eval(Source.create("js", "" +
+                            "(function() {\n" +
+                            "  return JSON.parse(json).length;\n" +
+                            "})"));
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testNumber(JSState state) {
+        return state.numberLoop.execute();
+    }
+
+    @Benchmark
+    public Value testParseFloat(JSState state) {
+        return state.parseFloatLoop.execute();
+    }
+
+    @Benchmark
+    public Value testJSONParse(JSState state) {
+        return state.jsonParse.execute();
+    }
+}
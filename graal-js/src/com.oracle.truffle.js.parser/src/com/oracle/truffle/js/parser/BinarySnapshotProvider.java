@@ -52,9 +52,18 @@ import com.oracle.truffle.js.runtime.JSContext;
 public class BinarySnapshotProvider implements SnapshotProvider {
     public static final int MAGIC = 0x314e4942;
     private final ByteBuffer buffer;
+    private final boolean eager;
 
     public BinarySnapshotProvider(ByteBuffer buffer) {
+        this(buffer, false);
+    }
+
+    /**
+     * @param eager decode all function bodies immediately rather than on first use
+     */
+    public BinarySnapshotProvider(ByteBuffer buffer, boolean eager) {
         this.buffer = buffer;
+        this.eager = eager;
         assert checkFormat(new BinaryDecoder(buffer));
     }
 
@@ -84,6 +93,6 @@ public class BinarySnapshotProvider implements SnapshotProvider {
         if (code.length() != sourceLength || code.hashCode() != sourceHash) {
             throw new IllegalArgumentException("Snapshot verification failed");
         }
-        return new JSNodeDecoder().decodeNode(new NodeDecoder.DecoderState(decoder), nodeFactory, context, source);
+        return new JSNodeDecoder(eager).decodeNode(new NodeDecoder.DecoderState(decoder), nodeFactory, context, source);
     }
 }
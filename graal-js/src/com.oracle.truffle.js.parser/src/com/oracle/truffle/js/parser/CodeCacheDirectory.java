@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * Persistent cache of binary script snapshots in the directory given by the
+ * {@code js.code-cache-directory} option.
+ *
+ * Unlike {@link SnapshotDirectory}, snapshots are looked up by a SHA-256 hash of the source content,
+ * the context options, the strict mode, and the snapshot format checksum, so that the cache is not
+ * affected by source names and is invalidated by any change of the options or of the
+ * engine. On a miss, the script is translated by a {@link SnapshotRecorder} (if one is available)
+ * and its snapshot is written to the directory, atomically replacing the cache file, so that the
+ * cache can be shared by concurrently running processes. Without a recorder, the directory is only
+ * read. The directory is accessed through the public file system of the context, so the cache is
+ * not used unless the context is allowed to do IO.
+ */
+final class CodeCacheDirectory {
+
+    static final String CACHE_FILE_SUFFIX = ".bin";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static volatile SnapshotRecorder recorder;
+    private static volatile boolean recorderLoaded;
+
+    private CodeCacheDirectory() {
+    }
+
+    /**
+     * Returns the script decoded from its cached snapshot, or translated and stored in the cache,
+     * or {@code null} if the script has to be parsed as usual.
+     */
+    static ScriptNode loadOrStoreScript(JSContext context, Source source, boolean strict) {
+        CompilerAsserts.neverPartOfCompilation();
+        JSContextOptions options = context.getContextOptions();
+        TruffleLanguage.Env env = JSRealm.get(null).getEnv();
+        TruffleFile dir;
+        TruffleFile file;
+        try {
+            dir = env.getPublicTruffleFile(options.getCodeCacheDirectory()).getAbsoluteFile().normalize();
+            file = dir.resolve(cacheKey(options, source, strict) + CACHE_FILE_SUFFIX);
+        } catch (InvalidPathException | SecurityException | UnsupportedOperationException e) {
+            return null;
+        }
+        ByteBuffer snapshot = SnapshotDirectory.mapFile(file);
+        if (snapshot != null) {
+            ScriptNode script = SnapshotDirectory.decodeScript(context, source, snapshot);
+            if (script != null) {
+                return script;
+            }
+        }
+        return storeScript(context, env, source, strict, dir, file);
+    }
+
+    private static ScriptNode storeScript(JSContext context, TruffleLanguage.Env env, Source source, boolean strict, TruffleFile dir, TruffleFile file) {
+        SnapshotRecorder snapshotRecorder = getRecorder();
+        if (snapshotRecorder == null || context.getContextOptions().isLazyTranslation()) {
+            // lazily translated functions cannot be recorded
+            return null;
+        }
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        ScriptNode script;
+        try {
+            script = snapshotRecorder.translateScript(context, source, strict, snapshot);
+        } catch (IOException | RuntimeException e) {
+            // not recordable, or a syntax error that is reported by the regular parse
+            return null;
+        }
+        TruffleFile tempFile = null;
+        try {
+            dir.createDirectories();
+            tempFile = env.createTempFile(dir, file.getName(), TEMP_FILE_SUFFIX);
+            try (OutputStream out = tempFile.newOutputStream()) {
+                snapshot.writeTo(out);
+            }
+            tempFile.move(file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            tempFile = null;
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            // the cache is best effort, the script is still usable
+        } finally {
+            if (tempFile != null) {
+                try {
+                    tempFile.delete();
+                } catch (IOException | SecurityException e) {
+                    // ignore
+                }
+            }
+        }
+        return script;
+    }
+
+    private static String cacheKey(JSContextOptions options, Source source, boolean strict) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String header = JSNodeDecoder.getChecksum() + ":" + strict + ":" + options.getOptionValuesKey() + ":";
+        digest.update(header.getBytes(StandardCharsets.UTF_8));
+        updateUTF16(digest, source.getCharacters());
+        StringBuilder key = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Hashes the UTF-16 code units of the source, so that unpaired surrogates are preserved.
+     */
+    private static void updateUTF16(MessageDigest digest, CharSequence chars) {
+        byte[] buffer = new byte[8192];
+        int pos = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            buffer[pos++] = (byte) (c >> 8);
+            buffer[pos++] = (byte) c;
+            if (pos == buffer.length) {
+                digest.update(buffer, 0, pos);
+                pos = 0;
+            }
+        }
+        digest.update(buffer, 0, pos);
+    }
+
+    private static SnapshotRecorder getRecorder() {
+        if (!recorderLoaded) {
+            synchronized (CodeCacheDirectory.class) {
+                if (!recorderLoaded) {
+                    Iterator<SnapshotRecorder> recorders = ServiceLoader.load(SnapshotRecorder.class, CodeCacheDirectory.class.getClassLoader()).iterator();
+                    recorder = recorders.hasNext() ? recorders.next() : null;
+                    recorderLoaded = true;
+                }
+            }
+        }
+        return recorder;
+    }
+}
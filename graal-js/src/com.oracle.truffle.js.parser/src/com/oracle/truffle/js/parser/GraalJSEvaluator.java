@@ -125,6 +125,7 @@ import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.ModuleParseExecutor;
 import com.oracle.truffle.js.runtime.util.Pair;
 
 /**
@@ -242,6 +243,20 @@ public final class GraalJSEvaluator implements JSParser {
         if (isModuleSource(source)) {
             return fakeScriptForModule(context, source);
         }
+        boolean plainScript = prolog.isEmpty() && epilog.isEmpty() && argumentNames == null;
+        if (!context.getContextOptions().getSnapshotDirectory().isEmpty() && plainScript && !isStrict) {
+            // snapshots are recorded for plain, non-strict scripts
+            ScriptNode snapshot = SnapshotDirectory.loadScript(context, source);
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
+        if (!context.getContextOptions().getCodeCacheDirectory().isEmpty() && plainScript) {
+            ScriptNode cached = CodeCacheDirectory.loadOrStoreScript(context, source, isStrict);
+            if (cached != null) {
+                return cached;
+            }
+        }
         try {
             return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, isStrict, prolog, epilog, argumentNames);
         } catch (com.oracle.js.parser.ParserException e) {
@@ -399,6 +414,16 @@ public final class GraalJSEvaluator implements JSParser {
         return moduleScriptRoot.getModuleData();
     }
 
+    @TruffleBoundary
+    @Override
+    public void prefetchModule(JSRealm realm, Source source) {
+        ModuleParseExecutor executor = realm.getModuleParseExecutor();
+        if (executor != null && isModuleSource(source)) {
+            JSParserOptions parserOptions = realm.getContext().getParserOptions().putStrict(true);
+            executor.submit(source, () -> GraalJSParserHelper.parseModuleOffThread(source, parserOptions));
+        }
+    }
+
     @TruffleBoundary
     @Override
     public JSModuleRecord parseJSONModule(JSRealm realm, Source source) {
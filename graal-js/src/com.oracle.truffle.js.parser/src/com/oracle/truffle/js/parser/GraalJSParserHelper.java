@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.parser;
 
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 
@@ -64,8 +65,10 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSParserOptions;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.RegexCompilerInterface;
+import com.oracle.truffle.js.runtime.util.ModuleParseExecutor;
 
 public final class GraalJSParserHelper {
 
@@ -94,6 +97,61 @@ public final class GraalJSParserHelper {
         return parseSource(context, truffleSource, parserOptions, true, false, false, null, "", "", null);
     }
 
+    /**
+     * Parses a module source on a background thread, see {@link ModuleParseExecutor}. Regular
+     * expression literals cannot be validated without an entered context, so they are only
+     * collected here and validated by {@link #takePrefetchedModule}.
+     */
+    public static PrefetchedModule parseModuleOffThread(com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions) {
+        com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), truffleSource.getCharacters(), false);
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions);
+        ErrorManager errors = new ErrorManager.ThrowErrorManager();
+        errors.setLimit(0);
+
+        List<RegexToken> regexLiterals = new ArrayList<>();
+        Parser parser = createParser(null, env, source, errors, parserOptions, regexLiterals);
+        // syntax errors are thrown by the error manager and reported by the regular parse
+        FunctionNode parsed = parser.parseModule(COLON_MODULE);
+        return new PrefetchedModule(parsed, regexLiterals);
+    }
+
+    /**
+     * Returns the module parsed in the background for the given source, or {@code null} if there
+     * is none and the source has to be parsed normally. Must be called on the context thread.
+     */
+    public static FunctionNode takePrefetchedModule(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        if (context.getContextOptions().getModuleParseThreads() <= 0) {
+            return null;
+        }
+        ModuleParseExecutor executor = JSRealm.get(null).getModuleParseExecutor();
+        PrefetchedModule prefetched = (PrefetchedModule) executor.take(truffleSource);
+        if (prefetched == null) {
+            return null;
+        }
+        if (context.getContextOptions().isValidateRegExpLiterals()) {
+            for (RegexToken regex : prefetched.regexLiterals) {
+                try {
+                    RegexCompilerInterface.validate(context, regex.getExpression(), regex.getOptions(), parserOptions.getEcmaScriptVersion());
+                } catch (JSException e) {
+                    // reparse to report the error with its source location
+                    return null;
+                }
+            }
+        }
+        return prefetched.module;
+    }
+
+    public static final class PrefetchedModule {
+        final FunctionNode module;
+        final List<RegexToken> regexLiterals;
+
+        PrefetchedModule(FunctionNode module, List<RegexToken> regexLiterals) {
+            this.module = module;
+            this.regexLiterals = regexLiterals;
+        }
+    }
+
     private static FunctionNode parseSource(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions,
                     boolean parseModule, boolean eval, boolean evalInFunction, Scope evalScope, String prologue, String epilogue, List<String> argumentNames) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
@@ -101,11 +159,9 @@ public final class GraalJSParserHelper {
         if (prologue.isEmpty() && epilogue.isEmpty()) {
             code = truffleSource.getCharacters();
         } else {
-            StringBuilder all = new StringBuilder();
-            all.append(prologue);
-            all.append(truffleSource.getCharacters());
-            all.append(epilogue);
-            code = all;
+            // string concatenation copies the characters once into an exactly sized string,
+            // unlike a StringBuilder that grows and is copied again by toString()
+            code = prologue + truffleSource.getCharacters() + epilogue;
         }
         com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), code, eval);
 
@@ -156,11 +212,24 @@ public final class GraalJSParserHelper {
     }
 
     private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions) {
+        return createParser(context, env, source, errors, parserOptions, null);
+    }
+
+    /**
+     * @param deferredRegexLiterals if not {@code null}, regular expression literals are collected
+     *            in this list instead of being validated, which needs an entered context.
+     */
+    private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions,
+                    List<RegexToken> deferredRegexLiterals) {
         return new Parser(env, source, errors) {
             @Override
             protected void validateLexerToken(LexerToken lexerToken) {
                 if (lexerToken instanceof RegexToken) {
                     final RegexToken regex = (RegexToken) lexerToken;
+                    if (deferredRegexLiterals != null) {
+                        deferredRegexLiterals.add(regex);
+                        return;
+                    }
                     // validate regular expression
                     if (context.getContextOptions().isValidateRegExpLiterals()) {
                         try {
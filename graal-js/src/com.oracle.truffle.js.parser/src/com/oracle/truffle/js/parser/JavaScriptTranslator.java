@@ -53,6 +53,7 @@ import com.oracle.truffle.js.nodes.function.JSFunctionExpressionNode;
 import com.oracle.truffle.js.parser.env.Environment;
 import com.oracle.truffle.js.parser.env.EvalEnvironment;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSParserOptions;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.objects.JSModuleData;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
@@ -124,7 +125,11 @@ public final class JavaScriptTranslator extends GraalJSTranslator {
     }
 
     public static JSModuleData translateModule(NodeFactory factory, JSContext context, Source source) {
-        FunctionNode parsed = GraalJSParserHelper.parseModule(context, source, context.getParserOptions().putStrict(true));
+        JSParserOptions parserOptions = context.getParserOptions().putStrict(true);
+        FunctionNode parsed = GraalJSParserHelper.takePrefetchedModule(context, source, parserOptions);
+        if (parsed == null) {
+            parsed = GraalJSParserHelper.parseModule(context, source, parserOptions);
+        }
         JavaScriptTranslator translator = new JavaScriptTranslator(factory, context, source, 0, null, true);
         return translator.translateModule(parsed);
     }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * Looks up binary snapshots of scripts in the directory given by the
+ * {@code js.snapshot-directory} option.
+ *
+ * A snapshot of a script named {@code name} is expected in {@code <directory>/<name>.bin}, i.e.,
+ * in the layout produced by {@code SnapshotTool --binary --outdir=<directory>}. The snapshot file
+ * is accessed through the public file system of the context, i.e., only if the context is allowed
+ * to do IO, and is memory-mapped rather than read into the heap where possible. It is used only if
+ * the source length and hash recorded in its header match the content of the script; otherwise,
+ * the script is parsed as usual.
+ */
+final class SnapshotDirectory {
+
+    static final String SNAPSHOT_FILE_SUFFIX = ".bin";
+
+    private SnapshotDirectory() {
+    }
+
+    /**
+     * Returns the script decoded from the matching snapshot, or {@code null} if there is no usable
+     * snapshot for the source.
+     */
+    static ScriptNode loadScript(JSContext context, Source source) {
+        CompilerAsserts.neverPartOfCompilation();
+        ByteBuffer snapshot = mapSnapshot(context.getContextOptions().getSnapshotDirectory(), source.getName());
+        if (snapshot == null) {
+            return null;
+        }
+        return decodeScript(context, source, snapshot);
+    }
+
+    /**
+     * Decodes a binary snapshot of the source, or returns {@code null} if the snapshot cannot be
+     * used for the source.
+     *
+     * All function bodies are decoded immediately, so that a truncated or corrupt file is detected
+     * here and the script is parsed instead, rather than failing on the first call of a function.
+     */
+    static ScriptNode decodeScript(JSContext context, Source source, ByteBuffer snapshot) {
+        try {
+            Object rootNode = new BinarySnapshotProvider(snapshot, true).apply(NodeFactory.getInstance(context), context, source);
+            return ScriptNode.fromFunctionRoot((FunctionRootNode) rootNode);
+        } catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException | BufferUnderflowException | ClassCastException | NegativeArraySizeException e) {
+            // unknown format, outdated, truncated or corrupt snapshot, or source content mismatch
+            return null;
+        }
+    }
+
+    private static ByteBuffer mapSnapshot(String directory, String sourceName) {
+        if (sourceName == null || sourceName.isEmpty()) {
+            return null;
+        }
+        try {
+            TruffleLanguage.Env env = JSRealm.get(null).getEnv();
+            TruffleFile dir = env.getPublicTruffleFile(directory).getAbsoluteFile().normalize();
+            TruffleFile file = dir.resolve(sourceName + SNAPSHOT_FILE_SUFFIX).normalize();
+            if (!file.startsWith(dir)) {
+                return null;
+            }
+            return mapFile(file);
+        } catch (InvalidPathException | SecurityException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps the file read-only (or reads it, if the file system does not support mapping), or
+     * returns {@code null} if it is not a readable regular file or IO is not allowed.
+     */
+    static ByteBuffer mapFile(TruffleFile file) {
+        try {
+            if (!file.isRegularFile() || !file.isReadable()) {
+                return null;
+            }
+            try (SeekableByteChannel channel = file.newByteChannel(Set.of(StandardOpenOption.READ))) {
+                long size = channel.size();
+                if (channel instanceof FileChannel) {
+                    // the mapping remains valid after the channel has been closed
+                    return ((FileChannel) channel).map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+                if (size > Integer.MAX_VALUE) {
+                    return null;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // read until the buffer is full or the end of the file is reached
+                }
+                buffer.flip();
+                return buffer;
+            }
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -88,6 +88,11 @@ public final class DoubleConversion {
     private static final int kMaxExponentialDigits = 120;
     private static final int kBase10MaximalLength = 17;
 
+    /**
+     * Maximal number of characters written by {@link #toShortest(double, char[])}.
+     */
+    public static final int kMaxShortestLength = SchubfachDtoa.kMaxLength;
+
     /**
      * Converts a double number to its shortest string representation.
      *
@@ -95,12 +100,23 @@ public final class DoubleConversion {
      * @return formatted number
      */
     public static String toShortest(final double value) {
-        assert Double.isFinite(value) : value;
+        final char[] buffer = new char[kMaxShortestLength];
+        final int length = toShortest(value, buffer);
+        return new String(buffer, 0, length);
+    }
 
-        final DtoaBuffer buffer = new DtoaBuffer(FastDtoa.kFastDtoaMaximalLength);
-        dtoaShortest(value, buffer);
+    /**
+     * Writes the shortest string representation of a double number to the given buffer, using
+     * the {@code SchubfachDtoa} algorithm.
+     *
+     * @param value number to convert
+     * @param buffer buffer of at least {@link #kMaxShortestLength} characters
+     * @return number of characters written
+     */
+    public static int toShortest(final double value, final char[] buffer) {
+        assert Double.isFinite(value) : value;
 
-        return buffer.format(DtoaMode.SHORTEST, 0);
+        return SchubfachDtoa.toShortest(value, buffer);
     }
 
     private static void dtoaShortest(final double value, final DtoaBuffer buffer) {
@@ -119,6 +135,20 @@ public final class DoubleConversion {
         }
     }
 
+    /**
+     * Converts the decimal number {@code significand * 10^exponent} to the nearest double, using
+     * the {@code EiselLemire} algorithm. Fails for the rare inputs for which 128 bits of the power
+     * of ten are not enough to decide the rounding.
+     *
+     * @param significand decimal significand, interpreted as unsigned 64-bit integer
+     * @param exponent decimal exponent
+     * @param negative whether the number is negative
+     * @return the correctly rounded double, or {@link Double#NaN} if the conversion failed
+     */
+    public static double decimalToDouble(final long significand, final int exponent, final boolean negative) {
+        return EiselLemire.toDouble(significand, exponent, negative);
+    }
+
     /**
      * Converts a double number to a string representation with a fixed number of digits after the
      * decimal point.
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.GraalJSContextPool;
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+public class TestContextPool {
+
+    @Test
+    public void testReuse() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 2)) {
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                assertEquals(42, engine.eval("globalThis.answer = 42; answer"));
+                assertEquals(1, pool.getActiveCount());
+            }
+            assertEquals(0, pool.getActiveCount());
+            assertEquals(1, pool.getIdleCount());
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                assertEquals("undefined", engine.eval("typeof answer"));
+            }
+            assertEquals(1, pool.getCreatedCount());
+            assertEquals(1, pool.getReusedCount());
+            assertEquals(0, pool.getDiscardedCount());
+        }
+    }
+
+    @Test
+    public void testRestoreBuiltin() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                engine.eval("JSON = null; delete Math;");
+            }
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                assertEquals("[1]", engine.eval("JSON.stringify([Math.abs(-1)])"));
+            }
+            assertEquals(1, pool.getReusedCount());
+        }
+    }
+
+    @Test
+    public void testBindings() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                engine.put("x", 1);
+                assertEquals(2, engine.eval("x + 1"));
+            }
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                assertEquals("undefined", engine.eval("typeof x"));
+                assertNull(engine.getBindings(ScriptContext.ENGINE_SCOPE).get("x"));
+            }
+        }
+    }
+
+    @Test
+    public void testDiscardDeclarations() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                engine.eval("var v = 1;");
+            }
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                engine.eval("let l = 1;");
+            }
+            assertEquals(0, pool.getIdleCount());
+            assertEquals(0, pool.getReusedCount());
+            assertEquals(2, pool.getDiscardedCount());
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                assertEquals("undefined", engine.eval("typeof v + typeof l"));
+            }
+        }
+    }
+
+    @Test
+    public void testDiscardModifiedIntrinsics() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            for (String script : new String[]{"Array.prototype.leak = 'secret';", "Math.max = Math.min;", "Object.freeze(JSON);", "Object.setPrototypeOf(Reflect, null);"}) {
+                try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                    engine.eval(script);
+                }
+                assertEquals(script, 0, pool.getIdleCount());
+            }
+            assertEquals(4, pool.getDiscardedCount());
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                assertEquals("undefined", engine.eval("typeof [].leak"));
+            }
+            assertEquals(0, pool.getReusedCount());
+        }
+    }
+
+    @Test
+    public void testResetRegExpStatics() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                engine.eval("/(secret)/.exec('the secret');");
+            }
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                assertEquals("", engine.eval("RegExp.$1 + RegExp.lastMatch + RegExp.input"));
+            }
+            assertEquals(1, pool.getReusedCount());
+        }
+    }
+
+    @Test
+    public void testReleaseReplacedEngineBindings() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            try (GraalJSScriptEngine engine = pool.getScriptEngine()) {
+                engine.eval("1");
+                engine.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+            }
+            assertEquals(0, pool.getActiveCount());
+            assertEquals(1, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    public void testMaxIdle() throws ScriptException {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            GraalJSScriptEngine engine1 = pool.getScriptEngine();
+            GraalJSScriptEngine engine2 = pool.getScriptEngine();
+            engine1.eval("1");
+            engine2.eval("2");
+            assertEquals(2, pool.getActiveCount());
+            engine1.close();
+            engine2.close();
+            assertEquals(1, pool.getIdleCount());
+            assertEquals(1, pool.getDiscardedCount());
+        }
+    }
+
+    @Test
+    public void testPrestart() {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 2)) {
+            pool.prestart(3);
+            assertEquals(2, pool.getIdleCount());
+            assertEquals(2, pool.getCreatedCount());
+        }
+    }
+
+    @Test
+    public void testMagicOptions() {
+        try (GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1)) {
+            ScriptEngine engine = pool.getScriptEngine();
+            try {
+                engine.put("polyglot.js.allowAllAccess", true);
+                fail("IllegalStateException expected");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testClosedPool() {
+        GraalJSContextPool pool = GraalJSContextPool.create(null, null, 1);
+        pool.close();
+        try {
+            pool.getScriptEngine();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+}
@@ -69,12 +69,20 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Context.Builder contextBuilder;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
+    private GraalJSContextPool contextPool;
+    private GraalJSContextPool.PooledContext pooledContext;
+    private boolean released;
 
     GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
         this.contextBuilder = contextBuilder;
         this.engineScriptContext = scriptContext;
     }
 
+    GraalJSBindings(GraalJSContextPool contextPool, ScriptContext scriptContext) {
+        this.contextPool = contextPool;
+        this.engineScriptContext = scriptContext;
+    }
+
     GraalJSBindings(Context context, ScriptContext scriptContext) {
         this.context = context;
         initGlobal();
@@ -88,7 +96,15 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (contextPool != null) {
+            if (released) {
+                throw new IllegalStateException("the js context has been returned to the pool");
+            }
+            pooledContext = contextPool.acquire();
+            context = pooledContext.context;
+        } else {
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        }
         initGlobal();
     }
 
@@ -114,7 +130,9 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     public Object put(String name, Object v) {
         checkKey(name);
         if (name.startsWith(GraalJSScriptEngine.MAGIC_OPTION_PREFIX)) {
-            if (context == null) {
+            if (contextPool != null) {
+                throw magicOptionPooledContextError(name);
+            } else if (context == null) {
                 MagicBindingsOptionSetter optionSetter = GraalJSScriptEngine.MAGIC_BINDINGS_OPTION_MAP.get(name);
                 if (optionSetter == null) {
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
@@ -175,7 +193,16 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
 
     @Override
     public void close() {
-        if (context != null) {
+        if (pooledContext != null) {
+            GraalJSContextPool.PooledContext toRelease = pooledContext;
+            pooledContext = null;
+            context = null;
+            global = null;
+            deleteProperty = null;
+            clear = null;
+            released = true;
+            contextPool.release(toRelease);
+        } else if (context != null) {
             context.close();
         }
     }
@@ -184,6 +211,10 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return new IllegalStateException(String.format("failed to set graal-js option \"%s\": js context is already initialized", name));
     }
 
+    private static IllegalStateException magicOptionPooledContextError(String name) {
+        return new IllegalStateException(String.format("failed to set graal-js option \"%s\": js context is pooled, the options have to be set when the pool is created", name));
+    }
+
     void importGlobalBindings(ScriptContext scriptContext) {
         Bindings globalBindings = scriptContext.getBindings(ScriptContext.GLOBAL_SCOPE);
         if (globalBindings != null && !globalBindings.isEmpty() && this != globalBindings) {
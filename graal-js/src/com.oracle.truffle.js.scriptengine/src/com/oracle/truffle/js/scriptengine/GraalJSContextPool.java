@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.ScriptContext;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+
+/**
+ * A pool of initialized polyglot contexts for short-lived {@link GraalJSScriptEngine script
+ * engines}. The default {@link ScriptContext} of an engine obtained from {@link #getScriptEngine()}
+ * borrows a context from the pool on first use, and returns it when the engine is
+ * {@link GraalJSScriptEngine#close() closed}.
+ *
+ * When a context is returned, the global object is reset to the state it had after the context was
+ * initialized: properties added by scripts are deleted, modified properties are restored and the
+ * legacy {@code RegExp} static properties are cleared. A context that cannot be reset this way is
+ * closed instead of being reused, e.g., when a script has declared global variables or functions
+ * (which are not deletable) or global {@code let}, {@code const} or {@code class} bindings, or has
+ * modified an object that was reachable from the global object after initialization, such as a
+ * built-in prototype (a property, the prototype or the extensibility of the object). Pooled engines
+ * do not support the {@code polyglot.js.*} bindings options, the context configuration has to be
+ * provided when creating the pool.
+ */
+public final class GraalJSContextPool implements AutoCloseable {
+
+    private static final String ID = "js";
+    private static final String RESET_FUNCTION_SOURCE = "(function(global) {\n" +
+                    "  var apply = Reflect.apply, ownKeys = Reflect.ownKeys, is = Object.is, getPrototypeOf = Reflect.getPrototypeOf, isExtensible = Reflect.isExtensible;\n" +
+                    "  var getOwnPropertyDescriptor = Reflect.getOwnPropertyDescriptor, defineProperty = Reflect.defineProperty, deleteProperty = Reflect.deleteProperty;\n" +
+                    "  var mapHas = Map.prototype.has, mapGet = Map.prototype.get, mapSet = Map.prototype.set;\n" +
+                    "  var regExpExec = RegExp.prototype.exec, emptyRegExp = /(?:)/;\n" +
+                    "  var keys = ownKeys(global), snapshot = new Map(), i, j, key, desc;\n" +
+                    "  for (i = 0; i < keys.length; i++) {\n" +
+                    "    apply(mapSet, snapshot, [keys[i], getOwnPropertyDescriptor(global, keys[i])]);\n" +
+                    "  }\n" +
+                    "  // the state of all objects reachable from the initial global properties (the intrinsics)\n" +
+                    "  var visited = new Map(), pending = [], objects = [], states = [];\n" +
+                    "  function visit(value) {\n" +
+                    "    if (((typeof value === 'object' && value !== null) || typeof value === 'function') && value !== global && !apply(mapHas, visited, [value])) {\n" +
+                    "      apply(mapSet, visited, [value, true]);\n" +
+                    "      pending[pending.length] = value;\n" +
+                    "    }\n" +
+                    "  }\n" +
+                    "  function visitDescriptor(d) {\n" +
+                    "    visit(d.value); visit(d.get); visit(d.set);\n" +
+                    "  }\n" +
+                    "  for (i = 0; i < keys.length; i++) {\n" +
+                    "    visitDescriptor(apply(mapGet, snapshot, [keys[i]]));\n" +
+                    "  }\n" +
+                    "  while (pending.length > 0) {\n" +
+                    "    var o = pending[pending.length - 1], ownPropertyKeys = ownKeys(o), descs = [];\n" +
+                    "    pending.length--;\n" +
+                    "    for (j = 0; j < ownPropertyKeys.length; j++) {\n" +
+                    "      descs[j] = getOwnPropertyDescriptor(o, ownPropertyKeys[j]);\n" +
+                    "      visitDescriptor(descs[j]);\n" +
+                    "    }\n" +
+                    "    objects[objects.length] = o;\n" +
+                    "    states[states.length] = {proto: getPrototypeOf(o), extensible: isExtensible(o), keys: ownPropertyKeys, descs: descs};\n" +
+                    "    visit(getPrototypeOf(o));\n" +
+                    "  }\n" +
+                    "  function same(a, b) {\n" +
+                    "    return is(a.value, b.value) && a.get === b.get && a.set === b.set && a.writable === b.writable && a.enumerable === b.enumerable && a.configurable === b.configurable;\n" +
+                    "  }\n" +
+                    "  function intrinsicsUnchanged() {\n" +
+                    "    for (i = 0; i < objects.length; i++) {\n" +
+                    "      var o = objects[i], state = states[i], current = ownKeys(o);\n" +
+                    "      if (getPrototypeOf(o) !== state.proto || isExtensible(o) !== state.extensible || current.length !== state.keys.length) {\n" +
+                    "        return false;\n" +
+                    "      }\n" +
+                    "      for (j = 0; j < current.length; j++) {\n" +
+                    "        if (current[j] !== state.keys[j] || !same(getOwnPropertyDescriptor(o, current[j]), state.descs[j])) {\n" +
+                    "          return false;\n" +
+                    "        }\n" +
+                    "      }\n" +
+                    "    }\n" +
+                    "    return true;\n" +
+                    "  }\n" +
+                    "  return function reset() {\n" +
+                    "    if (!intrinsicsUnchanged()) {\n" +
+                    "      return false;\n" +
+                    "    }\n" +
+                    "    var clean = true, current = ownKeys(global);\n" +
+                    "    for (i = 0; i < current.length; i++) {\n" +
+                    "      key = current[i];\n" +
+                    "      if (!apply(mapHas, snapshot, [key]) && !deleteProperty(global, key)) {\n" +
+                    "        clean = false;\n" +
+                    "      }\n" +
+                    "    }\n" +
+                    "    for (i = 0; i < keys.length; i++) {\n" +
+                    "      key = keys[i];\n" +
+                    "      desc = apply(mapGet, snapshot, [key]);\n" +
+                    "      var cur = getOwnPropertyDescriptor(global, key);\n" +
+                    "      if ((cur === undefined || !same(cur, desc)) && !defineProperty(global, key, desc)) {\n" +
+                    "        clean = false;\n" +
+                    "      }\n" +
+                    "    }\n" +
+                    "    // clear the legacy RegExp static properties (RegExp.lastMatch, RegExp.$1, ...)\n" +
+                    "    apply(regExpExec, emptyRegExp, ['']);\n" +
+                    "    return clean;\n" +
+                    "  };\n" +
+                    "})(this)";
+
+    private final Engine engine;
+    private final boolean ownEngine;
+    private final Context.Builder newContextConfig;
+    private final Context.Builder contextConfig;
+    private final GraalJSEngineFactory factory;
+    private final int maxIdle;
+    private final LinkedBlockingDeque<PooledContext> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private volatile boolean closed;
+
+    private GraalJSContextPool(GraalJSEngineFactory factory, Engine engine, Context.Builder newContextConfig, int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("maxIdle must not be negative");
+        }
+        this.ownEngine = engine == null;
+        this.engine = engine == null ? Engine.newBuilder().allowExperimentalOptions(true).build() : engine;
+        this.factory = factory == null ? new GraalJSEngineFactory(this.engine) : factory;
+        this.newContextConfig = newContextConfig;
+        this.contextConfig = GraalJSScriptEngine.createContextConfig(this.engine, newContextConfig);
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Creates a pool of contexts for script engines.
+     *
+     * @param engine the engine to be used for the pooled contexts or <code>null</code> if the pool
+     *            should create (and close) its own engine.
+     * @param newContextConfig the configuration of the pooled contexts or <code>null</code> if the
+     *            default configuration of {@link GraalJSScriptEngine} should be used.
+     * @param maxIdle the maximum number of idle contexts kept in the pool; further returned
+     *            contexts are closed.
+     * @see GraalJSScriptEngine#create(Engine, Context.Builder)
+     */
+    public static GraalJSContextPool create(Engine engine, Context.Builder newContextConfig, int maxIdle) {
+        return new GraalJSContextPool(null, engine, newContextConfig, maxIdle);
+    }
+
+    static GraalJSContextPool create(GraalJSEngineFactory factory, int maxIdle) {
+        return new GraalJSContextPool(factory, factory.getPolyglotEngine(), null, maxIdle);
+    }
+
+    /**
+     * Returns a new script engine whose default script context uses a context from this pool.
+     * The context is returned to the pool when the script engine is closed.
+     */
+    public GraalJSScriptEngine getScriptEngine() {
+        checkNotClosed();
+        return new GraalJSScriptEngine(factory, engine, newContextConfig, this);
+    }
+
+    /**
+     * Creates and initializes contexts until the pool holds {@code count} idle contexts (or
+     * {@link #getMaxIdle()}, whichever is smaller).
+     */
+    public void prestart(int count) {
+        checkNotClosed();
+        int target = Math.min(count, maxIdle);
+        while (idle.size() < target) {
+            idle.offer(createContext());
+        }
+    }
+
+    /**
+     * Returns the maximum number of idle contexts kept by the pool.
+     */
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * Returns the number of contexts that are ready to be handed out.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the number of contexts currently used by script engines.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Returns the number of contexts created by the pool.
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * Returns the number of times an idle context was handed out again after it had been reset.
+     */
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    /**
+     * Returns the number of returned contexts that were closed because they could not be reset or
+     * the pool was full.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * Closes all idle contexts and the engine if it was created by the pool. Contexts that are in
+     * use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledContext pooled;
+        while ((pooled = idle.poll()) != null) {
+            pooled.context.close();
+        }
+        if (ownEngine) {
+            engine.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GraalJSContextPool [idle=" + getIdleCount() + ", active=" + getActiveCount() + ", maxIdle=" + maxIdle + ", created=" + getCreatedCount() + ", reused=" + getReusedCount() +
+                        ", discarded=" + getDiscardedCount() + "]";
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("context pool is closed");
+        }
+    }
+
+    PooledContext acquire() {
+        checkNotClosed();
+        PooledContext pooled = idle.poll();
+        if (pooled == null) {
+            pooled = createContext();
+        } else {
+            reused.increment();
+        }
+        active.incrementAndGet();
+        return pooled;
+    }
+
+    void release(PooledContext pooled) {
+        active.decrementAndGet();
+        if (!closed && idle.size() < maxIdle && reset(pooled)) {
+            idle.offer(pooled);
+        } else {
+            discarded.increment();
+            pooled.context.close();
+        }
+    }
+
+    private PooledContext createContext() {
+        Context context = GraalJSScriptEngine.createDefaultContext(contextConfig);
+        created.increment();
+        Value resetFunction = GraalJSScriptEngine.evalInternal(context, RESET_FUNCTION_SOURCE);
+        return new PooledContext(context, resetFunction);
+    }
+
+    private static boolean reset(PooledContext pooled) {
+        Context context = pooled.context;
+        try {
+            GraalJSScriptEngine.resetDelegatingIOStreams(context);
+            if (!pooled.resetFunction.execute().asBoolean()) {
+                return false;
+            }
+            // remaining new bindings are global lexical declarations
+            if (!pooled.initialBindings.containsAll(context.getBindings(ID).getMemberKeys())) {
+                return false;
+            }
+            Value polyglotBindings = context.getPolyglotBindings();
+            for (String key : polyglotBindings.getMemberKeys()) {
+                if (!pooled.initialPolyglotBindings.contains(key)) {
+                    polyglotBindings.removeMember(key);
+                }
+            }
+            return true;
+        } catch (PolyglotException | IllegalStateException e) {
+            // cancelled, exited or otherwise unusable context
+            return false;
+        }
+    }
+
+    static final class PooledContext {
+        final Context context;
+        final Value resetFunction;
+        final Set<String> initialBindings;
+        final Set<String> initialPolyglotBindings;
+
+        PooledContext(Context context, Value resetFunction) {
+            this.context = context;
+            this.resetFunction = resetFunction;
+            this.initialBindings = new HashSet<>(context.getBindings(ID).getMemberKeys());
+            this.initialPolyglotBindings = new HashSet<>(context.getPolyglotBindings().getMemberKeys());
+        }
+    }
+}
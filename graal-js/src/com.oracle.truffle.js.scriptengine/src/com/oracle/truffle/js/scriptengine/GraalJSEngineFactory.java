@@ -65,6 +65,7 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
     private static final boolean JS_AVAILABLE;
     private static final String PLACEHOLDER_NAME = "placeholder";
     private static final String PLACEHOLDER_VERSION = "1";
+    private static final String CONTEXT_POOL_SIZE_SYSTEM_PROPERTY = "graaljs.scriptengine.context-pool-size";
 
     static {
         try (Engine engine = Engine.newBuilder().useSystemProperties(false).build()) {
@@ -74,6 +75,7 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
 
     private WeakReference<Engine> defaultEngine;
     private final Engine userDefinedEngine;
+    private GraalJSContextPool contextPool;
 
     public GraalJSEngineFactory() {
         this.defaultEngine = null; // lazy
@@ -159,7 +161,28 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
 
     @Override
     public ScriptEngine getScriptEngine() {
-        return JS_AVAILABLE ? new GraalJSScriptEngine(this) : new PlaceholderScriptEngine(this);
+        if (!JS_AVAILABLE) {
+            return new PlaceholderScriptEngine(this);
+        }
+        GraalJSContextPool pool = getContextPool();
+        return pool != null ? pool.getScriptEngine() : new GraalJSScriptEngine(this);
+    }
+
+    /**
+     * Returns the pool of contexts used by the script engines of this factory, or {@code null} if
+     * pooling is disabled. Pooling is enabled by setting the system property
+     * {@code graaljs.scriptengine.context-pool-size} to the maximum number of idle contexts.
+     * Script engines of a pooling factory have to be {@link GraalJSScriptEngine#close() closed} to
+     * return their context to the pool.
+     */
+    public synchronized GraalJSContextPool getContextPool() {
+        if (contextPool == null && JS_AVAILABLE) {
+            int maxIdle = Integer.getInteger(CONTEXT_POOL_SIZE_SYSTEM_PROPERTY, 0);
+            if (maxIdle > 0) {
+                contextPool = GraalJSContextPool.create(this, maxIdle);
+            }
+        }
+        return contextPool;
     }
 
     @Override
@@ -304,6 +304,11 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    /**
+     * The engine scope bindings that borrow their context from a {@link GraalJSContextPool}, or
+     * {@code null} if the engine does not use a pool.
+     */
+    private final GraalJSBindings pooledBindings;
 
     private boolean evalCalled;
 
@@ -312,10 +317,22 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig) {
+        this(factory, engine, contextConfig, null);
+    }
+
+    GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig, GraalJSContextPool contextPool) {
         Engine engineToUse = engine;
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
         }
+        this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
+        this.contextConfig = createContextConfig(engineToUse, contextConfig);
+        this.pooledBindings = contextPool == null ? null : new GraalJSBindings(contextPool, this.context);
+        GraalJSBindings engineBindings = pooledBindings == null ? new GraalJSBindings(this.contextConfig, this.context) : pooledBindings;
+        this.context.setBindings(engineBindings, ScriptContext.ENGINE_SCOPE);
+    }
+
+    static Context.Builder createContextConfig(Engine engine, Context.Builder contextConfig) {
         Context.Builder contextConfigToUse = contextConfig;
         if (contextConfigToUse == null) {
             // default config
@@ -337,9 +354,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                 updateForScriptEngineAccessibility(contextConfigToUse);
             }
         }
-        this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
-        this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        return contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engine);
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -364,12 +379,27 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return ctx;
     }
 
+    static void resetDelegatingIOStreams(Context polyglotContext) {
+        Value polyglotBindings = polyglotContext.getPolyglotBindings();
+        ((DelegatingOutputStream) polyglotBindings.getMember(OUT_SYMBOL).asProxyObject()).setWriter(null);
+        ((DelegatingOutputStream) polyglotBindings.getMember(ERR_SYMBOL).asProxyObject()).setWriter(null);
+        ((DelegatingInputStream) polyglotBindings.getMember(IN_SYMBOL).asProxyObject()).setReader(null);
+    }
+
     /**
      * Closes the current context and makes it unusable. Operations performed after closing will
-     * throw an {@link IllegalStateException}.
+     * throw an {@link IllegalStateException}. If the engine was obtained from a
+     * {@link GraalJSContextPool}, the context is returned to the pool instead.
      */
     @Override
     public void close() {
+        if (pooledBindings != null) {
+            // return the borrowed context, even if the engine scope bindings have been replaced
+            pooledBindings.close();
+            if (context.getBindings(ScriptContext.ENGINE_SCOPE) == pooledBindings) {
+                return;
+            }
+        }
         getPolyglotContext().close();
     }
 
@@ -144,6 +144,7 @@ public class Recording {
     private final List<InstBatch> instBatches = new ArrayList<>();
 
     private Source source;
+    private ScriptNode program;
 
     private static final class MethodCall {
         final Method method;
@@ -1816,9 +1817,17 @@ public class Recording {
         Recording rec = new Recording();
         ScriptNode program = JavaScriptTranslator.translateScript(RecordingProxy.createRecordingNodeFactory(rec, NodeFactory.getInstance(context)), context, source, strict, prefix, suffix);
         rec.finish(program.getRootNode());
+        rec.program = program;
         return rec;
     }
 
+    /**
+     * Returns the script translated by {@link #recordSource}.
+     */
+    public ScriptNode getProgram() {
+        return program;
+    }
+
     public void saveToStream(String fileName, OutputStream outs, boolean binary) {
         logv("dumping %s", fileName);
         if (binary) {
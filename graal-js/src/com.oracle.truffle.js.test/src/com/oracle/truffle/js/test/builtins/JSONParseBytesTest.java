@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class JSONParseBytesTest {
+
+    private static final String JSON = "{\"a\": [1, 2.5, -3e2, true, null], \"\\u00e4\\n\": \"grüße 😀\", \"ö\": {}}";
+
+    private static Context newContext() {
+        return newContext(HostAccess.ALL);
+    }
+
+    private static Context newContext(HostAccess hostAccess) {
+        return JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_BYTES_NAME, "true").allowHostAccess(hostAccess).build();
+    }
+
+    private static void assertParsed(Context context, Value result) {
+        Value expected = context.eval(ID, "JSON.parse");
+        Value stringify = context.eval(ID, "JSON.stringify");
+        assertEquals(stringify.execute(expected.execute(JSON)).asString(), stringify.execute(result).asString());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertFalse(context.eval(ID, "'parseBytes' in JSON").asBoolean());
+        }
+    }
+
+    @Test
+    public void testTypedArray() {
+        try (Context context = newContext()) {
+            byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+            Value u8 = context.eval(ID, "(bytes) => { let u8 = new Uint8Array(bytes.length + 4); for (let i = 0; i < bytes.length; i++) u8[i + 2] = bytes[i]; return u8.subarray(2, 2 + bytes.length); }").execute(bytes);
+            assertParsed(context, context.eval(ID, "JSON.parseBytes").execute(u8));
+            assertParsed(context, context.eval(ID, "(u8) => JSON.parseBytes(u8.slice().buffer)").execute(u8));
+            assertParsed(context, context.eval(ID, "(u8) => JSON.parseBytes(new DataView(u8.buffer, u8.byteOffset, u8.byteLength))").execute(u8));
+        }
+    }
+
+    @Test
+    public void testHostBuffers() {
+        try (Context context = newContext()) {
+            Value parseBytes = context.eval(ID, "JSON.parseBytes");
+            byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+            assertParsed(context, parseBytes.execute(bytes));
+            assertParsed(context, parseBytes.execute(ByteBuffer.wrap(bytes)));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3);
+            direct.put((byte) 0xef).put((byte) 0xbb).put((byte) 0xbf).put(bytes).flip();
+            assertParsed(context, parseBytes.execute(direct));
+            assertEquals(0, direct.position());
+        }
+    }
+
+    @Test
+    public void testHostAccessRestrictions() {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        try (Context context = newContext(HostAccess.newBuilder().build())) {
+            Value parseBytes = context.eval(ID, "JSON.parseBytes");
+            assertTypeError(() -> parseBytes.execute(bytes));
+            assertTypeError(() -> parseBytes.execute(ByteBuffer.wrap(bytes)));
+            assertTypeError(() -> parseBytes.execute(ByteBuffer.allocateDirect(4)));
+        }
+        try (Context context = newContext(HostAccess.newBuilder().allowArrayAccess(true).build())) {
+            Value parseBytes = context.eval(ID, "JSON.parseBytes");
+            assertParsed(context, parseBytes.execute(bytes));
+            assertTypeError(() -> parseBytes.execute(ByteBuffer.wrap(bytes)));
+        }
+        try (Context context = newContext(HostAccess.newBuilder().allowBufferAccess(true).build())) {
+            Value parseBytes = context.eval(ID, "JSON.parseBytes");
+            assertParsed(context, parseBytes.execute(ByteBuffer.wrap(bytes)));
+            assertTypeError(() -> parseBytes.execute(bytes));
+        }
+    }
+
+    private static void assertTypeError(Runnable test) {
+        try {
+            test.run();
+            Assert.fail("failure expected");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith("TypeError"));
+        }
+    }
+
+    @Test
+    public void testReviver() {
+        try (Context context = newContext()) {
+            Value result = context.eval(ID, "JSON.parseBytes(new Uint8Array([91, 49, 44, 50, 93]), (k, v) => typeof v === 'number' ? v * 2 : v)");
+            assertEquals(2, result.getArrayElement(0).asInt());
+            assertEquals(4, result.getArrayElement(1).asInt());
+        }
+    }
+
+    @Test
+    public void testSyntaxError() {
+        try (Context context = newContext()) {
+            context.eval(ID, "JSON.parseBytes(new Uint8Array([123, 34, 97, 34, 58, 125]))");
+            Assert.fail("failure expected");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.isSyntaxError());
+        }
+    }
+
+    @Test
+    public void testInvalidSource() {
+        try (Context context = newContext()) {
+            context.eval(ID, "JSON.parseBytes('[]')");
+            Assert.fail("failure expected");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith("TypeError"));
+        }
+    }
+}
@@ -73,6 +73,35 @@ public class JSONParseTest {
         }
     }
 
+    @Test
+    public void testJSONParseRecords() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String records = "[{\"a\": 1, \"b\": [{\"a\": 2}]}, {\"a\": 3, \"b\": []}, {\"b\": 4, \"a\": 5}, {\"a\": 6}, " +
+                            "{\"a\": 7, \"b\": 8, \"a\": 9}, {\"a\\\\\": 10}, {\"a\\\"\": 11}, {\"\\u0061\": 12, \"b\": 13}, {\"a\": 14, \"b\": 15, \"c\": 16}]";
+            Value parse = context.eval(ID, "(s) => JSON.stringify(JSON.parse(s).map(o => Object.entries(o)))");
+            assertEquals("[[[\"a\",1],[\"b\",[{\"a\":2}]]],[[\"a\",3],[\"b\",[]]],[[\"b\",4],[\"a\",5]],[[\"a\",6]]," +
+                            "[[\"a\",9],[\"b\",8]],[[\"a\\\\\",10]],[[\"a\\\"\",11]],[[\"a\",12],[\"b\",13]],[[\"a\",14],[\"b\",15],[\"c\",16]]]",
+                            parse.execute(records).asString());
+        }
+    }
+
+    @Test
+    public void testJSONParseRecordsControlCharacterKey() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value parse = context.eval(ID, "(s) => JSON.stringify(JSON.parse(s))");
+            assertEquals("[{\"a\\nb\":1},{\"a\\nb\":2}]", parse.execute("[{\"a\\nb\":1},{\"a\\nb\":2}]").asString());
+            // an escaped key must not match an unescaped control character in the next record
+            for (String records : new String[]{"[{\"a\\nb\":1},{\"a\nb\":2}]", "[{\"a\\tb\":1},{\"a\tb\":2}]"}) {
+                try {
+                    parse.execute(records);
+                    Assert.fail("failure expected");
+                } catch (PolyglotException ex) {
+                    assertTrue(ex.isSyntaxError());
+                }
+            }
+        }
+    }
+
     @Test
     public void testJSONParseErrorPosition() {
         parseErrorPosition(3, "\"\\\\_\"");
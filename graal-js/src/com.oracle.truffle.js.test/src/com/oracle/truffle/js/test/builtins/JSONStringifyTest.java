@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+public class JSONStringifyTest {
+
+    private static void assertStringify(String expected, String code) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertEquals(expected, context.eval(ID, code).asString());
+        }
+    }
+
+    @Test
+    public void testRecords() {
+        assertStringify("[{\"1\":true,\"a\":1,\"b\\\"\":\"x\"},{\"1\":false,\"a\":2,\"b\\\"\":\"y\"},{\"b\\\"\":3,\"a\":4}]",
+                        "JSON.stringify([{a: 1, 'b\"': 'x', 1: true}, {a: 2, 'b\"': 'y', 1: false}, {'b\"': 3, a: 4}])");
+        assertStringify("[\n  {\n    \"a\": 1\n  },\n  {\n    \"a\": 2\n  }\n]", "JSON.stringify([{a: 1}, {a: 2}], null, 2)");
+    }
+
+    @Test
+    public void testSkippedProperties() {
+        assertStringify("[{\"a\":1},{\"a\":2,\"c\":null}]",
+                        "JSON.stringify([{a: 1, b: undefined, f() {}}, {a: 2, b: Symbol(), c: NaN, [Symbol()]: 3}])");
+        assertStringify("{\"b\":2}", "JSON.stringify(Object.defineProperty({b: 2}, 'a', {value: 1, enumerable: false}))");
+    }
+
+    @Test
+    public void testAccessors() {
+        assertStringify("[{\"a\":1,\"b\":2},{\"a\":1,\"b\":2}]", "var o = {a: 1, get b() { return 2; }}; JSON.stringify([o, o])");
+    }
+
+    @Test
+    public void testModificationDuringSerialization() {
+        // toJSON of a property value deletes and modifies later properties of the holder
+        assertStringify("[{\"a\":{},\"c\":4},{\"a\":{},\"c\":4}]",
+                        "function mk() { var o = {a: {toJSON() { delete o.b; o.c = 4; return {}; }}, b: 2, c: 3}; return o; }; JSON.stringify([mk(), mk()])");
+        // a getter changes the value of a later property without changing the shape
+        assertStringify("{\"a\":1,\"b\":5}", "var o = {get a() { o.b = 5; return 1; }, b: 2}; JSON.stringify(o)");
+        assertStringify("{\"a\":1,\"b\":20}", "JSON.stringify({a: 1, b: 2}, (k, v) => k === 'b' ? v * 10 : v)");
+    }
+}
@@ -145,6 +145,42 @@ public class JavaBuiltinsTest extends JSTest {
         test("Java.from({a:'foo'});", "Cannot convert to JavaScript");
     }
 
+    @Test
+    public void testJavaFromNumberArrays() {
+        int[] intArray = {1, 2, 3};
+        String result = test("var t = Java.from(arg); t[0] = 4; t.push(5.5); ''+t;", null, true, intArray);
+        assertEquals("4,2,3,5.5", result);
+        assertEquals(1, intArray[0]);
+
+        result = test("var t = Java.from(arg); ''+t;", null, true, new double[]{1.5, Double.NaN, -0.0});
+        assertEquals("1.5,NaN,0", result);
+        result = test("var t = Java.from(arg); ''+t;", null, true, new long[]{-1, 2});
+        assertEquals("-1,2", result);
+        result = test("var t = Java.from(arg); ''+t;", null, true, new long[]{1, 1L << 40});
+        assertEquals("1,1099511627776", result);
+
+        result = test("var t = Java.from(arg); ''+t;", null, true, List.of(1, 2L, 3.5, 4));
+        assertEquals("1,2,3.5,4", result);
+        result = test("var t = Java.from(arg); ''+t;", null, true, List.of(1, "two", 3.0));
+        assertEquals("1,two,3", result);
+        result = test("var t = Java.from(arg); ''+t.length;", null, true, new int[0]);
+        assertEquals("0", result);
+
+        // the elements are copied into int or double array storage in one go
+        assertEquals("ZeroBasedIntArray", javaFromArrayType(new int[]{1, 2, 3}));
+        assertEquals("ZeroBasedDoubleArray", javaFromArrayType(new double[]{1.5, 2}));
+        assertEquals("ZeroBasedIntArray", javaFromArrayType(new long[]{-1, 2}));
+        assertEquals("ZeroBasedIntArray", javaFromArrayType(List.of(1, 2L)));
+        assertEquals("ZeroBasedDoubleArray", javaFromArrayType(List.of(1, 2L, 3.5)));
+    }
+
+    private static String javaFromArrayType(Object arg) {
+        try (Context context = JSTest.newContextBuilder().allowAllAccess(true).option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build()) {
+            context.getBindings("js").putMember("arg", arg);
+            return context.eval(JavaScriptLanguage.ID, "Debug.arraytype(Java.from(arg))").asString();
+        }
+    }
+
     @Test
     public void testJavaTo() {
         String result = test("var t = Java.to({a:'foo'}); '[' + t + ']';");
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests of the Map.prototype.get, set and has specializations for int, double and string keys.
+ */
+public class MapPrototypeBuiltinsTest {
+
+    private static final String HELPERS = "function keys(m) { return [...m.keys()].map(k => Object.is(k, -0) ? '-0' : String(k)).join(); }\n" +
+                    "function half(x) { return x * 0.5; }\n" +
+                    "function show(values) { return values.map(String).join(); }\n";
+
+    private static String eval(String code) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            return context.eval(JavaScriptLanguage.ID, HELPERS + code).asString();
+        }
+    }
+
+    @Test
+    public void testIntKeys() {
+        assertEquals("true,a,b,true,false,undefined,0,1,2147483647,-2147483648,4", eval("var m = new Map();" +
+                        "m.set(0, 'a').set(1, 'b').set(2147483647, 'c').set(-2147483648, 'd');" +
+                        "show([m.has(1), m.get(0), m.get(1), m.has(-2147483648), m.has(2), m.get(3), keys(m), m.size]);"));
+        // int keys and integral double keys are the same key
+        assertEquals("b,b,b,true,1,4", eval("var m = new Map();" +
+                        "m.set(2, 'a'); m.set(half(4), 'b');" +
+                        "show([m.get(2), m.get(half(4)), m.get(2.0), m.has(half(4)), m.size, half(8)]);"));
+    }
+
+    @Test
+    public void testDoubleKeys() {
+        assertEquals("a,b,c,true,false,undefined,1.5,0.1,2147483648,3", eval("var m = new Map();" +
+                        "m.set(1.5, 'a').set(0.1, 'b').set(2147483648, 'c');" +
+                        "show([m.get(half(3)), m.get(0.1), m.get(2 ** 31), m.has(1.5), m.has(0.2), m.get(1.25), keys(m), m.size]);"));
+        // Infinity and the largest/smallest doubles
+        assertEquals("i,n,max,min,4", eval("var m = new Map([[Infinity, 'i'], [-Infinity, 'n']]);" +
+                        "m.set(Number.MAX_VALUE, 'max').set(Number.MIN_VALUE, 'min');" +
+                        "show([m.get(1 / 0), m.get(-1 / 0), m.get(1.7976931348623157e308), m.get(5e-324), m.size]);"));
+    }
+
+    @Test
+    public void testStringKeys() {
+        assertEquals("1,2,3,true,false,undefined,a,ab,,3", eval("var m = new Map();" +
+                        "var b = 'b';" +
+                        "m.set('a', 1).set('a' + b, 2).set('', 3);" +
+                        "show([m.get('a'), m.get('ab'), m.get(''), m.has(['a', 'b'].join('')), m.has('b'), m.get('abc'.substring(0, 1) + 'c'), keys(m), m.size]);"));
+        // numeric strings are not numbers
+        assertEquals("s,n,false,2", eval("var m = new Map(); m.set('1', 's').set(1, 'n');" +
+                        "show([m.get('1'), m.get(1), m.has('1.0'), m.size]);"));
+        // non-ASCII and long strings
+        assertEquals("x,y,2", eval("var m = new Map(); var long = 'k'.repeat(1000);" +
+                        "m.set('\u00e4\u20ac\ud83d\ude00', 'x').set(long, 'y');" +
+                        "show([m.get(String.fromCodePoint(0xe4, 0x20ac, 0x1f600)), m.get('k'.repeat(999) + 'k'), m.size]);"));
+    }
+
+    @Test
+    public void testNegativeZero() {
+        // -0 is normalized to +0, both as key and when looking up
+        assertEquals("z,z,true,true,0,1", eval("var m = new Map();" +
+                        "m.set(-0, 'z');" +
+                        "show([m.get(0), m.get(-0), m.has(0), m.has(half(-0)), keys(m), m.size]);"));
+        assertEquals("b,1,0", eval("var m = new Map();" +
+                        "m.set(0, 'a'); m.set(-0, 'b');" +
+                        "show([m.get(half(0)), m.size, keys(m)]);"));
+    }
+
+    @Test
+    public void testNaN() {
+        assertEquals("n,n,true,1,NaN", eval("var m = new Map();" +
+                        "m.set(NaN, 'n'); m.set(0 / 0, 'n');" +
+                        "show([m.get(NaN), m.get(Math.sqrt(-1)), m.has(Number('x')), m.size, keys(m)]);"));
+        // NaN with a different bit pattern is the same key
+        assertEquals("n,1", eval("var m = new Map(); m.set(NaN, 'n');" +
+                        "var f = new Float64Array(new Uint32Array([1, 0x7ff80000]).buffer);" +
+                        "var otherNaN = f[0];" +
+                        "m.set(otherNaN, 'n');" +
+                        "show([m.get(otherNaN), m.size]);"));
+    }
+
+    @Test
+    public void testGenericFallback() {
+        // Other key types at the same call sites, and keys added by the specialized paths
+        // found by the generic ones (delete, iteration) and vice versa.
+        assertEquals("o,s,t,big,u,nul,i,d,str,9|true,true,true,true,1.5,str,5|i,d,str,undefined,3", eval("function set(m, k, v) { return m.set(k, v); }" +
+                        "function get(m, k) { return m.get(k); }" +
+                        "var m = new Map(), o = {}, s = Symbol('s');" +
+                        "set(m, 1, 'i'); set(m, 1.5, 'd'); set(m, 'str', 'x');" +
+                        "set(m, o, 'o'); set(m, s, 's'); set(m, true, 't'); set(m, 10n, 'big'); set(m, undefined, 'u'); set(m, null, 'nul');" +
+                        "set(m, 'str', 'str');" +
+                        "var r1 = show([get(m, o), get(m, s), get(m, true), get(m, 10n), get(m, undefined), get(m, null), get(m, 1), get(m, 1.5), get(m, 'str'), m.size]);" +
+                        "var r2 = show([m.delete(o), m.delete(1), m.delete(true), m.delete(null), [...m.keys()][0], [...m.values()][1], m.size]);" +
+                        "var copy = new Map([[1, 'i'], [1.5, 'd'], ['str', 'str']]);" +
+                        "var r3 = show([get(copy, 1), get(copy, 1.5), get(copy, 'str'), get(copy, '1'), copy.size]);" +
+                        "[r1, r2, r3].join('|');"));
+    }
+
+    @Test
+    public void testNotAMap() {
+        for (String receiver : new String[]{"new Set()", "new WeakMap()", "{}", "1", "'str'"}) {
+            for (String call : new String[]{"get.call(r, 1)", "get.call(r, 1.5)", "get.call(r, 's')", "set.call(r, 1, 1)", "has.call(r, 's')"}) {
+                try (Context context = JSTest.newContextBuilder().build()) {
+                    context.eval(JavaScriptLanguage.ID, "var r = " + receiver + ";");
+                    try {
+                        context.eval(JavaScriptLanguage.ID, "Map.prototype." + call);
+                        throw new AssertionError(receiver + ": " + call);
+                    } catch (PolyglotException e) {
+                        assertTrue(e.getMessage(), e.getMessage().startsWith("TypeError"));
+                    }
+                }
+            }
+        }
+    }
+}
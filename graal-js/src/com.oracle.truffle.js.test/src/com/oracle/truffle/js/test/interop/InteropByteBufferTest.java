@@ -44,9 +44,11 @@ import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static com.oracle.truffle.js.test.interop.JavaScriptHostInteropTest.assertThrows;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.function.Predicate;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.HostAccess;
@@ -54,7 +56,11 @@ import org.graalvm.polyglot.Value;
 import org.junit.Assume;
 import org.junit.Test;
 
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.test.JSTest;
 
 public class InteropByteBufferTest {
@@ -356,6 +362,107 @@ public class InteropByteBufferTest {
         }
     }
 
+    @Test
+    public void testTypedArrayBufferInteropDirect() {
+        testTypedArrayBufferInteropCommon(true);
+    }
+
+    @Test
+    public void testTypedArrayBufferInteropHeap() {
+        testTypedArrayBufferInteropCommon(false);
+    }
+
+    private static void testTypedArrayBufferInteropCommon(boolean direct) {
+        try (Context cx = JSTest.newContextBuilder().option(JSContextOptions.DIRECT_BYTE_BUFFER_NAME, Boolean.toString(direct)).build()) {
+            Value typedArray = cx.eval(ID, "" +
+                            "const ab = new ArrayBuffer(24);" +
+                            "new Int8Array(ab).set([1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12], 4);" +
+                            "new Int16Array(ab, 4, 4);");
+            assertTrue(typedArray.hasBufferElements());
+            assertTrue(typedArray.isBufferWritable());
+            assertEquals(8, typedArray.getBufferSize());
+            assertEquals(1, typedArray.readBufferByte(0));
+            assertEquals(8, typedArray.readBufferByte(7));
+            assertEquals(0x0201, typedArray.readBufferShort(ByteOrder.LITTLE_ENDIAN, 0));
+            assertEquals(0x05060708, typedArray.readBufferInt(ByteOrder.BIG_ENDIAN, 4));
+            assertEquals(0x0807060504030201L, typedArray.readBufferLong(ByteOrder.LITTLE_ENDIAN, 0));
+            assertOutOfBounds(() -> typedArray.readBufferByte(8));
+            assertOutOfBounds(() -> typedArray.readBufferInt(ByteOrder.LITTLE_ENDIAN, 5));
+            assertOutOfBounds(() -> typedArray.writeBufferByte(-1, (byte) 0));
+
+            typedArray.writeBufferDouble(ByteOrder.nativeOrder(), 0, Math.PI);
+            assertEquals(Math.PI, cx.eval(ID, "new Float64Array(ab, 4, 1)[0]").asDouble(), 0.0);
+            assertEquals(0, cx.eval(ID, "new Int8Array(ab)[3]").asInt());
+            assertEquals(9, cx.eval(ID, "new Int8Array(ab)[12]").asInt());
+        }
+    }
+
+    private static void assertOutOfBounds(Runnable test) {
+        try {
+            test.run();
+            fail("should have thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testHostByteBufferSharedWithoutCopy() {
+        testHostByteBufferSharedWithoutCopy(ByteBuffer.allocate(16), JSArrayBuffer::isJSHeapArrayBuffer);
+        testHostByteBufferSharedWithoutCopy(ByteBuffer.allocateDirect(16), JSArrayBuffer::isJSDirectArrayBuffer);
+        // cannot be unwrapped, accessed via interop
+        testHostByteBufferSharedWithoutCopy(ByteBuffer.allocate(32).position(8).slice(), JSArrayBuffer::isJSInteropArrayBuffer);
+        testHostByteBufferSharedWithoutCopy(ByteBuffer.allocateDirect(32).limit(16), JSArrayBuffer::isJSInteropArrayBuffer);
+    }
+
+    private static void testHostByteBufferSharedWithoutCopy(ByteBuffer buffer, Predicate<Object> expectedKind) {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+            context.getBindings(ID).putMember("buffer", buffer);
+            Value int32Array = context.eval(ID, "var ab = new ArrayBuffer(buffer); new Int32Array(ab);");
+            assertEquals(16, context.eval(ID, "ab.byteLength").asInt());
+            context.enter();
+            try {
+                Object arrayBuffer = JSObject.get(JavaScriptLanguage.getJSRealm(context).getGlobalObject(), Strings.fromJavaString("ab"));
+                assertTrue(expectedKind.test(arrayBuffer));
+            } finally {
+                context.leave();
+            }
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putInt(4, 42);
+            assertEquals(42, int32Array.getArrayElement(1).asInt());
+            context.eval(ID, "new Int32Array(ab)[3] = -7;");
+            assertEquals(-7, buffer.getInt(12));
+        }
+    }
+
+    @Test
+    public void testHostByteBufferLimitChangedAfterWrapping() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16).order(ByteOrder.nativeOrder());
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+            context.getBindings(ID).putMember("buffer", buffer);
+            context.eval(ID, "var ab = new ArrayBuffer(buffer);");
+            buffer.putInt(8, 42);
+            buffer.flip();
+            buffer.limit(4);
+            assertEquals(16, context.eval(ID, "ab.byteLength").asInt());
+            assertEquals(42, context.eval(ID, "new Int32Array(ab)[2]").asInt());
+            context.eval(ID, "new Int32Array(ab)[3] = -7;");
+            buffer.limit(16);
+            assertEquals(-7, buffer.getInt(12));
+        }
+    }
+
+    @Test
+    public void testTypedArrayIsNotAnArrayBuffer() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            // ToIndex(typedArray) rather than sharing the typed array's bytes
+            assertEquals(5, context.eval(ID, "new ArrayBuffer(new Uint8Array([5])).byteLength").asInt());
+            assertEquals(0, context.eval(ID, "new ArrayBuffer(new Uint8Array([1, 2])).byteLength").asInt());
+            assertTrue(context.eval(ID, "try { new DataView(new Uint8Array(8)); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+            assertTrue(context.eval(ID, "try { ArrayBuffer.prototype.slice.call(new Uint8Array(4)); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+        }
+    }
+
     private static ByteBuffer allocate(int capacity) {
         try {
             return ByteBuffer.allocate(capacity);
@@ -180,4 +180,31 @@ public class JavaScriptObjectInteropTest {
             mapsEqual(JAVA_MAP, (Map<?, ?>) o);
         }
     }
+
+    /**
+     * Test that member keys shared between objects of the same shape reflect each object's own
+     * enumerable properties.
+     */
+    @Test
+    public void testMemberKeysOfSameShapeObjects() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value objects = context.eval(ID, "" +
+                            "var objs = [];" +
+                            "for (var i = 0; i < 4; i++) objs.push({b: i, a: i, 2: i});" +
+                            "Object.defineProperty(objs[1], 'hidden', {value: 1, enumerable: false});" +
+                            "objs[2].c = 3;" +
+                            "var d = {x: 1, y: 2, z: 3}; delete d.y; objs.push(d);" +
+                            "objs.push({});" +
+                            "objs;");
+            String[] expected = {"2,b,a", "2,b,a", "2,b,a,c", "2,b,a", "x,z", ""};
+            for (int repeat = 0; repeat < 3; repeat++) {
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], String.join(",", objects.getArrayElement(i).getMemberKeys()));
+                }
+            }
+            context.eval(ID, "objs[0].d = 4; objs[3].b = 'changed';");
+            assertEquals("2,b,a,d", String.join(",", objects.getArrayElement(0).getMemberKeys()));
+            assertEquals("2,b,a", String.join(",", objects.getArrayElement(3).getMemberKeys()));
+        }
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Checks the long fast paths of {@link BigInt} against {@link BigInteger}.
+ */
+public class BigIntArithmeticTest {
+
+    private static final long[] VALUES = {0, 1, -1, 2, -2, 3, 42, -42, Integer.MAX_VALUE, Integer.MIN_VALUE, 1L << 32, -(1L << 32), (1L << 53) + 1, 3037000499L, 3037000500L,
+                    -3037000500L, Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+
+    private static final BigInteger TWO64 = BigInteger.ONE.shiftLeft(64);
+
+    private static BigInt big(BigInteger value) {
+        return new BigInt(value);
+    }
+
+    private static void assertBigInt(BigInteger expected, BigInt actual) {
+        assertEquals(expected, actual.bigIntegerValue());
+        assertEquals(expected.bitLength() < Long.SIZE, actual.fitsInLong());
+        assertEquals(big(expected), actual);
+        assertEquals(big(expected).hashCode(), actual.hashCode());
+    }
+
+    private static BigInteger[] operands() {
+        BigInteger[] result = new BigInteger[VALUES.length + 4];
+        for (int i = 0; i < VALUES.length; i++) {
+            result[i] = BigInteger.valueOf(VALUES[i]);
+        }
+        result[VALUES.length] = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        result[VALUES.length + 1] = BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE);
+        result[VALUES.length + 2] = TWO64.multiply(TWO64);
+        result[VALUES.length + 3] = TWO64.negate();
+        return result;
+    }
+
+    @Test
+    public void testArithmetic() {
+        for (BigInteger x : operands()) {
+            for (BigInteger y : operands()) {
+                BigInt a = big(x);
+                BigInt b = big(y);
+                assertBigInt(x.add(y), a.add(b));
+                assertBigInt(x.subtract(y), a.subtract(b));
+                assertBigInt(x.multiply(y), a.multiply(b));
+                assertBigInt(x.and(y), a.and(b));
+                assertBigInt(x.or(y), a.or(b));
+                assertBigInt(x.xor(y), a.xor(b));
+                if (y.signum() != 0) {
+                    assertBigInt(x.divide(y), a.divide(b));
+                    assertBigInt(x.remainder(y), a.remainder(b));
+                }
+                if (y.signum() > 0) {
+                    assertBigInt(x.mod(y), a.mod(b));
+                }
+                assertEquals(x.compareTo(y), a.compareTo(b));
+                assertEquals(x.equals(y), a.equals(b));
+                if (y.bitLength() < Long.SIZE) {
+                    assertEquals(x.compareTo(y), a.compareValueTo(y.longValue()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnary() {
+        for (BigInteger x : operands()) {
+            BigInt a = big(x);
+            assertBigInt(x.negate(), a.negate());
+            assertBigInt(x.not(), a.not());
+            assertBigInt(x.abs(), a.abs());
+            assertEquals(x.signum(), a.signum());
+            assertEquals(x.longValue(), a.longValue());
+            assertEquals(x.intValue(), a.intValue());
+            assertEquals(x.doubleValue(), a.doubleValue(), 0.0);
+            assertEquals(x.toString(16), a.toString(16));
+            assertBigInt(BigInteger.valueOf(x.longValue()), a.toBigInt64());
+            assertBigInt(x.mod(TWO64), a.toBigUint64());
+            for (int shift : new int[]{0, 1, 11, 31, 62, 63, 64, 65, 130}) {
+                assertBigInt(x.shiftLeft(shift), a.shiftLeft(shift));
+                assertBigInt(x.shiftRight(shift), a.shiftRight(shift));
+                assertEquals(x.testBit(shift), a.testBit(shift));
+            }
+        }
+    }
+
+    @Test
+    public void testAsIntN() {
+        for (BigInteger x : operands()) {
+            BigInt a = big(x);
+            for (int bits : new int[]{0, 1, 7, 8, 32, 53, 63, 64, 65, 128, 200}) {
+                BigInteger twoPowBits = BigInteger.ONE.shiftLeft(bits);
+                BigInteger unsigned = x.mod(twoPowBits);
+                assertBigInt(unsigned, a.asUintN(bits));
+                BigInteger signed = (bits > 0 && unsigned.testBit(bits - 1)) ? unsigned.subtract(twoPowBits) : unsigned;
+                assertBigInt(signed, a.asIntN(bits));
+            }
+        }
+    }
+
+    @Test
+    public void testCompareToDouble() {
+        double[] doubles = {0.0, -0.0, 0.5, -0.5, 1.0, 42.5, 9007199254740992.0, 9007199254740993.0, 1e19, -1e19, 9.223372036854775807E18, Double.POSITIVE_INFINITY,
+                        Double.NEGATIVE_INFINITY};
+        for (BigInteger x : operands()) {
+            BigInt a = big(x);
+            for (double d : doubles) {
+                int expected;
+                if (Double.isInfinite(d)) {
+                    expected = d > 0 ? -1 : 1;
+                } else {
+                    expected = new BigDecimal(x).compareTo(new BigDecimal(d));
+                }
+                assertEquals(x + " <=> " + d, expected, a.compareValueTo(d));
+            }
+        }
+    }
+
+    @Test
+    public void testOverflowInScript() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value result = context.eval(JavaScriptLanguage.ID, "" +
+                            "var max = 2n ** 63n - 1n;\n" +
+                            "var r = [];\n" +
+                            "for (var i = 0; i < 3; i++) { r.push(String(max + BigInt(i)), String(-max - BigInt(i) - 1n), String(max * BigInt(i + 1))); }\n" +
+                            "r.push(String(BigInt.asIntN(64, max + 1n)), String(BigInt.asUintN(64, -1n)), String(1n << 63n), String((1n << 64n) >> 1n));\n" +
+                            "r.join();");
+            assertEquals("9223372036854775807,-9223372036854775808,9223372036854775807," +
+                            "9223372036854775808,-9223372036854775809,18446744073709551614," +
+                            "9223372036854775809,-9223372036854775810,27670116110564327421," +
+                            "-9223372036854775808,18446744073709551615,9223372036854775808,9223372036854775808",
+                            result.asString());
+            assertTrue(context.eval(JavaScriptLanguage.ID, "(2n ** 64n) > Number.MAX_SAFE_INTEGER").asBoolean());
+            assertFalse(context.eval(JavaScriptLanguage.ID, "(-(2n ** 64n)) > -1").asBoolean());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.ConcurrentLRUCache;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * The compiled regex cache is shared by all contexts that share a {@link JSContext}, and only by
+ * them.
+ */
+public class CompiledRegexCacheTest {
+
+    private static ConcurrentLRUCache<String, Object> getCache(Context context) {
+        return getJSContext(context).getCompiledRegexCache();
+    }
+
+    private static JSContext getJSContext(Context context) {
+        context.enter();
+        try {
+            return JavaScriptLanguage.getJSRealm(context).getContext();
+        } finally {
+            context.leave();
+        }
+    }
+
+    private static boolean eval(Context context, String code) {
+        return context.eval(Source.create(JavaScriptLanguage.ID, code)).asBoolean();
+    }
+
+    @Test
+    public void testSharedAcrossContexts() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context context1 = JSTest.newContextBuilder().engine(engine).build();
+                            Context context2 = JSTest.newContextBuilder().engine(engine).build()) {
+                assertTrue(eval(context1, "new RegExp('a+b', 'i').test('xAAB')"));
+                ConcurrentLRUCache<String, Object> cache = getCache(context1);
+                assertSame(cache, getCache(context2));
+                long misses = cache.getMissCount();
+                long hits = cache.getHitCount();
+
+                assertTrue(eval(context2, "new RegExp('a+b', 'i').test('yaab')"));
+                assertEquals(misses, cache.getMissCount());
+                assertTrue(cache.getHitCount() > hits);
+            }
+        }
+    }
+
+    @Test
+    public void testNotSharedAcrossDifferentFlagOptions() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context withIndices = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.REGEXP_MATCH_INDICES_NAME, "true").build();
+                            Context withoutIndices = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.REGEXP_MATCH_INDICES_NAME, "false").build()) {
+                assertTrue(eval(withIndices, "new RegExp('a', 'd').hasIndices"));
+                assertNotSame(getCache(withIndices), getCache(withoutIndices));
+                // the regex compiled for the other context must not bypass flag validation
+                try {
+                    eval(withoutIndices, "new RegExp('a', 'd')");
+                    fail("expected SyntaxError");
+                } catch (PolyglotException e) {
+                    assertTrue(e.getMessage(), e.getMessage().startsWith("SyntaxError"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNotSharedAcrossDifferentRegexOptions() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context lazy = JSTest.newContextBuilder().engine(engine).build();
+                            Context eager = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.REGEX_ALWAYS_EAGER_NAME, "true").build()) {
+                assertTrue(eval(lazy, "/(a|b)+c/.test('abac')"));
+                ConcurrentLRUCache<String, Object> lazyCache = getCache(lazy);
+                ConcurrentLRUCache<String, Object> eagerCache = getCache(eager);
+                assertNotSame(lazyCache, eagerCache);
+                long eagerMisses = eagerCache.getMissCount();
+                int eagerSize = eagerCache.size();
+
+                // compiled again with the eager option rather than taken from the other cache
+                assertTrue(eval(eager, "/(a|b)+c/.test('abac')"));
+                assertEquals(eagerMisses + 1, eagerCache.getMissCount());
+                assertEquals(eagerSize + 1, eagerCache.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.util.ConcurrentLRUCache;
+
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+        ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<>(4);
+        assertNull(cache.get("a"));
+        assertEquals(1, (int) cache.putIfAbsent("a", 1));
+        assertEquals(1, (int) cache.putIfAbsent("a", 2));
+        assertEquals(1, (int) cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEviction() {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(4);
+        for (int i = 0; i < 4; i++) {
+            cache.putIfAbsent(i, i);
+        }
+        // referenced entries get a second chance
+        cache.get(0);
+        cache.get(1);
+        cache.putIfAbsent(4, 4);
+        assertEquals(4, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(0, (int) cache.get(0));
+        assertEquals(1, (int) cache.get(1));
+        assertNull(cache.get(2));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    int key = (i * 31 + seed) % 256;
+                    Integer value = cache.get(key);
+                    if (value == null) {
+                        value = cache.putIfAbsent(key, key);
+                    }
+                    assertEquals(key, (int) value);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(cache.size() <= 64);
+        assertEquals(8 * 10000, cache.getHitCount() + cache.getMissCount());
+    }
+}
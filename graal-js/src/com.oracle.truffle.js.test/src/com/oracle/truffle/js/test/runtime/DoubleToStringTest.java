@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
+import com.oracle.truffle.js.runtime.doubleconv.DtoaBuffer;
+import com.oracle.truffle.js.runtime.doubleconv.DtoaMode;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Compares the shortest double to string conversion with the FastDtoa/BignumDtoa implementation.
+ */
+public class DoubleToStringTest {
+
+    /**
+     * Reference implementation: FastDtoa (Grisu3) with BignumDtoa as fallback.
+     */
+    private static String toShortestFastDtoa(double value) {
+        if (value == 0) {
+            return "0";
+        }
+        double absValue = Math.abs(value);
+        DtoaBuffer buffer = new DtoaBuffer(DtoaBuffer.kFastDtoaMaximalLength);
+        if (!DoubleConversion.fastDtoaShortest(absValue, buffer)) {
+            buffer.reset();
+            DoubleConversion.bignumDtoa(absValue, DtoaMode.SHORTEST, 0, buffer);
+        }
+        String formatted = buffer.format(DtoaMode.SHORTEST, 0);
+        return value < 0 ? "-" + formatted : formatted;
+    }
+
+    private static void check(double value) {
+        if (!Double.isFinite(value)) {
+            return;
+        }
+        String expected = toShortestFastDtoa(value);
+        assertEquals(Double.toString(value), expected, DoubleConversion.toShortest(value));
+        char[] buffer = new char[DoubleConversion.kMaxShortestLength];
+        int length = DoubleConversion.toShortest(value, buffer);
+        assertEquals(expected, new String(buffer, 0, length));
+    }
+
+    @Test
+    public void testEdgeCases() {
+        double[] values = {0.0, -0.0, Double.MIN_VALUE, Double.MIN_NORMAL, Math.nextDown(Double.MIN_NORMAL), Double.MAX_VALUE, 1e21, Math.nextDown(1e21), 1e-6, Math.nextDown(1e-6), 1e-7,
+                        0.1, 0.2, 0.3, 1 / 3.0, 5e-324, 1e23, 9007199254740993.0, 4.35, 1.5e-323, 2e-323, 123.456, 0.5, 1e300, 1e-300, 2.2250738585072014E-308};
+        for (double value : values) {
+            check(value);
+            check(-value);
+        }
+        for (int e = 0; e < 2047; e++) {
+            for (long t = 0; t < 3; t++) {
+                check(Double.longBitsToDouble(((long) e << 52) | t));
+                check(Double.longBitsToDouble(((long) e << 52) | (0xFFFFFFFFFFFFFL - t)));
+            }
+        }
+        for (int p = -325; p < 310; p++) {
+            double value = Double.parseDouble("1e" + p);
+            check(value);
+            check(Math.nextUp(value));
+            check(Math.nextDown(value));
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200000; i++) {
+            check(Double.longBitsToDouble(random.nextLong()));
+            check(random.nextInt(10000000) / 100.0);
+        }
+    }
+
+    @Test
+    public void testNumberToString() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertEquals("1.5,-0.000001,1e-7,123456789012345680000,1e+21,5e-324,1.7976931348623157e+308,-2.5e-10,0",
+                            context.eval(JavaScriptLanguage.ID, "[1.5, -0.000001, 1e-7, 123456789012345680000, 1e21, 5e-324, Number.MAX_VALUE, -2.5e-10, -0].join()").asString());
+            assertEquals("x0.1", context.eval(JavaScriptLanguage.ID, "'x' + 0.1").asString());
+            assertEquals("[0.1,-1e+100,0,3]", context.eval(JavaScriptLanguage.ID, "JSON.stringify([0.1, -1e100, -0, 3.0])").asString());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.ConcurrentLRUCache;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * The Function constructor cache is shared by all contexts that share a {@link JSContext}.
+ */
+public class FunctionConstructorCacheTest {
+
+    private static final String CODE = "new Function('a', 'return (function() { return this === undefined; })() + \":\" + (a + 1)')(41)";
+
+    private static JSContext getJSContext(Context context) {
+        context.enter();
+        try {
+            return JavaScriptLanguage.getJSRealm(context).getContext();
+        } finally {
+            context.leave();
+        }
+    }
+
+    /**
+     * Each source is a separate Function constructor call site, so the second one has to go
+     * through the shared cache.
+     */
+    private static String eval(Context context, String sourceName) {
+        return context.eval(Source.newBuilder(JavaScriptLanguage.ID, CODE, sourceName).buildLiteral()).asString();
+    }
+
+    @Test
+    public void testSharedAcrossContexts() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context context1 = JSTest.newContextBuilder().engine(engine).build();
+                            Context context2 = JSTest.newContextBuilder().engine(engine).build()) {
+                assertEquals("false:42", eval(context1, "a.js"));
+                JSContext jsContext = getJSContext(context1);
+                assertSame(jsContext, getJSContext(context2));
+                ConcurrentLRUCache<Object, ScriptNode> cache = jsContext.getFunctionConstructorCache();
+                assertEquals(1, cache.size());
+                assertEquals(1, cache.getMissCount());
+                long hits = cache.getHitCount();
+
+                assertEquals("false:42", eval(context2, "b.js"));
+                // parsed once, reused by the other context
+                assertEquals(1, cache.size());
+                assertEquals(1, cache.getMissCount());
+                assertTrue(cache.getHitCount() > hits);
+            }
+        }
+    }
+
+    @Test
+    public void testNotSharedAcrossDifferentOptions() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context sloppy = JSTest.newContextBuilder().engine(engine).build();
+                            Context strict = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.STRICT_NAME, "true").build()) {
+                assertEquals("false:42", eval(sloppy, "a.js"));
+                // a function parsed in sloppy mode must not be reused in strict mode
+                assertEquals("true:42", eval(strict, "b.js"));
+
+                JSContext sloppyContext = getJSContext(sloppy);
+                JSContext strictContext = getJSContext(strict);
+                assertNotSame(sloppyContext, strictContext);
+                ConcurrentLRUCache<Object, ScriptNode> sloppyCache = sloppyContext.getFunctionConstructorCache();
+                ConcurrentLRUCache<Object, ScriptNode> strictCache = strictContext.getFunctionConstructorCache();
+                assertNotSame(sloppyCache, strictCache);
+                assertEquals(1, sloppyCache.getMissCount());
+                assertEquals(1, strictCache.getMissCount());
+                assertEquals(1, strictCache.size());
+                assertFalse(strictCache.getHitCount() > 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+public class JSHashMapTest {
+
+    private static List<Object> keys(JSHashMap map) {
+        List<Object> keys = new ArrayList<>();
+        JSHashMap.Cursor cursor = map.getEntries();
+        while (cursor.advance()) {
+            keys.add(cursor.getKey());
+        }
+        return keys;
+    }
+
+    @Test
+    public void testBasic() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+            map.put("k" + i, i);
+            map.put(i + 0.5, i);
+        }
+        assertEquals(3000, map.size());
+        assertEquals("v42", map.get(42));
+        assertEquals("v42", map.getInt(42));
+        assertEquals(42, map.get("k42"));
+        assertEquals(42, map.get(42.5));
+        assertNull(map.get(1000));
+        assertNull(map.get(42.25));
+        assertTrue(map.hasInt(999));
+        assertFalse(map.has("k1000"));
+
+        map.put(42, "x");
+        assertEquals(3000, map.size());
+        assertEquals("x", map.get(42));
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(map.remove(i));
+            assertTrue(map.remove("k" + i));
+        }
+        assertFalse(map.removeInt(0));
+        assertEquals(1000, map.size());
+        assertEquals(0.5, keys(map).get(0));
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        JSHashMap map = new JSHashMap();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.put("a", 4);
+        assertEquals(Arrays.asList("c", "a", "b"), keys(map));
+        map.remove("a");
+        map.put("a", 5);
+        assertEquals(Arrays.asList("c", "b", "a"), keys(map));
+    }
+
+    @Test
+    public void testMutationDuringIteration() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 100; i++) {
+            map.putInt(i, i);
+        }
+        List<Object> visited = new ArrayList<>();
+        JSHashMap.Cursor cursor = map.getEntries();
+        while (cursor.advance()) {
+            int key = (int) cursor.getKey();
+            visited.add(key);
+            // removes the current and the next entry, forcing several rehashes
+            map.removeInt(key);
+            map.removeInt(key + 1);
+            if (key < 10) {
+                map.putInt(key + 1000, key);
+            }
+        }
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i += 2) {
+            expected.add(i);
+        }
+        for (int i = 0; i < 10; i += 2) {
+            expected.add(i + 1000);
+        }
+        assertEquals(expected, visited);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testClearDuringIteration() {
+        JSHashMap map = new JSHashMap();
+        map.put("a", 1);
+        map.put("b", 2);
+        JSHashMap.Cursor cursor = map.getEntries();
+        assertTrue(cursor.advance());
+        JSHashMap.Cursor copy = cursor.copy();
+        map.clear();
+        map.put("c", 3);
+        assertTrue(cursor.advance());
+        assertEquals("c", cursor.getKey());
+        assertFalse(cursor.advance());
+        map.put("d", 4);
+        // an exhausted cursor stays exhausted
+        assertFalse(cursor.advance());
+
+        assertTrue(copy.advance());
+        assertEquals("c", copy.getKey());
+        assertTrue(copy.advance());
+        assertEquals("d", copy.getKey());
+    }
+}
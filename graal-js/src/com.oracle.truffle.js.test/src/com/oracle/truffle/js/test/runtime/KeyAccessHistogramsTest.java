@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Key distributions sampled by megamorphic keyed property accesses.
+ */
+public class KeyAccessHistogramsTest {
+
+    private static final String SCRIPT = "" +
+                    "var o = {};\n" +
+                    "var keys = [];\n" +
+                    "for (var i = 0; i < 20; i++) { keys.push('k' + i); o['k' + i] = i; }\n" +
+                    "function read(obj, key) { return obj[key]; }\n" +
+                    "var sum = 0;\n" +
+                    "for (var j = 0; j < 5000; j++) { sum += read(o, j % 2 === 0 ? 'k0' : keys[j % 20]); }\n" +
+                    "sum;";
+
+    @Test
+    public void testPrintHistograms() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().out(out).option(JSContextOptions.KEY_ACCESS_HISTOGRAMS_NAME, "true").build()) {
+            assertEquals(25000, context.eval(ID, SCRIPT).asInt());
+        }
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertTrue(output, output.contains("[KeyAccessHistograms]"));
+        assertTrue(output, output.contains("  k0: "));
+    }
+
+    @Test
+    public void testRanking() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().out(out).option(JSContextOptions.KEY_ACCESS_HISTOGRAMS_NAME, "true").build()) {
+            assertEquals(25000, context.eval(Source.create(ID, SCRIPT)).asInt());
+        }
+        String output = out.toString(StandardCharsets.UTF_8);
+        // k0 is used in half of the accesses, each of the other keys in less than 3%
+        assertTrue(output, Pattern.compile("^  k0: \\d+ \\(\\d+%\\) cached$", Pattern.MULTILINE).matcher(output).find());
+        assertTrue(output, Pattern.compile("^  k1: \\d+ \\(\\d+%\\)$", Pattern.MULTILINE).matcher(output).find());
+        assertFalse(output, Pattern.compile("^  k(1|2|19): .* cached$", Pattern.MULTILINE).matcher(output).find());
+    }
+
+    @Test
+    public void testConcurrentSampling() throws Exception {
+        final int threadCount = 4;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Source source = Source.newBuilder(ID, SCRIPT, "histograms.js").buildLiteral();
+        try (Engine engine = JSTest.newEngineBuilder().out(out).option(JSContextOptions.KEY_ACCESS_HISTOGRAMS_NAME, "true").build()) {
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            try {
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int i = 0; i < threadCount; i++) {
+                    // all contexts share the JSContext and the AST of the script
+                    results.add(executor.submit(() -> {
+                        try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                            return context.eval(source).asInt();
+                        }
+                    }));
+                }
+                for (Future<Integer> result : results) {
+                    assertEquals(25000, (int) result.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        String output = out.toString(StandardCharsets.UTF_8);
+        // printed once, when the last context is disposed
+        Matcher header = Pattern.compile("^\\[KeyAccessHistograms\\] histograms\\.js:4:\\d+ total: (\\d+)$", Pattern.MULTILINE).matcher(output);
+        assertTrue(output, header.find());
+        assertTrue(output, Long.parseLong(header.group(1)) > 0);
+        assertFalse(output, header.find());
+        assertTrue(output, Pattern.compile("^  k0: \\d+ \\(\\d+%\\) cached$", Pattern.MULTILINE).matcher(output).find());
+    }
+
+    @Test
+    public void testNoHistogramsByDefault() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().out(out).build()) {
+            assertEquals(25000, context.eval(ID, SCRIPT).asInt());
+        }
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+}
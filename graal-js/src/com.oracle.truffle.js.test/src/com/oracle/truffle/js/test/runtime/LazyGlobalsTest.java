@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Globals that are created on first access must behave like ordinary global data properties.
+ */
+public class LazyGlobalsTest {
+
+    private static boolean evalBoolean(Context context, String code) {
+        return context.eval(ID, code).asBoolean();
+    }
+
+    @Test
+    public void testDescriptor() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            for (String name : new String[]{"Intl", "Atomics"}) {
+                String check = "(() => { let d = Object.getOwnPropertyDescriptor(globalThis, '" + name + "'); " +
+                                "return typeof d.value === 'object' && d.writable && !d.enumerable && d.configurable && d.value === " + name + "; })()";
+                assertTrue(name, evalBoolean(context, check));
+            }
+        }
+    }
+
+    @Test
+    public void testAssignAndDeleteBeforeAccess() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertEquals(42, context.eval(ID, "Intl = 42; Intl").asInt());
+            assertTrue(evalBoolean(context, "delete globalThis.Atomics && typeof Atomics === 'undefined'"));
+            assertTrue(evalBoolean(context, "Object.getOwnPropertyDescriptor(globalThis, 'Intl').value === 42"));
+        }
+    }
+
+    @Test
+    public void testIntrinsicsBeforeGlobal() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertTrue(evalBoolean(context, "'a'.localeCompare('b') < 0 && (1234.5).toLocaleString('en-US') === '1,234.5'"));
+            assertTrue(evalBoolean(context, "Object.getPrototypeOf(new Intl.Collator()) === Intl.Collator.prototype"));
+            assertTrue(evalBoolean(context, "[...new Intl.Segmenter().segment('ab')].length === 2"));
+        }
+    }
+
+    @Test
+    public void testOtherRealm() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.V8_REALM_BUILTIN_NAME, "true").build()) {
+            assertTrue(evalBoolean(context, "const id = Realm.create(); const other = Realm.global(id).Intl; " +
+                            "other !== Intl && other === Realm.eval(id, 'Intl') && other.Collator === Realm.eval(id, 'Intl.Collator')"));
+        }
+    }
+}
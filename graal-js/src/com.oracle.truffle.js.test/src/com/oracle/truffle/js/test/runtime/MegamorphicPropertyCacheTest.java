@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Megamorphic property accesses served by the context-wide property lookup cache.
+ */
+public class MegamorphicPropertyCacheTest {
+
+    private static final String SCRIPT = "" +
+                    "function get(o) { return o.x; }\n" +
+                    "function set(o, v) { 'use strict'; o.x = v; }\n" +
+                    "function has(o) { return 'x' in o; }\n" +
+                    "var log = [];\n" +
+                    "var proto = {x: 'proto'};\n" +
+                    "var mid = Object.create(proto);\n" +
+                    "var objs = [{x: 1}, Object.create(proto), Object.create(mid), {y: 1}, Object.create(null), function x() {}];\n" +
+                    "for (var i = 0; i < 3; i++) {\n" +
+                    "  log.push(objs.map(o => get(o)).join());\n" +
+                    "  log.push(objs.map(o => has(o)).join());\n" +
+                    "}\n" +
+                    "mid.x = 'mid';\n" +
+                    "log.push(objs.map(o => get(o)).join());\n" +
+                    "delete mid.x;\n" +
+                    "proto.x = 'changed';\n" +
+                    "log.push(objs.map(o => get(o)).join());\n" +
+                    "Object.prototype.y = 'inherited';\n" +
+                    "log.push(objs.map(o => o.y).join());\n" +
+                    "Object.defineProperty(proto, 'x', {get() { return 'getter:' + this.tag; }, set(v) { this.tagSet = v; }, configurable: true});\n" +
+                    "objs[1].tag = 't1';\n" +
+                    "log.push(get(objs[1]), has(objs[1]));\n" +
+                    "set(objs[1], 42);\n" +
+                    "log.push(objs[1].tagSet, Object.hasOwn(objs[1], 'x'));\n" +
+                    "set(objs[0], 2);\n" +
+                    "log.push(get(objs[0]));\n" +
+                    "var frozen = Object.freeze({x: 'frozen'});\n" +
+                    "try { set(frozen, 3); } catch (e) { log.push(e.constructor.name); }\n" +
+                    "log.push(get(frozen));\n" +
+                    "delete proto.x;\n" +
+                    "log.push(objs.map(o => has(o)).join());\n" +
+                    "log.join('|');";
+
+    private static String run(int cacheSize) {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.PROPERTY_CACHE_LIMIT_NAME, "0").option(JSContextOptions.MEGAMORPHIC_PROPERTY_CACHE_SIZE_NAME,
+                        String.valueOf(cacheSize)).build()) {
+            return context.eval(ID, SCRIPT).asString();
+        }
+    }
+
+    @Test
+    public void testSameResults() {
+        String expected = run(0);
+        assertEquals(expected, run(1024));
+        assertEquals(expected, run(1));
+    }
+
+    @Test
+    public void testResults() {
+        String[] log = run(1024).split("\\|");
+        assertEquals("1,proto,proto,,,", log[0]);
+        assertEquals("true,true,true,false,false,false", log[1]);
+        assertEquals("1,proto,mid,,,", log[6]);
+        assertEquals("1,changed,changed,,,", log[7]);
+        assertEquals("inherited,inherited,inherited,1,,inherited", log[8]);
+        assertEquals("getter:t1", log[9]);
+        assertEquals("true", log[10]);
+        assertEquals("42", log[11]);
+        assertEquals("false", log[12]);
+        assertEquals("2", log[13]);
+        assertEquals("TypeError", log[14]);
+        assertEquals("frozen", log[15]);
+        assertEquals("true,false,false,false,false,false", log[16]);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.MODULE_MIME_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.ModuleParseExecutor;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Statically imported modules parsed on background threads.
+ */
+public class ModuleParseThreadsTest {
+
+    private static Context newContext() {
+        return JSTest.newContextBuilder().allowIO(IOAccess.ALL).option(JSContextOptions.MODULE_PARSE_THREADS_NAME, "2").build();
+    }
+
+    private static Source mainModule(Path dir, String code) throws IOException {
+        Path main = dir.resolve("main.mjs");
+        Files.writeString(main, code);
+        return Source.newBuilder(ID, main.toFile()).mimeType(MODULE_MIME_TYPE).build();
+    }
+
+    private static ModuleParseExecutor getExecutor(Context context) {
+        context.enter();
+        try {
+            return JavaScriptLanguage.getJSRealm(context).getModuleParseExecutor();
+        } finally {
+            context.leave();
+        }
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testImportGraph() throws IOException {
+        Path dir = Files.createTempDirectory("modules");
+        try {
+            Files.writeString(dir.resolve("a.mjs"), "import { c } from './c.mjs'; export const a = c + 1;");
+            Files.writeString(dir.resolve("b.mjs"), "import { c } from './c.mjs'; export const b = /(\\d+)/.exec('x' + c)[1] * 2;");
+            Files.writeString(dir.resolve("c.mjs"), "export const c = 20;");
+            try (Context context = newContext()) {
+                Source main = mainModule(dir, "import { a } from './a.mjs'; import { b } from './b.mjs'; a + b;");
+                assertEquals(61, context.eval(main).asInt());
+
+                ModuleParseExecutor executor = getExecutor(context);
+                // a.mjs, b.mjs and c.mjs were parsed in the background
+                assertEquals(3, executor.getTakenCount());
+                assertEquals(0, executor.getPendingCount());
+            }
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorInImportedModule() throws IOException {
+        Path dir = Files.createTempDirectory("modules");
+        try {
+            Files.writeString(dir.resolve("broken.mjs"), "export const x = ;");
+            try (Context context = newContext()) {
+                context.eval(mainModule(dir, "import { x } from './broken.mjs'; x;"));
+                fail("SyntaxError expected");
+            } catch (PolyglotException e) {
+                assertTrue(e.isSyntaxError());
+                assertTrue(e.getSourceLocation().getSource().getName(), e.getSourceLocation().getSource().getName().endsWith("broken.mjs"));
+            }
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testInvalidRegExpInImportedModule() throws IOException {
+        Path dir = Files.createTempDirectory("modules");
+        try {
+            Files.writeString(dir.resolve("regex.mjs"), "export const r = /(/;");
+            try (Context context = newContext()) {
+                context.eval(mainModule(dir, "import { r } from './regex.mjs'; r;"));
+                fail("SyntaxError expected");
+            } catch (PolyglotException e) {
+                assertTrue(e.isSyntaxError());
+            }
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testMissingModule() throws IOException {
+        Path dir = Files.createTempDirectory("modules");
+        try {
+            try (Context context = newContext()) {
+                context.eval(mainModule(dir, "import { y } from './missing.mjs'; y;"));
+                fail("error expected");
+            } catch (PolyglotException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("missing.mjs"));
+            }
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.PromiseJobsQueue;
+import com.oracle.truffle.js.test.JSTest;
+
+public class PromiseJobsQueueTest {
+
+    private static void assertRemove(PromiseJobsQueue queue, int expected) {
+        assertEquals(expected, queue.peekJob());
+        assertEquals(-expected, queue.peekArgument());
+        queue.remove();
+    }
+
+    @Test
+    public void testGrowAndWrapAround() {
+        PromiseJobsQueue queue = new PromiseJobsQueue();
+        int initialCapacity = queue.capacity();
+        int next = 0;
+        int expected = 0;
+        // Move the head to the middle of the buffer, then fill it so that it wraps around.
+        for (int i = 0; i < initialCapacity / 2; i++, next++) {
+            queue.add(next, -next);
+        }
+        for (int i = 0; i < initialCapacity / 2 - 1; i++, expected++) {
+            assertRemove(queue, expected);
+        }
+        while (queue.size() < initialCapacity) {
+            queue.add(next, -next);
+            next++;
+        }
+        assertEquals(initialCapacity, queue.capacity());
+        // Grow while wrapped around.
+        for (int i = 0; i < 3 * initialCapacity; i++, next++) {
+            queue.add(next, -next);
+        }
+        assertTrue(queue.capacity() >= 4 * initialCapacity);
+        while (!queue.isEmpty()) {
+            assertRemove(queue, expected++);
+        }
+        assertEquals(next, expected);
+        assertNull(queue.peekJob());
+    }
+
+    @Test
+    public void testJobsEnqueueingJobs() {
+        PromiseJobsQueue queue = new PromiseJobsQueue();
+        int count = 10000;
+        queue.add(0, 0);
+        int expected = 0;
+        while (!queue.isEmpty()) {
+            int job = (int) queue.peekJob();
+            assertRemove(queue, expected++);
+            for (int child = 2 * job + 1; child <= 2 * job + 2 && child < count; child++) {
+                queue.add(child, -child);
+            }
+        }
+        assertEquals(count, expected);
+    }
+
+    @Test
+    public void testHighWaterMark() {
+        PromiseJobsQueue queue = new PromiseJobsQueue();
+        for (int i = 0; i < 100; i++) {
+            queue.add(i, -i);
+        }
+        for (int i = 0; i < 90; i++) {
+            assertRemove(queue, i);
+        }
+        assertEquals(10, queue.size());
+        assertEquals(100, queue.getHighWaterMark());
+        queue.resetHighWaterMark();
+        assertEquals(10, queue.getHighWaterMark());
+    }
+
+    @Test
+    public void testTrim() {
+        PromiseJobsQueue queue = new PromiseJobsQueue();
+        int initialCapacity = queue.capacity();
+        for (int i = 0; i < 1000; i++) {
+            queue.add(i, -i);
+        }
+        int burstCapacity = queue.capacity();
+        assertTrue(burstCapacity >= 1000);
+        // Not empty: nothing is released.
+        queue.trim();
+        assertEquals(burstCapacity, queue.capacity());
+        for (int i = 0; i < 1000; i++) {
+            assertRemove(queue, i);
+        }
+        // The burst is the peak since the last trim: the buffer is kept.
+        queue.trim();
+        assertEquals(burstCapacity, queue.capacity());
+        for (int i = 0; i < 10; i++) {
+            queue.add(i, -i);
+            assertRemove(queue, i);
+        }
+        // The peak since the last trim is small: the buffer is shrunk.
+        queue.trim();
+        assertEquals(initialCapacity, queue.capacity());
+        for (int i = 0; i < 100; i++) {
+            queue.add(i, -i);
+        }
+        int capacity = queue.capacity();
+        for (int i = 0; i < 100; i++) {
+            assertRemove(queue, i);
+        }
+        // The peak uses more than a quarter of the buffer: the buffer is kept.
+        queue.trim();
+        assertEquals(capacity, queue.capacity());
+    }
+
+    @Test
+    public void testReactionJobsOrder() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            // Each job enqueues up to two further jobs; FIFO order performs them breadth-first.
+            context.eval(JavaScriptLanguage.ID, "var log = [];" +
+                            "function job(n) { log.push(n); for (let c = 2 * n + 1; c <= 2 * n + 2 && c < 2000; c++) { Promise.resolve(c).then(job); } }" +
+                            "Promise.resolve(0).then(job);");
+            assertTrue(context.eval(JavaScriptLanguage.ID, "log.length === 2000 && log.every((n, i) => n === i)").asBoolean());
+            // Reaction jobs interleaved with resolve-thenable jobs.
+            context.eval(JavaScriptLanguage.ID, "log = [];" +
+                            "for (let i = 0; i < 3; i++) { Promise.resolve().then(() => log.push('a' + i)).then(() => log.push('b' + i)); }" +
+                            "new Promise((resolve) => resolve(Promise.resolve())).then(() => log.push('t'));");
+            assertEquals("a0,a1,a2,b0,b1,b2,t", context.eval(JavaScriptLanguage.ID, "log.join()").asString());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Compares the fast decimal to double conversion with {@link Double#parseDouble}.
+ */
+public class StringToDoubleTest {
+
+    private static final String[] LITERALS = {"0", "-0", "0.0", "-0.0", ".5", "5.", "-.5e-3", "1e308", "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "2e308",
+                    "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324", "5e-324", "1e-400", "2.2250738585072011e-308", "2.2250738585072012e-308", "9007199254740993",
+                    "9007199254740992.5", "9007199254740993.0000001", "1234567890123456789", "12345678901234567890", "9999999999999999999", "0.000000000000000000000000000001", "1e22",
+                    "1e23", "3.14159265358979323", "00000000000000000000012.5", "1.00000000000000011102230246251565404236316680908203125", "7.2057594037927933e16", "1E+5", "1e-5",
+                    "0.1", "0.3", "123.456", "1e-99999", "1e99999"};
+
+    private static void check(long significand, int exponent) {
+        double expected = new BigDecimal(Long.toUnsignedString(significand) + "e" + exponent).doubleValue();
+        double actual = DoubleConversion.decimalToDouble(significand, exponent, false);
+        if (!Double.isNaN(actual)) {
+            assertEquals(significand + "e" + exponent, expected, actual, 0.0);
+        }
+        actual = DoubleConversion.decimalToDouble(significand, exponent, true);
+        if (!Double.isNaN(actual)) {
+            assertEquals("-" + significand + "e" + exponent, -expected, actual, 0.0);
+        }
+    }
+
+    @Test
+    public void testDecimalToDouble() {
+        for (int exponent = -345; exponent <= 310; exponent++) {
+            check(0, exponent);
+            check(1, exponent);
+            check(9007199254740993L, exponent);
+            check(-1L, exponent);
+            check(Long.MAX_VALUE, exponent);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100000; i++) {
+            check(random.nextLong(), random.nextInt(-345, 310));
+            check(random.nextLong(1L << 53), random.nextInt(-22, 23));
+        }
+    }
+
+    private static void checkExact(String message, double expected, double actual) {
+        assertTrue(message + ": expected " + expected + " but was " + actual, Double.isNaN(actual) || Double.compare(expected, actual) == 0);
+    }
+
+    private static void checkEdgeCase(long significand, int exponent) {
+        double expected = new BigDecimal(Long.toUnsignedString(significand) + "e" + exponent).doubleValue();
+        checkExact(significand + "e" + exponent, expected, DoubleConversion.decimalToDouble(significand, exponent, false));
+        checkExact("-" + significand + "e" + exponent, -expected, DoubleConversion.decimalToDouble(significand, exponent, true));
+    }
+
+    @Test
+    public void testNineteenDigitSignificands() {
+        // Significands are unsigned: Long.MIN_VALUE is 2^63, the negative literals stand for
+        // 9999999999999999999 and 18446744073709551615.
+        long[] significands = {1000000000000000000L, 1000000000000000001L, 1234567890123456789L, 9007199254740993000L, Long.MAX_VALUE, Long.MIN_VALUE, -8446744073709551617L, -1L};
+        for (long significand : significands) {
+            for (int exponent = -342; exponent <= 290; exponent++) {
+                checkEdgeCase(significand, exponent);
+            }
+        }
+    }
+
+    @Test
+    public void testHalfwayCases() {
+        // 2^53 + 1 and 2^53 + 3 are exactly halfway between two doubles; ties round to even.
+        checkEdgeCase(9007199254740993L, 0);
+        checkEdgeCase(9007199254740995L, 0);
+        checkEdgeCase(90071992547409930L, -1);
+        checkEdgeCase(90071992547409950L, -1);
+        // 2^52 + 0.5 and 2^52 + 1.5, halfway at the bottom of the 2^52 binade.
+        checkEdgeCase(45035996273704965L, -1);
+        checkEdgeCase(45035996273704975L, -1);
+        // One unit below and above the halfway point.
+        checkEdgeCase(9007199254740992999L, -3);
+        checkEdgeCase(9007199254740993001L, -3);
+        // 2^63 + 2^10 is halfway between 2^63 and 2^63 + 2^11.
+        checkEdgeCase(Long.MIN_VALUE + 1024L, 0);
+        checkEdgeCase(Long.MIN_VALUE + 3072L, 0);
+        // Around the halfway point between Double.MAX_VALUE and 2^1024, above which the result
+        // is infinity.
+        checkEdgeCase(17976931348623157L, 292);
+        checkEdgeCase(17976931348623158L, 292);
+        checkEdgeCase(17976931348623159L, 292);
+    }
+
+    @Test
+    public void testSubnormals() {
+        // Double.MIN_VALUE, and the values around half of it, which round to 0 or to MIN_VALUE.
+        checkEdgeCase(49L, -325);
+        checkEdgeCase(5L, -324);
+        checkEdgeCase(24703282292062327L, -340);
+        checkEdgeCase(24703282292062328L, -340);
+        checkEdgeCase(2470328229206232720L, -342);
+        checkEdgeCase(1L, -324);
+        checkEdgeCase(3L, -324);
+        // Largest subnormal and smallest normal.
+        checkEdgeCase(22250738585072009L, -324);
+        checkEdgeCase(22250738585072011L, -324);
+        checkEdgeCase(22250738585072012L, -324);
+        checkEdgeCase(22250738585072014L, -324);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 10000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong(1L, 1L << 52));
+            BigDecimal decimal = new BigDecimal(Double.toString(value));
+            checkEdgeCase(decimal.unscaledValue().longValueExact(), -decimal.scale());
+        }
+    }
+
+    @Test
+    public void testSignedZero() {
+        for (int exponent = -400; exponent <= 400; exponent++) {
+            assertEquals(0L, Double.doubleToRawLongBits(DoubleConversion.decimalToDouble(0, exponent, false)));
+            assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(DoubleConversion.decimalToDouble(0, exponent, true)));
+        }
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value isNegativeZero = context.eval(JavaScriptLanguage.ID, "(s) => [Object.is(Number(s), -0), Object.is(parseFloat(s), -0), Object.is(JSON.parse(s), -0)]");
+            for (String literal : new String[]{"-0", "-0.0", "-0e5", "-0.000e-400", "-1e-400"}) {
+                Value result = isNegativeZero.execute(literal);
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(literal, result.getArrayElement(i).asBoolean());
+                }
+            }
+            Value isPositiveZero = context.eval(JavaScriptLanguage.ID, "(s) => [Object.is(Number(s), 0), Object.is(parseFloat(s), 0), Object.is(JSON.parse(s), 0)]");
+            for (String literal : new String[]{"0", "0.0", "0e5", "0.000e-400", "1e-400"}) {
+                Value result = isPositiveZero.execute(literal);
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(literal, result.getArrayElement(i).asBoolean());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE);
+            if (!Double.isFinite(value)) {
+                continue;
+            }
+            BigDecimal decimal = new BigDecimal(Double.toString(value));
+            double actual = DoubleConversion.decimalToDouble(decimal.unscaledValue().longValueExact(), -decimal.scale(), false);
+            assertTrue(Double.isNaN(actual) || Double.compare(value, actual) == 0);
+        }
+    }
+
+    @Test
+    public void testParse() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value parse = context.eval(JavaScriptLanguage.ID, "(s) => [Number(s), parseFloat(s), parseFloat(s + 'x'), /^-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?$/.test(s) ? JSON.parse(s) : Number(s)]");
+            for (String literal : LITERALS) {
+                double expected = Double.parseDouble(literal);
+                Value result = parse.execute(literal);
+                assertEquals(literal, expected, result.getArrayElement(0).asDouble(), 0.0);
+                assertEquals(literal, expected, result.getArrayElement(1).asDouble(), 0.0);
+                assertEquals(literal, expected, result.getArrayElement(2).asDouble(), 0.0);
+                assertEquals(literal, expected, result.getArrayElement(3).asDouble(), 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class CodeCacheDirectoryTest {
+
+    private static final String CODE = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); } fib(9) + 8;";
+
+    private static int eval(Path dir, String code, String name) {
+        return eval(dir, code, name, IOAccess.ALL);
+    }
+
+    private static int eval(Path dir, String code, String name, IOAccess ioAccess) {
+        try (Context context = JSTest.newContextBuilder().allowIO(ioAccess).option(JSContextOptions.CODE_CACHE_DIRECTORY_NAME, dir.toString()).build()) {
+            return context.eval(Source.newBuilder(JavaScriptLanguage.ID, code, name).buildLiteral()).asInt();
+        }
+    }
+
+    private static int eval(Path dir, String code, String name, String optionName, String optionValue) {
+        try (Context context = JSTest.newContextBuilder().allowIO(IOAccess.ALL).option(JSContextOptions.CODE_CACHE_DIRECTORY_NAME, dir.toString()).option(optionName, optionValue).build()) {
+            return context.eval(Source.newBuilder(JavaScriptLanguage.ID, code, name).buildLiteral()).asInt();
+        }
+    }
+
+    private static List<Path> cacheFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        for (Path file : cacheFiles(dir)) {
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        Path dir = Files.createTempDirectory("codecache");
+        try {
+            assertEquals(42, eval(dir, CODE, "a.js"));
+            List<Path> files = cacheFiles(dir);
+            assertEquals(1, files.size());
+            assertTrue(files.get(0).getFileName().toString().endsWith(".bin"));
+            assertTrue(Files.size(files.get(0)) > 0);
+
+            // looked up by content, not by name
+            assertEquals(42, eval(dir, CODE, "b.js"));
+            assertEquals(files, cacheFiles(dir));
+
+            assertEquals(43, eval(dir, CODE + " + 1", "a.js"));
+            assertEquals(2, cacheFiles(dir).size());
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testCorruptedCacheFile() throws IOException {
+        Path dir = Files.createTempDirectory("codecache");
+        try {
+            assertEquals(42, eval(dir, CODE, "a.js"));
+            Path file = cacheFiles(dir).get(0);
+            long size = Files.size(file);
+            Files.write(file, new byte[]{1, 2, 3});
+
+            assertEquals(42, eval(dir, CODE, "a.js"));
+            assertEquals(List.of(file), cacheFiles(dir));
+            assertEquals(size, Files.size(file));
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testTruncatedCacheFile() throws IOException {
+        Path dir = Files.createTempDirectory("codecache");
+        try {
+            assertEquals(42, eval(dir, CODE, "a.js"));
+            Path file = cacheFiles(dir).get(0);
+            byte[] snapshot = Files.readAllBytes(file);
+            // the body of fib is decoded lazily when the snapshot is used
+            for (int length : new int[]{snapshot.length - 1, snapshot.length * 3 / 4, snapshot.length / 2}) {
+                Files.write(file, Arrays.copyOf(snapshot, length));
+                assertEquals(42, eval(dir, CODE, "a.js"));
+                assertEquals(snapshot.length, Files.size(file));
+            }
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testTranslationOptionsInKey() throws IOException {
+        Path dir = Files.createTempDirectory("codecache");
+        try {
+            assertEquals(42, eval(dir, CODE, "a.js"));
+            assertEquals(1, cacheFiles(dir).size());
+            // an option that only affects translation, not parsing
+            assertEquals(42, eval(dir, CODE, "a.js", JSContextOptions.SCOPE_OPTIMIZATION_NAME, "false"));
+            assertEquals(2, cacheFiles(dir).size());
+            assertEquals(42, eval(dir, CODE, "a.js", JSContextOptions.SCOPE_OPTIMIZATION_NAME, "false"));
+            assertEquals(2, cacheFiles(dir).size());
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testIONotAllowed() throws IOException {
+        Path dir = Files.createTempDirectory("codecache");
+        try {
+            assertEquals(42, eval(dir, CODE, "a.js", IOAccess.NONE));
+            assertEquals(List.of(), cacheFiles(dir));
+
+            // an existing cache file is not read either
+            assertEquals(42, eval(dir, CODE, "a.js"));
+            Path file = cacheFiles(dir).get(0);
+            Files.write(file, new byte[]{1, 2, 3});
+            assertEquals(42, eval(dir, CODE, "a.js", IOAccess.NONE));
+            assertEquals(3, Files.size(file));
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testSyntaxError() throws IOException {
+        Path dir = Files.createTempDirectory("codecache");
+        try {
+            eval(dir, "var x = ;", "a.js");
+            fail("SyntaxError expected");
+        } catch (PolyglotException e) {
+            assertTrue(e.isSyntaxError());
+            assertEquals(List.of(), cacheFiles(dir));
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+}
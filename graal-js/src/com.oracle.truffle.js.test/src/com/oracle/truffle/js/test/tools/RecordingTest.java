@@ -41,6 +41,8 @@
 package com.oracle.truffle.js.test.tools;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -55,6 +57,11 @@ import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.parser.JSParser;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.snapshot.Recording;
 import com.oracle.truffle.js.test.JSTest;
 
@@ -200,4 +207,31 @@ public class RecordingTest extends JSTest {
         script.run(testHelper.getRealm());
     }
 
+    @Test
+    public void testLazyFunctionDecoding() throws IOException {
+        JSContext context = testHelper.getJSContext();
+        Source source = Source.newBuilder(JavaScriptLanguage.ID, "" +
+                        "function unused(a) { return a.map(x => x + 1); }" +
+                        "function twice(x) { return x * 2; }" +
+                        "[unused, twice];",
+                        "lazy.js").build();
+        Recording rec = Recording.recordSource(source, context, false, "", "");
+
+        byte[] snapshot;
+        try (ByteArrayOutputStream outs = new ByteArrayOutputStream()) {
+            rec.saveToStream(source.getName(), outs, true);
+            snapshot = outs.toByteArray();
+        }
+
+        ScriptNode script = ((JSParser) context.getEvaluator()).parseScript(context, source, ByteBuffer.wrap(snapshot));
+        JSArrayObject functions = (JSArrayObject) script.run(testHelper.getRealm());
+        JSFunctionObject unused = (JSFunctionObject) JSObject.get(functions, 0);
+        JSFunctionObject twice = (JSFunctionObject) JSObject.get(functions, 1);
+        assertNull(JSFunction.getFunctionData(unused).getRootNode());
+        assertNull(JSFunction.getFunctionData(twice).getRootNode());
+
+        assertEquals(42, JSFunction.call(twice, Undefined.instance, new Object[]{21}));
+        assertNotNull(JSFunction.getFunctionData(twice).getRootNode());
+        assertNull(JSFunction.getFunctionData(unused).getRootNode());
+    }
 }
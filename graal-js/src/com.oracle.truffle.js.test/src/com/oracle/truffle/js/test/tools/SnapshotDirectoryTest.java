@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.tools;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.snapshot.Recording;
+import com.oracle.truffle.js.test.JSTest;
+
+public class SnapshotDirectoryTest {
+
+    private static final String SOURCE_NAME = "lib/snapshotDirectoryTest.js";
+    private static final String CODE = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); } fib(9) + 8;";
+    /** Same length as {@link #CODE}, but evaluates to 43 instead of 42. */
+    private static final String OTHER_CODE = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); } fib(9) + 9;";
+    private static final int SOURCE_HASH_OFFSET = 12;
+
+    private static Context newContext(Path dir, IOAccess ioAccess) {
+        return JSTest.newContextBuilder().allowIO(ioAccess).option(JSContextOptions.SNAPSHOT_DIRECTORY_NAME, dir.toString()).build();
+    }
+
+    private static byte[] recordSnapshot(String code) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.initialize(JavaScriptLanguage.ID);
+            context.enter();
+            try {
+                JSContext jsContext = JavaScriptLanguage.getCurrentJSRealm().getContext();
+                Recording rec = Recording.recordSource(Source.newBuilder(JavaScriptLanguage.ID, code, SOURCE_NAME).build(), jsContext, false, "", "");
+                ByteArrayOutputStream outs = new ByteArrayOutputStream();
+                rec.saveToStream(SOURCE_NAME, outs, true);
+                return outs.toByteArray();
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    /**
+     * Records a snapshot of {@link #OTHER_CODE} whose header claims that it is a snapshot of
+     * {@link #CODE}, so that evaluating {@link #CODE} returns 43 iff the snapshot is used.
+     */
+    private static byte[] recordMarkedSnapshot() {
+        byte[] snapshot = recordSnapshot(OTHER_CODE);
+        ByteBuffer.wrap(snapshot).order(ByteOrder.LITTLE_ENDIAN).putInt(SOURCE_HASH_OFFSET, CODE.hashCode());
+        return snapshot;
+    }
+
+    private static Path writeSnapshot(Path dir, byte[] snapshot) throws IOException {
+        Path snapshotFile = dir.resolve(SOURCE_NAME + ".bin");
+        Files.createDirectories(snapshotFile.getParent());
+        Files.write(snapshotFile, snapshot);
+        return snapshotFile;
+    }
+
+    private static void deleteSnapshot(Path dir) throws IOException {
+        Path snapshotFile = dir.resolve(SOURCE_NAME + ".bin");
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(snapshotFile.getParent());
+        Files.deleteIfExists(dir);
+    }
+
+    private static int eval(Context context, String code, String name) {
+        return context.eval(org.graalvm.polyglot.Source.newBuilder(JavaScriptLanguage.ID, code, name).buildLiteral()).asInt();
+    }
+
+    @Test
+    public void testLoadFromSnapshotDirectory() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try {
+            writeSnapshot(dir, recordMarkedSnapshot());
+            try (Context context = newContext(dir, IOAccess.ALL)) {
+                // loaded from the snapshot
+                assertEquals(43, eval(context, CODE, SOURCE_NAME));
+                // other name: parsed from source
+                assertEquals(42, context.eval(org.graalvm.polyglot.Source.create(JavaScriptLanguage.ID, CODE)).asInt());
+            }
+        } finally {
+            deleteSnapshot(dir);
+        }
+    }
+
+    @Test
+    public void testStaleSnapshot() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try {
+            writeSnapshot(dir, recordSnapshot(CODE));
+            try (Context context = newContext(dir, IOAccess.ALL)) {
+                // content does not match the snapshot: parsed from source
+                assertEquals(43, eval(context, OTHER_CODE, SOURCE_NAME));
+                assertEquals(44, eval(context, CODE + " + 2", SOURCE_NAME));
+            }
+        } finally {
+            deleteSnapshot(dir);
+        }
+    }
+
+    @Test
+    public void testCorruptSnapshot() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try {
+            writeSnapshot(dir, new byte[]{1, 2, 3});
+            try (Context context = newContext(dir, IOAccess.ALL)) {
+                assertEquals(42, eval(context, CODE, SOURCE_NAME));
+            }
+            // header of another format version
+            byte[] snapshot = recordMarkedSnapshot();
+            snapshot[4] ^= 1;
+            writeSnapshot(dir, snapshot);
+            try (Context context = newContext(dir, IOAccess.ALL)) {
+                assertEquals(42, eval(context, CODE, SOURCE_NAME));
+            }
+        } finally {
+            deleteSnapshot(dir);
+        }
+    }
+
+    @Test
+    public void testTruncatedSnapshot() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try {
+            byte[] snapshot = recordMarkedSnapshot();
+            // cuts off function bodies that would otherwise only be decoded on their first call
+            for (int length : new int[]{snapshot.length - 1, snapshot.length * 3 / 4, snapshot.length / 2}) {
+                writeSnapshot(dir, Arrays.copyOf(snapshot, length));
+                try (Context context = newContext(dir, IOAccess.ALL)) {
+                    assertEquals(42, eval(context, CODE, SOURCE_NAME));
+                }
+            }
+        } finally {
+            deleteSnapshot(dir);
+        }
+    }
+
+    @Test
+    public void testIONotAllowed() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try {
+            writeSnapshot(dir, recordMarkedSnapshot());
+            try (Context context = newContext(dir, IOAccess.NONE)) {
+                assertEquals(42, eval(context, CODE, SOURCE_NAME));
+            }
+        } finally {
+            deleteSnapshot(dir);
+        }
+    }
+
+    @Test
+    public void testSourceOutsideSnapshotDirectory() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try (Context context = newContext(dir, IOAccess.ALL)) {
+            assertEquals(42, eval(context, CODE, "../" + SOURCE_NAME));
+            assertEquals(42, eval(context, CODE, ""));
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+    }
+}
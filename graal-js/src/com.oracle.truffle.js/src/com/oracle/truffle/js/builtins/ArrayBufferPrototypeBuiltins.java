@@ -363,7 +363,7 @@ public final class ArrayBufferPrototypeBuiltins extends JSBuiltinsContainer.Swit
             }
         }
 
-        @Specialization(guards = {"!isJSSharedArrayBuffer(thisObj)", "hasBufferElements(thisObj, srcBufferLib)"})
+        @Specialization(guards = {"!isJSSharedArrayBuffer(thisObj)", "!isJSArrayBufferView(thisObj)", "hasBufferElements(thisObj, srcBufferLib)"})
         protected Object sliceTruffleBuffer(Object thisObj, Object begin0, Object end0,
                         @CachedLibrary(limit = "InteropLibraryLimit") @Shared("srcBufferLib") InteropLibrary srcBufferLib,
                         @CachedLibrary(limit = "InteropLibraryLimit") @Shared("dstBufferLib") InteropLibrary dstBufferLib) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -118,7 +118,7 @@ public final class BigIntFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
                     throw Errors.createRangeErrorBigIntMaxSizeExceeded();
                 }
             } else {
-                return bigint.mod((BigInt.TWO).pow((int) bits));
+                return bigint.asUintN((int) bits);
             }
         }
     }
@@ -139,18 +139,7 @@ public final class BigIntFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
             if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
                 return bigint;
             }
-            BigInt twoPowBits = BigInt.TWO.pow((int) bits);
-            BigInt mod = bigint.mod(twoPowBits);
-            if (bits > 0) {
-                if (mod.compareTo(BigInt.TWO.pow((int) bits - 1)) >= 0) {
-                    return mod.subtract(twoPowBits);
-                } else {
-                    return mod;
-                }
-            } else {
-                return BigInt.ZERO;
-            }
-
+            return bigint.asIntN((int) bits);
         }
     }
 }
@@ -217,6 +217,7 @@ import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSAdapter;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
 import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
 import com.oracle.truffle.js.runtime.builtins.JSAsyncIterator;
 import com.oracle.truffle.js.runtime.builtins.JSBoolean;
@@ -276,7 +277,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
-import com.oracle.truffle.js.runtime.util.LRUCache;
+import com.oracle.truffle.js.runtime.util.ConcurrentLRUCache;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TemporalErrors;
@@ -2140,10 +2141,6 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return a.equals(b);
         }
 
-        protected LRUCache<CachedSourceKey, ScriptNode> createCache() {
-            return new LRUCache<>(context.getContextOptions().getFunctionConstructorCacheSize());
-        }
-
         @SuppressWarnings("unused")
         @Specialization(guards = {"equals(cachedParamList, paramList)", "equals(cachedBody, body)", "equals(cachedSourceName, sourceName)"}, limit = "1")
         protected final JSFunctionObject doCached(String paramList, String body, String sourceName,
@@ -2153,7 +2150,10 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
                         @Cached("createAssumedValue()") AssumedValue<ScriptNode> cachedParsedFunction) {
             ScriptNode parsedFunction = cachedParsedFunction.get();
             if (parsedFunction == null) {
-                parsedFunction = parseFunction(paramList, body, sourceName);
+                parsedFunction = cacheLookup(paramList, body, sourceName);
+                if (parsedFunction == null) {
+                    parsedFunction = parseAndCacheFunction(paramList, body, sourceName);
+                }
                 cachedParsedFunction.set(parsedFunction);
             }
 
@@ -2162,22 +2162,27 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
 
         @Specialization(replaces = "doCached")
         protected final JSFunctionObject doUncached(String paramList, String body, String sourceName,
-                        @Cached("createCache()") LRUCache<CachedSourceKey, ScriptNode> cache,
                         @Cached("createCountingProfile()") ConditionProfile cacheHit) {
-            ScriptNode cached = cacheLookup(cache, new CachedSourceKey(paramList, body, sourceName));
+            ScriptNode cached = cacheLookup(paramList, body, sourceName);
             JSRealm realm = getRealm();
             if (cacheHit.profile(cached == null)) {
-                return parseAndEvalFunction(cache, realm, paramList, body, sourceName);
+                return parseAndEvalFunction(realm, paramList, body, sourceName);
             } else {
                 return evalParsedFunction(realm, cached);
             }
         }
 
+        /**
+         * Looks up the function in the {@linkplain JSContext#getFunctionConstructorCache() cache}
+         * shared by all Function constructor call sites of this context.
+         */
         @TruffleBoundary
-        protected ScriptNode cacheLookup(LRUCache<CachedSourceKey, ScriptNode> cache, CachedSourceKey sourceKey) {
-            synchronized (cache) {
-                return cache.get(sourceKey);
+        protected ScriptNode cacheLookup(String paramList, String body, String sourceName) {
+            ConcurrentLRUCache<Object, ScriptNode> cache = context.getFunctionConstructorCache();
+            if (cache == null) {
+                return null;
             }
+            return cache.get(new CachedSourceKey(generatorFunction, asyncFunction, paramList, body, sourceName));
         }
 
         @TruffleBoundary(transferToInterpreterOnException = false)
@@ -2186,18 +2191,25 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return context.getEvaluator().parseFunction(context, paramList, body, generatorFunction, asyncFunction, sourceName);
         }
 
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private ScriptNode parseAndCacheFunction(String paramList, String body, String sourceName) {
+            ScriptNode parsedFunction = parseFunction(paramList, body, sourceName);
+            ConcurrentLRUCache<Object, ScriptNode> cache = context.getFunctionConstructorCache();
+            if (cache != null) {
+                // another thread might have parsed the same function in the meantime
+                parsedFunction = cache.putIfAbsent(new CachedSourceKey(generatorFunction, asyncFunction, paramList, body, sourceName), parsedFunction);
+            }
+            return parsedFunction;
+        }
+
         @TruffleBoundary(transferToInterpreterOnException = false)
         private static JSFunctionObject evalParsedFunction(JSRealm realm, ScriptNode parsedFunction) {
             return (JSFunctionObject) parsedFunction.run(realm);
         }
 
         @TruffleBoundary(transferToInterpreterOnException = false)
-        private JSFunctionObject parseAndEvalFunction(LRUCache<CachedSourceKey, ScriptNode> cache, JSRealm realm, String paramList, String body, String sourceName) {
-            ScriptNode parsedBody = parseFunction(paramList, body, sourceName);
-            synchronized (cache) {
-                cache.put(new CachedSourceKey(paramList, body, sourceName), parsedBody);
-            }
-            return evalParsedFunction(realm, parsedBody);
+        private JSFunctionObject parseAndEvalFunction(JSRealm realm, String paramList, String body, String sourceName) {
+            return evalParsedFunction(realm, parseAndCacheFunction(paramList, body, sourceName));
         }
 
         AssumedValue<ScriptNode> createAssumedValue() {
@@ -2205,11 +2217,15 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         }
 
         protected static class CachedSourceKey {
+            private final boolean generatorFunction;
+            private final boolean asyncFunction;
             private final String body;
             private final String paramList;
             private final String sourceName;
 
-            CachedSourceKey(String paramList, String body, String sourceName) {
+            CachedSourceKey(boolean generatorFunction, boolean asyncFunction, String paramList, String body, String sourceName) {
+                this.generatorFunction = generatorFunction;
+                this.asyncFunction = asyncFunction;
                 this.body = body;
                 this.paramList = paramList;
                 this.sourceName = sourceName;
@@ -2221,12 +2237,13 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
                     return false;
                 }
                 CachedSourceKey k = (CachedSourceKey) o;
-                return k.body.equals(body) && k.paramList.equals(paramList) && k.sourceName.equals(sourceName);
+                return k.generatorFunction == generatorFunction && k.asyncFunction == asyncFunction &&
+                                k.body.equals(body) && k.paramList.equals(paramList) && k.sourceName.equals(sourceName);
             }
 
             @Override
             public int hashCode() {
-                return Objects.hash(body, paramList, sourceName);
+                return Objects.hash(generatorFunction, asyncFunction, body, paramList, sourceName);
             }
         }
 
@@ -2260,7 +2277,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             }
         }
 
-        @Specialization(guards = {"!bufferInterop.hasBufferElements(length)"})
+        @Specialization(guards = {"isJSArrayBufferView(length) || !bufferInterop.hasBufferElements(length)"})
         protected JSDynamicObject constructFromLength(JSDynamicObject newTarget, Object length,
                         @Cached("create()") JSToIndexNode toIndexNode,
                         @Cached @Shared("errorBranch") BranchProfile errorBranch,
@@ -2295,12 +2312,21 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return arrayBuffer;
         }
 
-        @Specialization(guards = {"bufferInterop.hasBufferElements(buffer)"})
+        @Specialization(guards = {"!isJSArrayBufferView(buffer)", "bufferInterop.hasBufferElements(buffer)"})
         protected JSDynamicObject constructFromInteropBuffer(JSDynamicObject newTarget, Object buffer,
                         @Cached @Shared("errorBranch") BranchProfile errorBranch,
                         @CachedLibrary(limit = "InteropLibraryLimit") @Shared("bufferInterop") @SuppressWarnings("unused") InteropLibrary bufferInterop) {
             getBufferSizeSafe(buffer, bufferInterop, errorBranch);
-            return swapPrototype(JSArrayBuffer.createInteropArrayBuffer(getContext(), getRealm(), buffer), newTarget);
+            JSRealm realm = getRealm();
+            JSArrayBufferObject arrayBuffer = null;
+            if (!useShared) {
+                // Share the memory of host ByteBuffers directly to avoid interop on each access.
+                arrayBuffer = JSArrayBuffer.wrapHostByteBuffer(getContext(), realm, buffer);
+            }
+            if (arrayBuffer == null) {
+                arrayBuffer = JSArrayBuffer.createInteropArrayBuffer(getContext(), realm, buffer);
+            }
+            return swapPrototype(arrayBuffer, newTarget);
         }
 
         @Override
@@ -2483,7 +2509,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return constructDataView(newTarget, buffer, byteOffset, byteLength, false, true, errorBranch, byteLengthCondition, offsetToIndexNode, lengthToIndexNode, bufferInterop);
         }
 
-        @Specialization(guards = {"!isJSAbstractBuffer(buffer)", "bufferInterop.hasBufferElements(buffer)"})
+        @Specialization(guards = {"!isJSAbstractBuffer(buffer)", "!isJSArrayBufferView(buffer)", "bufferInterop.hasBufferElements(buffer)"})
         protected final JSDynamicObject ofInteropBuffer(JSDynamicObject newTarget, Object buffer, Object byteOffset, Object byteLength,
                         @Cached @Shared("errorBranch") BranchProfile errorBranch,
                         @Cached("createBinaryProfile()") @Shared("byteLengthCondition") ConditionProfile byteLengthCondition,
@@ -2495,7 +2521,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         }
 
         @SuppressWarnings("unused")
-        @Specialization(guards = {"!isJSAbstractBuffer(buffer)", "!bufferInterop.hasBufferElements(buffer)"})
+        @Specialization(guards = {"!isJSAbstractBuffer(buffer)", "isJSArrayBufferView(buffer) || !bufferInterop.hasBufferElements(buffer)"})
         protected static JSDynamicObject error(JSDynamicObject newTarget, Object buffer, Object byteOffset, Object byteLength,
                         @CachedLibrary(limit = "InteropLibraryLimit") @Shared("bufferInterop") InteropLibrary bufferInterop) {
             throw Errors.createTypeError("Not an ArrayBuffer");
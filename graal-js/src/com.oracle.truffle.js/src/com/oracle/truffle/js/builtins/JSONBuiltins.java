@@ -40,23 +40,30 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
+import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseBytesNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSONData;
 import com.oracle.truffle.js.builtins.helper.JSONStringifyStringNode;
+import com.oracle.truffle.js.builtins.helper.TruffleJSONByteParser;
 import com.oracle.truffle.js.builtins.helper.TruffleJSONParser;
 import com.oracle.truffle.js.nodes.access.CreateDataPropertyNode;
 import com.oracle.truffle.js.nodes.cast.JSToIntegerAsIntNode;
@@ -66,11 +73,15 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.nodes.unary.JSIsArrayNode;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSDataView;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSString;
@@ -87,6 +98,7 @@ import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuiltins.JSON> {
 
     public static final JSBuiltinsContainer BUILTINS = new JSONBuiltins();
+    public static final JSBuiltinsContainer BUILTINS_PARSE_BYTES = new JSONParseBytesBuiltins();
 
     protected JSONBuiltins() {
         super(com.oracle.truffle.js.runtime.builtins.JSON.CLASS_NAME, JSON.class);
@@ -119,6 +131,36 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         return null;
     }
 
+    public static final class JSONParseBytesBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONParseBytesBuiltins.JSONParseBytes> {
+        protected JSONParseBytesBuiltins() {
+            super(JSONParseBytes.class);
+        }
+
+        public enum JSONParseBytes implements BuiltinEnum<JSONParseBytes> {
+            parseBytes(2);
+
+            private final int length;
+
+            JSONParseBytes(int length) {
+                this.length = length;
+            }
+
+            @Override
+            public int getLength() {
+                return length;
+            }
+        }
+
+        @Override
+        protected Object createNode(JSContext context, JSBuiltin builtin, boolean construct, boolean newTarget, JSONParseBytes builtinEnum) {
+            switch (builtinEnum) {
+                case parseBytes:
+                    return JSONParseBytesNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            }
+            return null;
+        }
+    }
+
     public abstract static class JSONOperation extends JSBuiltinNode {
         public JSONOperation(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -137,36 +179,15 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         protected boolean isArray(Object replacer) {
             return JSRuntime.isArray(replacer);
         }
-    }
 
-    public abstract static class JSONParseNode extends JSONOperation {
-
-        public JSONParseNode(JSContext context, JSBuiltin builtin) {
-            super(context, builtin);
-        }
-
-        @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
-        protected Object parse(Object text, Object reviver,
-                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
-            Object unfiltered = parseIntl(toString(text));
+        protected Object internalize(Object unfiltered, Object reviver) {
             JSObject root = JSOrdinary.create(getContext(), getRealm());
             JSObjectUtil.putDataProperty(getContext(), root, Strings.EMPTY_STRING, unfiltered, JSAttributes.getDefault());
             return walk(reviver, root, Strings.EMPTY_STRING);
         }
 
-        @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
-        protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver,
-                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
-            return parseIntl(toString(text));
-        }
-
-        @TruffleBoundary(transferToInterpreterOnException = false)
-        private Object parseIntl(TruffleString jsonString) {
-            return new TruffleJSONParser(getContext()).parse(jsonString, getRealm());
-        }
-
         @TruffleBoundary
-        private Object walk(Object reviverFn, JSObject holder, Object property) {
+        protected Object walk(Object reviverFn, JSObject holder, Object property) {
             Object value = JSObject.get(holder, property);
             if (JSRuntime.isObject(value)) {
                 JSObject object = (JSObject) value;
@@ -196,6 +217,129 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         }
     }
 
+    public abstract static class JSONParseNode extends JSONOperation {
+
+        public JSONParseNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parse(Object text, Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            Object unfiltered = parseIntl(toString(text));
+            return internalize(unfiltered, reviver);
+        }
+
+        @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            return parseIntl(toString(text));
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseIntl(TruffleString jsonString) {
+            return new TruffleJSONParser(getContext()).parse(jsonString, getRealm());
+        }
+    }
+
+    /**
+     * JSON.parseBytes(source, reviver): parses UTF-8 encoded JSON from an ArrayBuffer, an
+     * ArrayBuffer view, or a host ByteBuffer or byte[], without converting it to a string first.
+     */
+    public abstract static class JSONParseBytesNode extends JSONOperation {
+
+        public JSONParseBytesNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object parseBytes(Object source, Object reviver,
+                        @Cached IsCallableNode isCallable,
+                        @Cached("createBinaryProfile()") ConditionProfile reviverProfile) {
+            Object unfiltered = parseBytesIntl(source);
+            if (reviverProfile.profile(isCallable.executeBoolean(reviver))) {
+                return internalize(unfiltered, reviver);
+            }
+            return unfiltered;
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseBytesIntl(Object source) {
+            return new TruffleJSONByteParser(getContext()).parse(getByteBuffer(source), getRealm());
+        }
+
+        private ByteBuffer getByteBuffer(Object source) {
+            if (source instanceof JSArrayBufferObject) {
+                JSArrayBufferObject arrayBuffer = (JSArrayBufferObject) source;
+                return getByteBuffer(arrayBuffer, 0, arrayBuffer.isDetached() ? 0 : arrayBuffer.getByteLength());
+            } else if (JSArrayBufferView.isJSArrayBufferView(source)) {
+                JSDynamicObject view = (JSDynamicObject) source;
+                return getByteBuffer(JSArrayBufferView.getArrayBuffer(view), JSArrayBufferView.getByteOffset(view, getContext()), JSArrayBufferView.getByteLength(view, getContext()));
+            } else if (JSDataView.isJSDataView(source)) {
+                return getByteBuffer(JSDataView.getArrayBuffer(source), JSDataView.typedArrayGetOffset(source), JSDataView.typedArrayGetLength(source));
+            }
+            // Foreign objects are only accessed if the embedder allows buffer or array access.
+            TruffleLanguage.Env env = getRealm().getEnv();
+            InteropLibrary interop = InteropLibrary.getUncached(source);
+            if (interop.hasBufferElements(source)) {
+                if (env.isHostObject(source) && env.asHostObject(source) instanceof ByteBuffer) {
+                    return ((ByteBuffer) env.asHostObject(source)).duplicate();
+                }
+                return ByteBuffer.wrap(readInteropBuffer(source, 0, getInteropBufferSize(source, interop)));
+            } else if (interop.hasArrayElements(source) && env.isHostObject(source) && env.asHostObject(source) instanceof byte[]) {
+                return ByteBuffer.wrap((byte[]) env.asHostObject(source));
+            }
+            throw Errors.createTypeError("ArrayBuffer, ArrayBuffer view or byte buffer expected");
+        }
+
+        private static int getInteropBufferSize(Object interopBuffer, InteropLibrary interop) {
+            try {
+                long bufferSize = interop.getBufferSize(interopBuffer);
+                if (bufferSize > Integer.MAX_VALUE) {
+                    throw Errors.createRangeError("Buffer is too large");
+                }
+                return (int) bufferSize;
+            } catch (UnsupportedMessageException e) {
+                throw Errors.createTypeErrorInteropException(interopBuffer, e, "getBufferSize", null);
+            }
+        }
+
+        private ByteBuffer getByteBuffer(JSArrayBufferObject arrayBuffer, int byteOffset, int byteLength) {
+            if (arrayBuffer.isDetached()) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            ByteBuffer buffer;
+            if (arrayBuffer instanceof JSArrayBufferObject.Heap) {
+                buffer = ByteBuffer.wrap(((JSArrayBufferObject.Heap) arrayBuffer).getByteArray());
+            } else if (arrayBuffer instanceof JSArrayBufferObject.DirectBase) {
+                buffer = ((JSArrayBufferObject.DirectBase) arrayBuffer).getByteBuffer().duplicate();
+            } else {
+                Object interopBuffer = ((JSArrayBufferObject.Interop) arrayBuffer).getInteropBuffer();
+                TruffleLanguage.Env env = getRealm().getEnv();
+                if (env.isHostObject(interopBuffer) && env.asHostObject(interopBuffer) instanceof ByteBuffer) {
+                    buffer = ((ByteBuffer) env.asHostObject(interopBuffer)).duplicate();
+                } else {
+                    return ByteBuffer.wrap(readInteropBuffer(interopBuffer, byteOffset, byteLength));
+                }
+            }
+            buffer.limit(byteOffset + byteLength).position(byteOffset);
+            return buffer;
+        }
+
+        private static byte[] readInteropBuffer(Object interopBuffer, int byteOffset, int byteLength) {
+            InteropLibrary interop = InteropLibrary.getUncached(interopBuffer);
+            byte[] bytes = new byte[byteLength];
+            try {
+                for (int i = 0; i < byteLength; i++) {
+                    bytes[i] = interop.readBufferByte(interopBuffer, byteOffset + i);
+                }
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw Errors.createTypeErrorInteropException(interopBuffer, e, "readBufferByte", null);
+            }
+            return bytes;
+        }
+    }
+
     public abstract static class JSONStringifyNode extends JSONOperation {
 
         public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
@@ -40,6 +40,9 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -402,7 +405,11 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                     if (size < 0 || size >= Integer.MAX_VALUE) {
                         throw Errors.createRangeErrorInvalidArrayLength();
                     }
-                    JSDynamicObject jsArray = JSArray.createEmptyChecked(getContext(), realm, size);
+                    JSDynamicObject jsArray = fromHostNumberArray(getContext(), realm, env.asHostObject(javaArray));
+                    if (jsArray != null) {
+                        return jsArray;
+                    }
+                    jsArray = JSArray.createEmptyChecked(getContext(), realm, size);
                     for (int i = 0; i < size; i++) {
                         Object element = importValueNode.executeWithTarget(interop.readArrayElement(javaArray, i));
                         writeNode.executeWithTargetAndIndexAndValue(jsArray, i, element);
@@ -415,6 +422,90 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             errorBranch.enter();
             throw Errors.createTypeError("Cannot convert to JavaScript array.");
         }
+
+        /**
+         * Copies a Java {@code int[]}, {@code double[]}, {@code long[]} or {@code List<Number>} into
+         * contiguous int or double array storage in one go, avoiding an interop call per element.
+         *
+         * @return the JS array or {@code null} if the elements cannot be represented this way (e.g.
+         *         a long that does not fit into an int, or a non-numeric list element).
+         */
+        @TruffleBoundary
+        private static JSDynamicObject fromHostNumberArray(JSContext context, JSRealm realm, Object hostObject) {
+            if (hostObject instanceof int[]) {
+                int[] intArray = (int[]) hostObject;
+                return JSArray.createZeroBasedIntArray(context, realm, Arrays.copyOf(intArray, intArray.length));
+            } else if (hostObject instanceof double[]) {
+                double[] doubleArray = (double[]) hostObject;
+                return JSArray.createZeroBasedDoubleArray(context, realm, copyDoubles(doubleArray));
+            } else if (hostObject instanceof long[]) {
+                long[] longArray = (long[]) hostObject;
+                int[] intArray = new int[longArray.length];
+                for (int i = 0; i < longArray.length; i++) {
+                    long value = longArray[i];
+                    if (!JSRuntime.longIsRepresentableAsInt(value)) {
+                        return null;
+                    }
+                    intArray[i] = (int) value;
+                }
+                return JSArray.createZeroBasedIntArray(context, realm, intArray);
+            } else if (hostObject instanceof List<?>) {
+                return fromNumberList(context, realm, ((List<?>) hostObject).toArray());
+            }
+            return null;
+        }
+
+        private static JSDynamicObject fromNumberList(JSContext context, JSRealm realm, Object[] elements) {
+            int[] intArray = new int[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                Object element = elements[i];
+                if (element instanceof Integer) {
+                    intArray[i] = (Integer) element;
+                } else if (element instanceof Long && JSRuntime.longIsRepresentableAsInt((Long) element)) {
+                    intArray[i] = ((Long) element).intValue();
+                } else if (element instanceof Double) {
+                    return fromDoubleList(context, realm, elements, intArray, i);
+                } else {
+                    return null;
+                }
+            }
+            return JSArray.createZeroBasedIntArray(context, realm, intArray);
+        }
+
+        private static JSDynamicObject fromDoubleList(JSContext context, JSRealm realm, Object[] elements, int[] intPrefix, int prefixLength) {
+            double[] doubleArray = new double[elements.length];
+            for (int i = 0; i < prefixLength; i++) {
+                doubleArray[i] = intPrefix[i];
+            }
+            for (int i = prefixLength; i < elements.length; i++) {
+                Object element = elements[i];
+                if (element instanceof Double) {
+                    doubleArray[i] = normalizeNaN((Double) element);
+                } else if (element instanceof Integer) {
+                    doubleArray[i] = (Integer) element;
+                } else if (element instanceof Long && JSRuntime.longIsRepresentableAsInt((Long) element)) {
+                    doubleArray[i] = ((Long) element).doubleValue();
+                } else {
+                    return null;
+                }
+            }
+            return JSArray.createZeroBasedDoubleArray(context, realm, doubleArray);
+        }
+
+        private static double[] copyDoubles(double[] source) {
+            double[] doubleArray = new double[source.length];
+            for (int i = 0; i < source.length; i++) {
+                doubleArray[i] = normalizeNaN(source[i]);
+            }
+            return doubleArray;
+        }
+
+        /**
+         * Canonicalizes NaNs so that a foreign NaN payload cannot be mistaken for a hole.
+         */
+        private static double normalizeNaN(double value) {
+            return Double.isNaN(value) ? Double.NaN : value;
+        }
     }
 
     @ImportStatic({JSConfig.class})
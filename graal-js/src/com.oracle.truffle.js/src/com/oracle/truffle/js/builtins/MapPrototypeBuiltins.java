@@ -53,6 +53,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.builtins.MapPrototypeBuiltinsFactory.CreateMapIteratorNodeGen;
 import com.oracle.truffle.js.builtins.MapPrototypeBuiltinsFactory.JSMapClearNodeGen;
 import com.oracle.truffle.js.builtins.MapPrototypeBuiltinsFactory.JSMapDeleteNodeGen;
@@ -156,6 +157,13 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
         protected static boolean isForeignHash(Object value, InteropLibrary interopLibrary) {
             return interopLibrary.hasHashEntries(value) && !(value instanceof JSDynamicObject);
         }
+
+        /**
+         * Whether a double key is normalized to an int key (see {@link JSCollectionsNormalizeNode}).
+         */
+        protected static boolean isIntKey(double key) {
+            return JSRuntime.doubleIsRepresentableAsInt(key, true);
+        }
     }
 
     /**
@@ -262,6 +270,32 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization
+        protected static Object doMapInt(JSMapObject thisObj, int key) {
+            Object value = JSMap.getInternalMap(thisObj).getInt(key);
+            return JSRuntime.nullToUndefined(value);
+        }
+
+        @Specialization(guards = "isIntKey(key)")
+        protected static Object doMapIntegralDouble(JSMapObject thisObj, double key) {
+            Object value = JSMap.getInternalMap(thisObj).getInt((int) key);
+            return JSRuntime.nullToUndefined(value);
+        }
+
+        @Specialization(guards = "!isIntKey(key)")
+        protected static Object doMapDouble(JSMapObject thisObj, double key) {
+            Object value = JSMap.getInternalMap(thisObj).getDouble(key);
+            return JSRuntime.nullToUndefined(value);
+        }
+
+        @Specialization
+        protected static Object doMapString(JSMapObject thisObj, TruffleString key,
+                        @Cached TruffleString.HashCodeNode hashCodeNode,
+                        @Cached TruffleString.EqualNode equalNode) {
+            Object value = JSMap.getInternalMap(thisObj).getString(key, hashCodeNode, equalNode);
+            return JSRuntime.nullToUndefined(value);
+        }
+
         @Specialization
         protected Object doMap(JSMapObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
@@ -299,6 +333,32 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization
+        protected static JSDynamicObject doMapInt(JSMapObject thisObj, int key, Object value) {
+            JSMap.getInternalMap(thisObj).putInt(key, value);
+            return thisObj;
+        }
+
+        @Specialization(guards = "isIntKey(key)")
+        protected static JSDynamicObject doMapIntegralDouble(JSMapObject thisObj, double key, Object value) {
+            JSMap.getInternalMap(thisObj).putInt((int) key, value);
+            return thisObj;
+        }
+
+        @Specialization(guards = "!isIntKey(key)")
+        protected static JSDynamicObject doMapDouble(JSMapObject thisObj, double key, Object value) {
+            JSMap.getInternalMap(thisObj).putDouble(key, value);
+            return thisObj;
+        }
+
+        @Specialization
+        protected static JSDynamicObject doMapString(JSMapObject thisObj, TruffleString key, Object value,
+                        @Cached TruffleString.HashCodeNode hashCodeNode,
+                        @Cached TruffleString.EqualNode equalNode) {
+            JSMap.getInternalMap(thisObj).putString(key, value, hashCodeNode, equalNode);
+            return thisObj;
+        }
+
         @Specialization
         protected JSDynamicObject doMap(JSMapObject thisObj, Object key, Object value) {
             Object normalizedKey = normalize(key);
@@ -338,6 +398,28 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization
+        protected static boolean doMapInt(JSMapObject thisObj, int key) {
+            return JSMap.getInternalMap(thisObj).hasInt(key);
+        }
+
+        @Specialization(guards = "isIntKey(key)")
+        protected static boolean doMapIntegralDouble(JSMapObject thisObj, double key) {
+            return JSMap.getInternalMap(thisObj).hasInt((int) key);
+        }
+
+        @Specialization(guards = "!isIntKey(key)")
+        protected static boolean doMapDouble(JSMapObject thisObj, double key) {
+            return JSMap.getInternalMap(thisObj).hasDouble(key);
+        }
+
+        @Specialization
+        protected static boolean doMapString(JSMapObject thisObj, TruffleString key,
+                        @Cached TruffleString.HashCodeNode hashCodeNode,
+                        @Cached TruffleString.EqualNode equalNode) {
+            return JSMap.getInternalMap(thisObj).hasString(key, hashCodeNode, equalNode);
+        }
+
         @Specialization
         protected boolean doMap(JSMapObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
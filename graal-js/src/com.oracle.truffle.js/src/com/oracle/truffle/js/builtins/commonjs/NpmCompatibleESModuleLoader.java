@@ -126,6 +126,9 @@ public final class NpmCompatibleESModuleLoader extends DefaultESModuleLoader {
         String specifier = moduleRequest.getSpecifier().toJavaStringUncached();
         log("IMPORT resolve ", specifier);
         if (hasCoreModuleReplacement(realm.getContext(), specifier)) {
+            if (isPrefetching()) {
+                return null;
+            }
             return loadCoreModuleReplacement(referencingModule, moduleRequest);
         }
         try {
@@ -133,6 +136,10 @@ public final class NpmCompatibleESModuleLoader extends DefaultESModuleLoader {
             URI parentURL = getFullPath(referencingModule).toUri();
             URI resolution = esmResolve(specifier, parentURL, env);
             if (resolution == TryCommonJS) {
+                if (isPrefetching()) {
+                    // loading a CommonJS module runs it, which cannot be done ahead of time
+                    return null;
+                }
                 // Compatibility mode: try loading as a CommonJS module.
                 return tryLoadingAsCommonjsModule(specifier);
             } else {
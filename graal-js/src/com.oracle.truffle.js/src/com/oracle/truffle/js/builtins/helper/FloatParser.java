@@ -43,6 +43,7 @@ package com.oracle.truffle.js.builtins.helper;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.util.FastDoubleParser;
 
 public final class FloatParser {
 
@@ -71,6 +72,11 @@ public final class FloatParser {
     }
 
     private double parseValidSubstring(FloatParserNode node) {
+        double result = FastDoubleParser.parse(node.charAtNode, input, 0, pos);
+        if (!Double.isNaN(result)) {
+            return result;
+        }
+        node.slowParseBranch.enter();
         // always use lazy substring here, since the substring never escapes
         TruffleString validSubstring = Strings.substring(true, node.substringNode, input, 0, pos);
         try {
@@ -47,6 +47,7 @@ import com.oracle.truffle.api.strings.TruffleString;
 public class FloatParserNode extends Node {
 
     final BranchProfile exponentBranch = BranchProfile.create();
+    final BranchProfile slowParseBranch = BranchProfile.create();
     @Child TruffleString.ReadCharUTF16Node charAtNode = TruffleString.ReadCharUTF16Node.create();
     @Child TruffleString.SubstringByteIndexNode substringNode = TruffleString.SubstringByteIndexNode.create();
     @Child TruffleString.ParseDoubleNode parseDoubleNode = TruffleString.ParseDoubleNode.create();
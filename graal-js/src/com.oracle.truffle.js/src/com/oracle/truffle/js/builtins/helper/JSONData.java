@@ -44,6 +44,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
 
 public class JSONData {
 
@@ -52,6 +53,7 @@ public class JSONData {
     private final TruffleString gap;
     private final List<Object> propertyList;
     private final Object replacerFnObj;
+    private char[] numberBuffer;
 
     private static final int MAX_STACK_SIZE = 1000;
 
@@ -81,6 +83,18 @@ public class JSONData {
         return replacerFnObj;
     }
 
+    /**
+     * Scratch buffer for number serialization, reused for the whole JSON.stringify call.
+     */
+    public char[] getNumberBuffer() {
+        char[] buffer = numberBuffer;
+        if (buffer == null) {
+            buffer = new char[DoubleConversion.kMaxShortestLength];
+            numberBuffer = buffer;
+        }
+        return buffer;
+    }
+
     public void pushStack(Object value) {
         stack.add(value);
     }
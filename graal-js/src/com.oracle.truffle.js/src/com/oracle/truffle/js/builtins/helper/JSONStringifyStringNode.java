@@ -40,9 +40,12 @@
  */
 package com.oracle.truffle.js.builtins.helper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.InteropLibrary;
@@ -50,6 +53,8 @@ import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.js.nodes.JSGuards;
@@ -67,10 +72,14 @@ import com.oracle.truffle.js.runtime.builtins.JSBigInt;
 import com.oracle.truffle.js.runtime.builtins.JSBoolean;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSString;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
@@ -89,6 +98,15 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
 
     private final StringBuilderProfile stringBuilderProfile;
 
+    /**
+     * Serialization plans of recently seen shapes, oldest first. The array is never modified, only
+     * replaced under the node lock.
+     */
+    @CompilationFinal(dimensions = 1) private ShapePlan[] shapePlans = EMPTY_SHAPE_PLANS;
+
+    private static final ShapePlan[] EMPTY_SHAPE_PLANS = new ShapePlan[0];
+    private static final int SHAPE_PLAN_CACHE_SIZE = 8;
+
     protected JSONStringifyStringNode(JSContext context) {
         this.context = context;
         this.stringBuilderProfile = StringBuilderProfile.create(context.getStringLengthLimit());
@@ -133,7 +151,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         } else if (Strings.isTString(value)) {
             jsonQuote(builder, (TruffleString) value);
         } else if (JSRuntime.isNumber(value)) {
-            appendNumber(builder, (Number) value);
+            appendNumber(builder, data, (Number) value);
         } else if (JSRuntime.isBigInt(value)) {
             throw Errors.createTypeError("Do not know how to serialize a BigInt");
         } else if (JSDynamicObject.isJSDynamicObject(value) && !JSRuntime.isCallableIsJSObject((JSDynamicObject) value)) {
@@ -169,7 +187,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
     }
 
-    private void appendNumber(TruffleStringBuilder builder, Number n) {
+    private void appendNumber(TruffleStringBuilder builder, JSONData data, Number n) {
         double d = JSRuntime.doubleValue(n);
         if (Double.isNaN(d) || Double.isInfinite(d)) {
             append(builder, Null.NAME);
@@ -177,8 +195,14 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             append(builder, ((Integer) n).intValue());
         } else if (n instanceof Long) {
             append(builder, ((Long) n).longValue());
+        } else if (JSRuntime.doubleIsRepresentableAsInt(d, true)) {
+            append(builder, (int) d);
         } else {
-            append(builder, JSRuntime.doubleToString(d));
+            char[] buffer = data.getNumberBuffer();
+            int length = DoubleConversion.toShortest(d, buffer);
+            for (int i = 0; i < length; i++) {
+                append(builder, buffer[i]);
+            }
         }
     }
 
@@ -281,7 +305,9 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         concatStart(sb, '{');
         int lengthBefore = StringBuilderProfile.length(sb);
         if (data.getPropertyList() == null) {
-            if (JSDynamicObject.isJSDynamicObject(value)) {
+            if (JSOrdinary.isJSOrdinaryObject(value)) {
+                serializeJSONObjectProperties(sb, data, (JSDynamicObject) value, indent, getShapePlan(((JSDynamicObject) value).getShape()));
+            } else if (JSDynamicObject.isJSDynamicObject(value)) {
                 serializeJSONObjectProperties(sb, data, value, indent, JSObject.enumerableOwnNames((JSDynamicObject) value));
             } else {
                 serializeForeignObjectProperties(sb, data, value, indent);
@@ -316,6 +342,109 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         return sb;
     }
 
+    /**
+     * Serializes the properties of an ordinary object using the serialization plan of its shape.
+     * Property values are read directly from their locations as long as the shape of the object
+     * is unchanged; toJSON or replacer functions may modify the object, in which case the
+     * remaining values are read with a regular property lookup.
+     */
+    private void serializeJSONObjectProperties(TruffleStringBuilder sb, JSONData data, JSDynamicObject obj, int indent, ShapePlan plan) {
+        boolean isFirst = true;
+        Property[] properties = plan.properties;
+        for (int i = 0; i < properties.length; i++) {
+            Property property = properties[i];
+            Object value;
+            if (obj.getShape() == plan.shape && !JSProperty.isAccessor(property) && !JSProperty.isProxy(property)) {
+                value = property.getLocation().get(obj, true);
+            } else {
+                value = JSObject.get(obj, property.getKey());
+            }
+            Object strPPrepared = jsonStrPreparePart2(data, property.getKey(), obj, value);
+            if (isStringifyable(strPPrepared)) {
+                if (isFirst) {
+                    concatFirstStep(sb, data);
+                    isFirst = false;
+                } else {
+                    appendSeparator(sb, data, indent);
+                }
+                append(sb, plan.quotedNames[i]);
+                appendColon(sb, data);
+                jsonStrExecute(sb, data, strPPrepared);
+            }
+        }
+    }
+
+    private ShapePlan getShapePlan(Shape shape) {
+        ShapePlan plan = findShapePlan(shapePlans, shape);
+        if (plan != null) {
+            return plan;
+        }
+        Lock lock = getLock();
+        lock.lock();
+        try {
+            ShapePlan[] plans = shapePlans;
+            plan = findShapePlan(plans, shape);
+            if (plan != null) {
+                return plan;
+            }
+            plan = createShapePlan(shape);
+            // drop the plans of obsolete shapes, and the oldest plan if the cache is full
+            List<ShapePlan> newPlans = new ArrayList<>(SHAPE_PLAN_CACHE_SIZE);
+            for (ShapePlan existing : plans) {
+                if (existing.shape.isValid()) {
+                    newPlans.add(existing);
+                }
+            }
+            if (newPlans.size() == SHAPE_PLAN_CACHE_SIZE) {
+                newPlans.remove(0);
+            }
+            newPlans.add(plan);
+            shapePlans = newPlans.toArray(EMPTY_SHAPE_PLANS);
+            return plan;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static ShapePlan findShapePlan(ShapePlan[] plans, Shape shape) {
+        for (ShapePlan plan : plans) {
+            if (plan.shape == shape) {
+                return plan;
+            }
+        }
+        return null;
+    }
+
+    private ShapePlan createShapePlan(Shape shape) {
+        List<TruffleString> names = JSShape.getEnumerablePropertyNames(shape);
+        Property[] properties = new Property[names.size()];
+        TruffleString[] quotedNames = new TruffleString[names.size()];
+        for (int i = 0; i < properties.length; i++) {
+            TruffleString name = names.get(i);
+            properties[i] = shape.getProperty(name);
+            TruffleStringBuilder sb = Strings.builderCreate(Strings.length(name) + 2);
+            jsonQuote(sb, name);
+            quotedNames[i] = Strings.builderToString(sb);
+        }
+        return new ShapePlan(shape, properties, quotedNames);
+    }
+
+    /**
+     * Serialization plan for ordinary objects of a certain shape: the enumerable own properties in
+     * property key order, and their quoted names.
+     */
+    private static final class ShapePlan {
+        final Shape shape;
+        final Property[] properties;
+        final TruffleString[] quotedNames;
+
+        ShapePlan(Shape shape, Property[] properties, TruffleString[] quotedNames) {
+            this.shape = shape;
+            this.properties = properties;
+            this.quotedNames = quotedNames;
+        }
+    }
+
     private void appendColon(TruffleStringBuilder sb, JSONData data) {
         append(sb, ':');
         if (Strings.length(data.getGap()) > 0) {
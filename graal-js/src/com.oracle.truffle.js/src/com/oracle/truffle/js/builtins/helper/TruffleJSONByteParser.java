@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Strings;
+
+/**
+ * JSON parser operating directly on UTF-8 encoded bytes.
+ *
+ * All structural characters of JSON are ASCII, and bytes of multi-byte UTF-8 sequences are never
+ * mistaken for them, so the input is scanned byte by byte and only string values and numbers are
+ * decoded, one at a time. This avoids transcoding the whole input to a UTF-16 string first.
+ * Positions in error messages are byte offsets.
+ */
+public class TruffleJSONByteParser extends TruffleJSONParser {
+
+    private ByteBuffer parseBuffer;
+
+    public TruffleJSONByteParser(JSContext context) {
+        super(context);
+    }
+
+    /**
+     * Parses the UTF-8 encoded bytes from the buffer's position to its limit. The position of the
+     * buffer is not changed.
+     */
+    public Object parse(ByteBuffer buffer, JSRealm realm) {
+        ByteBuffer input = buffer.slice();
+        if (hasByteOrderMark(input)) {
+            input.position(3);
+            input = input.slice();
+        }
+        this.parseBuffer = input;
+        this.len = input.limit();
+        try {
+            return parseInput(realm);
+        } finally {
+            parseBuffer = null;
+        }
+    }
+
+    public Object parse(byte[] bytes, int offset, int length, JSRealm realm) {
+        return parse(ByteBuffer.wrap(bytes, offset, length), realm);
+    }
+
+    private static boolean hasByteOrderMark(ByteBuffer input) {
+        return input.limit() >= 3 && (input.get(0) & 0xff) == 0xef && (input.get(1) & 0xff) == 0xbb && (input.get(2) & 0xff) == 0xbf;
+    }
+
+    @Override
+    protected char get(int posParam) {
+        return (char) (parseBuffer.get(posParam) & 0xff);
+    }
+
+    @Override
+    protected TruffleString substring(int fromIndex, int length) {
+        if (length == 0) {
+            return Strings.EMPTY_STRING;
+        }
+        if (parseBuffer.hasArray()) {
+            return Strings.fromUTF8ByteArray(parseBuffer.array(), parseBuffer.arrayOffset() + fromIndex, length);
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer source = parseBuffer.duplicate();
+        source.position(fromIndex);
+        source.get(bytes);
+        return Strings.fromUTF8ByteArray(bytes, 0, length);
+    }
+
+    @Override
+    protected boolean regionMatches(int fromIndex, TruffleString string, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = Strings.charAt(string, i);
+            // non-ASCII characters are encoded as multiple bytes
+            if (c >= 0x80 || get(fromIndex + i) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected TruffleString lazySubstring(int fromIndex, int length) {
+        return substring(fromIndex, length);
+    }
+
+    @Override
+    protected long parseSafeInteger(int fromIndex, int toIndex, int radix) {
+        return JSRuntime.parseSafeInteger(lazySubstring(fromIndex, toIndex - fromIndex), 0, toIndex - fromIndex, radix);
+    }
+
+    @Override
+    protected int firstEscapeIndex(TruffleString string, int inputOffset) {
+        // the offset is in bytes, and may differ from the index if there are non-ASCII characters
+        return Strings.indexOf(string, '\\');
+    }
+
+    @Override
+    protected TruffleString getInputString() {
+        return substring(0, len);
+    }
+}
@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.builtins.helper;
 
+import java.util.Arrays;
+
 import com.oracle.js.parser.ParserException;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.strings.TruffleString;
@@ -55,7 +57,10 @@ import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 
 public class TruffleJSONParser {
@@ -65,23 +70,38 @@ public class TruffleJSONParser {
     protected int len;
     protected TruffleString parseStr;
     protected int parseDepth;
+    private KeyTemplate[] keyTemplates;
 
     protected static final char[] NullLiteral = new char[]{'n', 'u', 'l', 'l'};
     protected static final char[] BooleanTrueLiteral = new char[]{'t', 'r', 'u', 'e'};
     protected static final char[] BooleanFalseLiteral = new char[]{'f', 'a', 'l', 's', 'e'};
     protected static final int MAX_PARSE_DEPTH = 100000;
+    private static final int MAX_KEY_TEMPLATE_DEPTH = 32;
 
     private static final String MALFORMED_NUMBER = "malformed number";
+    private static final int MAX_FAST_SIGNIFICANT_DIGITS = 19;
+    private static final int MAX_FAST_EXPONENT = 100000;
 
     public TruffleJSONParser(JSContext context) {
         this.context = context;
     }
 
     public Object parse(TruffleString value, JSRealm realm) {
-        this.pos = 0;
-        this.parseDepth = 0;
         this.parseStr = value;
         this.len = Strings.length(parseStr);
+        try {
+            return parseInput(realm);
+        } finally {
+            parseStr = null;
+        }
+    }
+
+    /**
+     * Parses the whole input of length {@link #len}, as accessed by {@link #get(int)}.
+     */
+    protected final Object parseInput(JSRealm realm) {
+        this.pos = 0;
+        this.parseDepth = 0;
         try {
             skipWhitespace();
             Object result = parseJSONValue(realm);
@@ -98,8 +118,6 @@ public class TruffleJSONParser {
             throwSyntaxError(unexpectedEndOfInputMessage());
         } catch (Exception ex) {
             throwSyntaxError(null);
-        } finally {
-            parseStr = null;
         }
         return null;
     }
@@ -162,22 +180,69 @@ public class TruffleJSONParser {
     }
 
     private void parseJSONMemberList(JSObject object, JSRealm realm) {
-        Member member = parseJSONMember(realm);
-        JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+        KeyTemplate template = getKeyTemplate();
+        int index = 0;
+        parseJSONMember(object, realm, template, index++);
         while (get() == ',') {
             skipChar(',');
             skipWhitespace();
-            member = parseJSONMember(realm);
-            JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+            parseJSONMember(object, realm, template, index++);
+        }
+        if (template != null) {
+            template.length = index;
         }
     }
 
-    private Member parseJSONMember(JSRealm realm) {
-        TruffleString jsonString = parseJSONString();
+    private void parseJSONMember(JSObject object, JSRealm realm, KeyTemplate template, int index) {
+        TruffleString key;
+        if (template != null) {
+            TruffleString templateKey = template.get(index);
+            key = parseJSONMemberKey(templateKey);
+            if (key != templateKey) {
+                template.set(index, key);
+            }
+        } else {
+            key = parseJSONString();
+        }
         expectChar(':');
         skipWhitespace();
-        Object jsonValue = parseJSONValue(realm);
-        return new Member(jsonString, jsonValue);
+        Object value = parseJSONValue(realm);
+        // The object is a fresh ordinary object, so CreateDataProperty cannot fail and reduces to
+        // adding the property or, for a duplicate key, replacing its value.
+        JSObjectUtil.defineDataProperty(context, object, key, value, JSAttributes.getDefault());
+    }
+
+    /**
+     * Parses a property key, reusing the given key of the previous object at the same depth if the
+     * input matches it literally. Objects with the same key sequence, e.g. the elements of an array
+     * of records, thus share their key strings, and no new key strings need to be created.
+     */
+    private TruffleString parseJSONMemberKey(TruffleString templateKey) {
+        if (templateKey != null) {
+            int keyLength = Strings.length(templateKey);
+            int closingQuotePos = pos + 1 + keyLength;
+            if (closingQuotePos < len && isStringQuote(get()) && isStringQuote(get(closingQuotePos)) && regionMatches(pos + 1, templateKey, keyLength)) {
+                pos = closingQuotePos + 1;
+                skipWhitespace();
+                return templateKey;
+            }
+        }
+        return parseJSONString();
+    }
+
+    private KeyTemplate getKeyTemplate() {
+        if (parseDepth >= MAX_KEY_TEMPLATE_DEPTH) {
+            return null;
+        }
+        if (keyTemplates == null) {
+            keyTemplates = new KeyTemplate[MAX_KEY_TEMPLATE_DEPTH];
+        }
+        KeyTemplate template = keyTemplates[parseDepth];
+        if (template == null) {
+            template = new KeyTemplate();
+            keyTemplates[parseDepth] = template;
+        }
+        return template;
     }
 
     private Object parseJSONArray(JSRealm realm) {
@@ -275,10 +340,9 @@ public class TruffleJSONParser {
             skipChar();
             c = get();
         }
-        int sLength = pos - startPos;
-        TruffleString s = Strings.substring(context, parseStr, startPos, sLength);
+        TruffleString s = substring(startPos, pos - startPos);
         if (hasEscapes) {
-            return unquoteJSON(s, sLength, firstEscape - startPos);
+            return unquoteJSON(s, Strings.length(s), firstEscapeIndex(s, firstEscape - startPos));
         } else {
             return s;
         }
@@ -367,6 +431,9 @@ public class TruffleJSONParser {
         final int startPos = pos;
         int fractionPos = -1;
         boolean firstPosIsZero = false;
+        // significand and number of significant digits, for the fast decimal conversion
+        long significand = 0;
+        int significantDigits = 0;
         char c = get();
         while (JSRuntime.isAsciiDigit(c) || c == '.') {
             if (c == '.') {
@@ -374,8 +441,14 @@ public class TruffleJSONParser {
                     error(MALFORMED_NUMBER);
                 }
                 fractionPos = pos;
-            } else if (pos == startPos && c == '0') {
-                firstPosIsZero = true;
+            } else {
+                if (pos == startPos && c == '0') {
+                    firstPosIsZero = true;
+                }
+                if (significand != 0 || c != '0') {
+                    significand = significand * 10 + (c - '0');
+                    significantDigits++;
+                }
             }
             skipChar();
             if (!posValid()) {
@@ -398,6 +471,7 @@ public class TruffleJSONParser {
             error(MALFORMED_NUMBER);
         }
 
+        final int digitsEndPos = pos;
         boolean hasExponent = false;
         if (posValid() && isExponentPart()) {
             hasExponent = true;
@@ -415,7 +489,7 @@ public class TruffleJSONParser {
         } else if (fractionPos == -1 && !hasExponent && (endPos - startPos <= JSRuntime.MAX_SAFE_INTEGER_DIGITS)) {
             // safe integer but not zero
             final int radix = 10;
-            long safeInt = JSRuntime.parseSafeInteger(parseStr, startPos, endPos, radix);
+            long safeInt = parseSafeInteger(startPos, endPos, radix);
             assert safeInt != 0;
             if (safeInt != JSRuntime.INVALID_SAFE_INTEGER) {
                 safeInt *= sign;
@@ -426,10 +500,38 @@ public class TruffleJSONParser {
                 }
             }
         }
-        TruffleString valueStr = Strings.lazySubstring(parseStr, startPos, endPos - startPos);
+        if (significantDigits <= MAX_FAST_SIGNIFICANT_DIGITS) {
+            int exponent = fractionPos == -1 ? 0 : fractionPos + 1 - digitsEndPos;
+            if (hasExponent) {
+                exponent += parseExponent(digitsEndPos + 1, endPos);
+            }
+            double value = DoubleConversion.decimalToDouble(significand, exponent, sign < 0);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        TruffleString valueStr = lazySubstring(startPos, endPos - startPos);
         return parseAsDouble(sign, valueStr);
     }
 
+    /**
+     * Parses the already validated exponent digits with optional sign. Exponents beyond the range
+     * of doubles are clamped, and the result is then either zero or infinity.
+     */
+    private int parseExponent(int fromIndex, int toIndex) {
+        int i = fromIndex;
+        char c = get(i);
+        boolean negative = c == '-';
+        if (c == '-' || c == '+') {
+            i++;
+        }
+        int exponent = 0;
+        for (; i < toIndex; i++) {
+            exponent = Math.min(exponent * 10 + (get(i) - '0'), MAX_FAST_EXPONENT);
+        }
+        return negative ? -exponent : exponent;
+    }
+
     protected Number parseAsDouble(int sign, TruffleString valueStr) {
         try {
             return Strings.parseDouble(valueStr) * sign;
@@ -501,7 +603,7 @@ public class TruffleJSONParser {
     protected Object error(String message) {
         if (context.isOptionNashornCompatibilityMode()) {
             // use the Nashorn parser to get the proper error
-            NashornJSONParser parser = new NashornJSONParser(parseStr, context);
+            NashornJSONParser parser = new NashornJSONParser(getInputString(), context);
             try {
                 parser.parse(); // should throw
             } catch (ParserException ex) {
@@ -540,11 +642,54 @@ public class TruffleJSONParser {
         return Strings.charAt(parseStr, posParam);
     }
 
+    /**
+     * Returns the input from {@code fromIndex} as a string value.
+     */
+    protected TruffleString substring(int fromIndex, int length) {
+        return Strings.substring(context, parseStr, fromIndex, length);
+    }
+
+    /**
+     * Checks if the input from {@code fromIndex} equals the first {@code length} characters of
+     * {@code string}.
+     */
+    protected boolean regionMatches(int fromIndex, TruffleString string, int length) {
+        return Strings.regionEquals(parseStr, fromIndex, string, 0, length);
+    }
+
+    /**
+     * Returns the input from {@code fromIndex} as a short-lived string, e.g. to be parsed as a
+     * number.
+     */
+    protected TruffleString lazySubstring(int fromIndex, int length) {
+        return Strings.lazySubstring(parseStr, fromIndex, length);
+    }
+
+    protected long parseSafeInteger(int fromIndex, int toIndex, int radix) {
+        return JSRuntime.parseSafeInteger(parseStr, fromIndex, toIndex, radix);
+    }
+
+    /**
+     * Returns the index of the first backslash in a string value read from the input, given its
+     * input offset relative to the start of the string.
+     */
+    @SuppressWarnings("unused")
+    protected int firstEscapeIndex(TruffleString string, int inputOffset) {
+        return inputOffset;
+    }
+
+    /**
+     * Returns the whole input as a string.
+     */
+    protected TruffleString getInputString() {
+        return parseStr;
+    }
+
     // needs to be checked by the caller already that the content matches!
     protected void skipString(TruffleString expected) {
         int length = Strings.length(expected);
         assert len >= pos + length;
-        assert Strings.equals(Strings.lazySubstring(parseStr, pos, length), expected);
+        assert Strings.equals(lazySubstring(pos, length), expected);
         pos += length;
         skipWhitespace();
     }
@@ -593,21 +738,38 @@ public class TruffleJSONParser {
         return true;
     }
 
-    protected final class Member {
-        private final TruffleString key;
-        private final Object value;
+    /**
+     * Property keys of the last object parsed at a certain depth.
+     */
+    private static final class KeyTemplate {
+        private TruffleString[] keys = new TruffleString[8];
+        private int length;
 
-        public Member(TruffleString key, Object value) {
-            this.key = key;
-            this.value = value;
+        TruffleString get(int index) {
+            return index < length ? keys[index] : null;
         }
 
-        public TruffleString getKey() {
-            return key;
-        }
-
-        public Object getValue() {
-            return value;
+        void set(int index, TruffleString key) {
+            if (index >= keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[index] = canMatchLiterally(key) ? key : null;
+            length = Math.max(length, index + 1);
+        }
+
+        /**
+         * Only keys without quotes, backslashes and control characters can be matched literally;
+         * in the input, these characters are escaped or not allowed in a string.
+         */
+        private static boolean canMatchLiterally(TruffleString key) {
+            int keyLength = Strings.length(key);
+            for (int i = 0; i < keyLength; i++) {
+                char c = Strings.charAt(key, i);
+                if (c < 0x20 || c == '"' || c == '\\') {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 }
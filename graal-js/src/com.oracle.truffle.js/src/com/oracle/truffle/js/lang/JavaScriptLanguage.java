@@ -190,6 +190,7 @@ public final class JavaScriptLanguage extends TruffleLanguage<JSRealm> {
     protected void finalizeContext(JSRealm realm) {
         // Terminate spawned agent threads
         realm.getAgent().terminate();
+        realm.shutdownModuleParseExecutor();
     }
 
     @TruffleBoundary
@@ -334,6 +335,9 @@ public final class JavaScriptLanguage extends TruffleLanguage<JSRealm> {
             context = initLanguageContext(env);
         }
         JSRealm realm = context.createRealm(env);
+        if (context.getKeyAccessHistograms() != null) {
+            context.getKeyAccessHistograms().contextCreated();
+        }
 
         // make sure initial environment is cleared otherwise
         // it might leak data
@@ -434,6 +438,9 @@ public final class JavaScriptLanguage extends TruffleLanguage<JSRealm> {
         if (options.isProfileTime() && options.isProfileTimePrintCumulative()) {
             context.getTimeProfiler().printCumulative();
         }
+        if (context.getKeyAccessHistograms() != null) {
+            context.getKeyAccessHistograms().contextDisposed(realm.getOutputWriter());
+        }
         realm.dispose();
     }
 
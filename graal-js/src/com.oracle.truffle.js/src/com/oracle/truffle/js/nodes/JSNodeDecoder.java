@@ -136,6 +136,20 @@ public class JSNodeDecoder {
 
     private static final Object[] SINGLETONS = new Object[]{null, Undefined.instance, Null.instance, Dead.instance()};
 
+    private final boolean eager;
+
+    public JSNodeDecoder() {
+        this(false);
+    }
+
+    /**
+     * @param eager decode the bodies of extracted functions immediately rather than on first use,
+     *            so that a truncated or corrupt snapshot fails while it is being decoded
+     */
+    public JSNodeDecoder(boolean eager) {
+        this.eager = eager;
+    }
+
     public static int getSingletonIndex(Object singleton) {
         return Arrays.asList(SINGLETONS).indexOf(singleton);
     }
@@ -314,17 +328,14 @@ public class JSNodeDecoder {
                     }
                     JSFunctionData functionData = (JSFunctionData) state.getObject();
                     final Object[] arguments = getObjectArray(state);
-                    final ByteBuffer buffer = state.getBuffer().duplicate().position(position);
-                    functionData.setLazyInit(new JSFunctionData.Initializer() {
-                        @Override
-                        public void initializeRoot(JSFunctionData fd) {
-                            if (VERBOSE) {
-                                System.out.println("Decoding: " + fd.getName());
-                            }
-                            NodeDecoder.DecoderState extracted = new NodeDecoder.DecoderState(new BinaryDecoder(buffer), arguments);
-                            decodeNode(extracted, nodeFactory, context, source);
-                        }
-                    });
+                    ByteBuffer buffer = state.getBuffer();
+                    if (position < 0 || position >= buffer.limit()) {
+                        throw new IllegalStateException("invalid extracted function position " + position);
+                    }
+                    functionData.setLazyInit(new LazyFunctionDecoder(this, buffer, position, arguments, nodeFactory, context, source));
+                    if (eager) {
+                        functionData.materialize();
+                    }
                     break;
                 }
                 case ID_NODE_SOURCE_SECTION_FIXUP: {
@@ -365,6 +376,40 @@ public class JSNodeDecoder {
         throw new IllegalStateException("reached end of buffer without return");
     }
 
+    /**
+     * Decodes the body of an extracted function on first use. The function's nodes are stored
+     * separately in the snapshot and are only referenced by their offset, so functions that are
+     * never called are never decoded. All functions of a snapshot share the same buffer.
+     */
+    private static final class LazyFunctionDecoder implements JSFunctionData.Initializer {
+        private final JSNodeDecoder decoder;
+        private final ByteBuffer buffer;
+        private final int position;
+        private final Object[] arguments;
+        private final NodeFactory nodeFactory;
+        private final JSContext context;
+        private final Source source;
+
+        LazyFunctionDecoder(JSNodeDecoder decoder, ByteBuffer buffer, int position, Object[] arguments, NodeFactory nodeFactory, JSContext context, Source source) {
+            this.decoder = decoder;
+            this.buffer = buffer;
+            this.position = position;
+            this.arguments = arguments;
+            this.nodeFactory = nodeFactory;
+            this.context = context;
+            this.source = source;
+        }
+
+        @Override
+        public void initializeRoot(JSFunctionData functionData) {
+            if (VERBOSE) {
+                System.out.println("Decoding: " + functionData.getName());
+            }
+            NodeDecoder.DecoderState extracted = new NodeDecoder.DecoderState(new BinaryDecoder(buffer.duplicate().position(position)), arguments);
+            decoder.decodeNode(extracted, nodeFactory, context, source);
+        }
+    }
+
     private static void storeResult(NodeDecoder.DecoderState state, Object value) {
         state.setObjReg(state.getReg(), value);
     }
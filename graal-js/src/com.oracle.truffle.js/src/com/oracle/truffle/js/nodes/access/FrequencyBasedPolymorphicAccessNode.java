@@ -42,8 +42,12 @@ package com.oracle.truffle.js.nodes.access;
 
 import static com.oracle.truffle.api.nodes.ExplodeLoop.LoopExplosionKind.FULL_UNROLL_UNTIL_RETURN;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 
 import com.oracle.truffle.api.CompilerAsserts;
@@ -55,8 +59,9 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.util.KeyAccessHistograms;
 
-abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?>> extends JavaScriptBaseNode {
+abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?>> extends JavaScriptBaseNode implements KeyAccessHistograms.Sampler {
 
     // Do not cache keys used less than this perc. of total accesses (interpreter only).
     private static final int MIN_CACHING_PERC = 10;
@@ -80,13 +85,20 @@ abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?
 
     protected final JSContext context;
 
-    private int totalHits;
+    // Sampled by all threads without locking; the lock is only taken to update the caches.
+    private final LongAdder totalHits = new LongAdder();
+    private volatile Map<Object, LongAdder> hitsDistributionMap = new ConcurrentHashMap<>();
     private final int[] topHits;
-    private Map<Object, HitsCount> hitsDistributionMap = new HashMap<>();
+    // Accesses until the next sample. Updated racily, a lost update only shifts the next sample.
+    private int sampleCountdown = SAMPLE_EVERY;
 
     private FrequencyBasedPolymorphicAccessNode(JSContext context, int size) {
         this.context = context;
         this.topHits = new int[size];
+        KeyAccessHistograms histograms = context.getKeyAccessHistograms();
+        if (histograms != null) {
+            histograms.register(this);
+        }
     }
 
     protected abstract T[] getHighFrequencyNodes();
@@ -94,85 +106,115 @@ abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?
     protected abstract void setHighFrequencyNode(int position, Object key);
 
     protected void interpreterSample(Object key) {
-        final Lock lock = getLock();
-        lock.lock();
-        try {
-            CompilerAsserts.neverPartOfCompilation();
-            assert JSRuntime.isPropertyKey(key);
-            if (hitsDistributionMap == null) {
-                return;
-            } else if (hitsDistributionMap.size() >= MAX_DISTRIBUTION_MAP_SIZE) {
+        CompilerAsserts.neverPartOfCompilation();
+        assert JSRuntime.isPropertyKey(key);
+        Map<Object, LongAdder> distribution = hitsDistributionMap;
+        if (distribution == null) {
+            return;
+        }
+        LongAdder hitsCounter = distribution.get(key);
+        if (hitsCounter == null) {
+            if (distribution.size() >= MAX_DISTRIBUTION_MAP_SIZE) {
                 // Bailout
                 hitsDistributionMap = null;
                 return;
             }
-            totalHits++;
-
-            HitsCount hitsCounter = hitsDistributionMap.get(key);
+            LongAdder newCounter = new LongAdder();
+            hitsCounter = distribution.putIfAbsent(key, newCounter);
             if (hitsCounter == null) {
-                hitsCounter = new HitsCount();
-                hitsDistributionMap.put(key, hitsCounter);
+                hitsCounter = newCounter;
             }
-            int hits = hitsCounter.incrementAndGet();
-            if (hits % SAMPLE_EVERY != 0 || totalHits < MIN_KEYS_ACCESSES) {
-                // Do not sample on every property access, and ignore keys and locations not used
-                // too often.
-                return;
-            }
-            for (int i = 0; i < topHits.length; i++) {
-                T[] highFrequencyNodes = getHighFrequencyNodes();
-                if (hits > topHits[i]) {
-                    if (highFrequencyNodes[i] == null) {
-                        // new IC entry
-                        setHighFrequencyNode(i, key);
-                        topHits[i] = hits;
-                        break;
-                    } else if (highFrequencyNodes[i].getKey().equals(key)) {
-                        // update IC entry at same position
-                        topHits[i] = hits;
-                        break;
-                    } else {
-                        // shift IC entries, and insert
-                        for (int j = topHits.length - 1; j > i; j--) {
-                            highFrequencyNodes[j] = highFrequencyNodes[j - 1];
-                            topHits[j] = topHits[j - 1];
-                        }
-                        setHighFrequencyNode(i, key);
-                        topHits[i] = hits;
-                        break;
+        }
+        hitsCounter.increment();
+        totalHits.increment();
+        int countdown = sampleCountdown - 1;
+        if (countdown > 0) {
+            // Do not sample on every property access. The counters are only summed up when
+            // sampling, since sum() has to visit all of their cells.
+            sampleCountdown = countdown;
+            return;
+        }
+        sampleCountdown = SAMPLE_EVERY;
+        final Lock lock = getLock();
+        if (!lock.tryLock()) {
+            // Another thread is updating the caches, skip this sample.
+            return;
+        }
+        try {
+            updateHighFrequencyNodes(key, (int) Math.min(hitsCounter.sum(), Integer.MAX_VALUE), totalHits.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateHighFrequencyNodes(Object key, int hits, long total) {
+        if (total < MIN_KEYS_ACCESSES) {
+            // Ignore keys and locations not used too often.
+            return;
+        }
+        for (int i = 0; i < topHits.length; i++) {
+            T[] highFrequencyNodes = getHighFrequencyNodes();
+            if (hits > topHits[i]) {
+                if (highFrequencyNodes[i] == null) {
+                    // new IC entry
+                    setHighFrequencyNode(i, key);
+                    topHits[i] = hits;
+                    break;
+                } else if (highFrequencyNodes[i].getKey().equals(key)) {
+                    // update IC entry at same position
+                    topHits[i] = hits;
+                    break;
+                } else {
+                    // shift IC entries, and insert
+                    for (int j = topHits.length - 1; j > i; j--) {
+                        highFrequencyNodes[j] = highFrequencyNodes[j - 1];
+                        topHits[j] = topHits[j - 1];
                     }
-                }
-            }
-            // Remove IC entries that are executed less frequently if below % threshold.
-            for (int i = 0; i < topHits.length; i++) {
-                if (topHits[i] == 0) {
+                    setHighFrequencyNode(i, key);
+                    topHits[i] = hits;
                     break;
                 }
-                int perc = percentage(topHits[i]);
-                if (perc < MIN_CACHING_PERC) {
-                    topHits[i] = 0;
-                    getHighFrequencyNodes()[i] = null;
-                }
             }
-        } finally {
-            lock.unlock();
+        }
+        // Remove IC entries that are executed less frequently if below % threshold.
+        for (int i = 0; i < topHits.length; i++) {
+            if (topHits[i] == 0) {
+                break;
+            }
+            int perc = percentage(topHits[i], total);
+            if (perc < MIN_CACHING_PERC) {
+                topHits[i] = 0;
+                getHighFrequencyNodes()[i] = null;
+            }
         }
     }
 
-    private int percentage(int hits) {
-        return (int) (((float) hits / (float) totalHits) * 100);
+    @Override
+    public Map<Object, Long> getKeyHistogram() {
+        Map<Object, LongAdder> distribution = hitsDistributionMap;
+        if (distribution == null) {
+            return null;
+        }
+        Map<Object, Long> histogram = new HashMap<>();
+        for (Map.Entry<Object, LongAdder> entry : distribution.entrySet()) {
+            histogram.put(entry.getKey(), entry.getValue().sum());
+        }
+        return histogram;
     }
 
-    private static class HitsCount {
-        private int hits;
-
-        HitsCount() {
-            this.hits = 0;
+    @Override
+    public List<Object> getCachedKeys() {
+        List<Object> keys = new ArrayList<>();
+        for (T node : getHighFrequencyNodes()) {
+            if (node != null) {
+                keys.add(node.getKey());
+            }
         }
+        return keys;
+    }
 
-        public int incrementAndGet() {
-            return ++(this.hits);
-        }
+    private static int percentage(int hits, long total) {
+        return (int) (((float) hits / (float) total) * 100);
     }
 
     public static final class FrequencyBasedPropertySetNode extends FrequencyBasedPolymorphicAccessNode<PropertySetNode> {
@@ -288,6 +288,10 @@ public class HasPropertyCacheNode extends PropertyCacheNode<HasPropertyCacheNode
                 if (root.isOwnProperty()) {
                     return JSObject.hasOwnProperty((JSDynamicObject) thisObj, key, jsclassProfile);
                 } else {
+                    MegamorphicPropertyCache megamorphicCache = root.getContext().getMegamorphicPropertyCache();
+                    if (megamorphicCache != null) {
+                        return megamorphicCache.has((JSDynamicObject) thisObj, key);
+                    }
                     return JSObject.hasProperty((JSDynamicObject) thisObj, key, jsclassProfile);
                 }
             } else {
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.access;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSObjectPrototype;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
+/**
+ * Context-wide cache of property lookups, shared by all megamorphic (generic) property get, set and
+ * has nodes. Entries are hashed on the receiver shape and the property key and remember where the
+ * property was found in the prototype chain (or that it is absent), so that repeated accesses with
+ * the same shape do not have to walk the prototype chain again.
+ *
+ * An entry is guarded by the same assumptions as {@link PropertyCacheNode.PrototypeChainShapeCheckNode}
+ * (shape validity, unchanged property and stable prototype assumptions of the prototypes). Only
+ * ordinary objects, functions and {@code Object.prototype} are cached, i.e., objects whose
+ * non-index properties are all described by the shape. The table is accessed without
+ * synchronization; entries are immutable, so a racing thread either sees a complete entry or
+ * misses.
+ */
+public final class MegamorphicPropertyCache {
+
+    private static final int MAX_DEPTH = 8;
+
+    private static final DebugCounter hitCount = DebugCounter.create("Megamorphic property cache hits");
+    private static final DebugCounter missCount = DebugCounter.create("Megamorphic property cache misses");
+
+    private final JSContext context;
+    private final Entry[] entries;
+
+    public MegamorphicPropertyCache(JSContext context, int size) {
+        assert size > 0;
+        this.context = context;
+        this.entries = new Entry[size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1];
+    }
+
+    /**
+     * [[Get]] on an object that is not {@code null} or {@code undefined}. Returns {@code null} if
+     * the property is not found.
+     */
+    @TruffleBoundary
+    public Object get(JSDynamicObject object, Object receiver, Object key, boolean isMethod, Node encapsulatingNode) {
+        Entry entry = lookup(object, key);
+        if (entry == null) {
+            return isMethod ? JSObject.getJSClass(object).getMethodHelper(object, receiver, key, encapsulatingNode)
+                            : JSObject.getJSClass(object).getHelper(object, receiver, key, encapsulatingNode);
+        } else if (entry.property == null) {
+            return null;
+        } else {
+            return JSProperty.getValue(entry.property, entry.getStore(object), receiver, encapsulatingNode);
+        }
+    }
+
+    /**
+     * [[Set]] with the object as receiver. Returns {@code false} if the assignment needs to be
+     * performed by the caller, i.e., if it would add a property to the object.
+     */
+    @TruffleBoundary
+    public boolean trySet(JSDynamicObject object, Object key, Object value, boolean isStrict, Node encapsulatingNode) {
+        Entry entry = lookup(object, key);
+        if (entry == null || entry.property == null || (entry.holder != null && !JSProperty.isAccessor(entry.property))) {
+            return false;
+        }
+        JSProperty.setValue(entry.property, entry.getStore(object), object, value, isStrict, encapsulatingNode);
+        return true;
+    }
+
+    /**
+     * [[HasProperty]].
+     */
+    @TruffleBoundary
+    public boolean has(JSDynamicObject object, Object key) {
+        Entry entry = lookup(object, key);
+        if (entry == null) {
+            return JSObject.hasProperty(object, key);
+        }
+        return entry.property != null;
+    }
+
+    private Entry lookup(JSDynamicObject object, Object key) {
+        Shape shape = object.getShape();
+        int index = hash(shape, key) & (entries.length - 1);
+        Entry entry = entries[index];
+        if (entry != null && entry.shape == shape && (entry.key == key || entry.key.equals(key)) && entry.isValid()) {
+            hitCount.inc();
+            return entry;
+        }
+        missCount.inc();
+        entry = createEntry(object, shape, key);
+        if (entry != null && entry.isValid()) {
+            entries[index] = entry;
+        }
+        return entry;
+    }
+
+    private static int hash(Shape shape, Object key) {
+        int h = System.identityHashCode(shape) * 31 + key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private Entry createEntry(JSDynamicObject object, Shape shape, Object key) {
+        if (!isCacheable(shape) || !JSRuntime.isPropertyKey(key) || JSRuntime.isArrayIndex(JSRuntime.propertyKeyToArrayIndex(key))) {
+            return null;
+        }
+        List<Assumption> assumptions = new ArrayList<>();
+        assumptions.add(shape.getValidAssumption());
+        JSDynamicObject current = object;
+        Shape currentShape = shape;
+        for (int depth = 0;; depth++) {
+            Property property = currentShape.getProperty(key);
+            if (property != null) {
+                return new Entry(shape, key, depth == 0 ? null : current, property, assumptions);
+            }
+            if (!JSShape.isPrototypeInShape(currentShape)) {
+                return null;
+            }
+            JSDynamicObject prototype = JSObject.getPrototype(current);
+            if (prototype == Null.instance) {
+                return new Entry(shape, key, null, null, assumptions);
+            }
+            if (depth == MAX_DEPTH || !JSConfig.SkipPrototypeShapeCheck || !context.isSingleRealm()) {
+                return null;
+            }
+            if (depth == 0) {
+                assumptions.add(context.getSingleRealmAssumption());
+            } else {
+                assumptions.add(JSShape.getPrototypeAssumption(currentShape));
+            }
+            current = prototype;
+            currentShape = prototype.getShape();
+            if (!isCacheable(currentShape)) {
+                return null;
+            }
+            assumptions.add(currentShape.getValidAssumption());
+            assumptions.add(JSShape.getPropertyAssumption(currentShape, key, true));
+        }
+    }
+
+    private static boolean isCacheable(Shape shape) {
+        Object jsclass = JSShape.getJSClassNoCast(shape);
+        return jsclass instanceof JSOrdinary || jsclass == JSFunction.INSTANCE || jsclass == JSObjectPrototype.INSTANCE;
+    }
+
+    private static final class Entry {
+        final Shape shape;
+        final Object key;
+        /** The prototype that holds the property, or {@code null} if it is an own property. */
+        final JSDynamicObject holder;
+        /** The property, or {@code null} if it is absent from the whole prototype chain. */
+        final Property property;
+        final Assumption[] assumptions;
+
+        Entry(Shape shape, Object key, JSDynamicObject holder, Property property, List<Assumption> assumptions) {
+            this.shape = shape;
+            this.key = key;
+            this.holder = holder;
+            this.property = property;
+            this.assumptions = assumptions.toArray(new Assumption[assumptions.size()]);
+        }
+
+        boolean isValid() {
+            for (Assumption assumption : assumptions) {
+                if (!assumption.isValid()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        JSDynamicObject getStore(JSDynamicObject receiver) {
+            return holder == null ? receiver : holder;
+        }
+    }
+}
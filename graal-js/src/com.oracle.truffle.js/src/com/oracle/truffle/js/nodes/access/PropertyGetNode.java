@@ -1490,7 +1490,13 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             }
 
             // 1. try to get a JS property
-            Object value = isMethod ? jsclass.getMethodHelper(object, receiver, key, this) : jsclass.getHelper(object, receiver, key, this);
+            Object value;
+            MegamorphicPropertyCache megamorphicCache = context.getMegamorphicPropertyCache();
+            if (megamorphicCache != null) {
+                value = megamorphicCache.get(object, receiver, key, isMethod, this);
+            } else {
+                value = isMethod ? jsclass.getMethodHelper(object, receiver, key, this) : jsclass.getHelper(object, receiver, key, this);
+            }
             if (value != null) {
                 return value;
             }
@@ -817,6 +817,10 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
                     JSObject.defineOwnProperty(thisJSObj, key, PropertyDescriptor.createData(value, root.getAttributeFlags()), root.isStrict());
                 }
             } else {
+                MegamorphicPropertyCache megamorphicCache = root.getContext().getMegamorphicPropertyCache();
+                if (megamorphicCache != null && receiver == thisJSObj && megamorphicCache.trySet(thisJSObj, key, value, root.isStrict(), root)) {
+                    return;
+                }
                 JSObject.setWithReceiver(thisJSObj, key, value, receiver, root.isStrict(), jsclassProfile, root);
             }
         }
@@ -273,7 +273,7 @@ public abstract class JSEqualNode extends JSCompareNode {
 
     @Specialization
     protected boolean doBigIntAndInt(BigInt a, int b) {
-        return a.compareTo(BigInt.valueOf(b)) == 0;
+        return a.compareValueTo(b) == 0;
     }
 
     @Specialization
@@ -286,7 +286,7 @@ public abstract class JSEqualNode extends JSCompareNode {
 
     @Specialization
     protected boolean doIntAndBigInt(int a, BigInt b) {
-        return b.compareTo(BigInt.valueOf(a)) == 0;
+        return b.compareValueTo(a) == 0;
     }
 
     @Specialization
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -134,7 +134,7 @@ public abstract class JSGreaterOrEqualNode extends JSCompareNode {
 
     @Specialization
     protected boolean doBigIntAndInt(BigInt a, int b) {
-        return a.compareTo(BigInt.valueOf(b)) >= 0;
+        return a.compareValueTo(b) >= 0;
     }
 
     @Specialization
@@ -147,7 +147,7 @@ public abstract class JSGreaterOrEqualNode extends JSCompareNode {
 
     @Specialization
     protected boolean doIntAndBigInt(int a, BigInt b) {
-        return b.compareTo(BigInt.valueOf(a)) <= 0;
+        return b.compareValueTo(a) <= 0;
     }
 
     @Specialization
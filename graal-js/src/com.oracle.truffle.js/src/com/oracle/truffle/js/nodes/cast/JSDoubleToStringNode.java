@@ -82,8 +82,7 @@ public abstract class JSDoubleToStringNode extends JavaScriptBaseNode {
                     @Cached ConditionProfile isNaN,
                     @Cached ConditionProfile isPositiveInfinity,
                     @Cached ConditionProfile isNegativeInfinity,
-                    @Cached ConditionProfile isZero,
-                    @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+                    @Cached ConditionProfile isZero) {
         if (isZero.profile(d == 0)) {
             return Strings.ZERO;
         } else if (isInt.profile(JSRuntime.doubleIsRepresentableAsInt(d, true))) {
@@ -95,7 +94,7 @@ public abstract class JSDoubleToStringNode extends JavaScriptBaseNode {
         } else if (isNegativeInfinity.profile(d == Double.NEGATIVE_INFINITY)) {
             return Strings.NEGATIVE_INFINITY;
         } else {
-            return Strings.fromJavaString(fromJavaStringNode, JSRuntime.formatDtoA(d));
+            return JSRuntime.formatDtoAShortest(d);
         }
     }
 }
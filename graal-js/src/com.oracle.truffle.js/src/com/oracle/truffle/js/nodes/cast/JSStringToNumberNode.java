@@ -51,6 +51,7 @@ import com.oracle.truffle.js.nodes.JSNodeUtil;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.util.FastDoubleParser;
 
 /**
  * This implements ECMA 9.3.1 ToNumber applied to the String Type.
@@ -240,9 +241,18 @@ public abstract class JSStringToNumberNode extends JavaScriptBaseNode {
         return result;
     }
 
-    @TruffleBoundary
     @Specialization(guards = {"stringLength(input) > 0", "startsWithValidDouble(input)"}, replaces = "doInteger")
-    protected double doDouble(TruffleString input) {
+    protected double doDouble(TruffleString input,
+                    @Cached TruffleString.ReadCharUTF16Node readNode) {
+        double result = FastDoubleParser.parse(readNode, input, 0, Strings.length(input));
+        if (Double.isNaN(result)) {
+            return parseDoubleSlow(input);
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private static double parseDoubleSlow(TruffleString input) {
         return JSRuntime.parseDoubleOrNaN(input);
     }
 
@@ -50,7 +50,6 @@ import com.oracle.truffle.js.nodes.access.PropertySetNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
@@ -99,16 +98,14 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
             ((SimpleArrayList<? super PromiseReactionRecord>) getPromiseRejectReactionsNode.getValue(promise)).add(rejectReaction, growProfile);
         } else if (fulfilledProf.profile(promiseState == JSPromise.FULFILLED)) {
             Object value = getPromiseResult(promise);
-            JSFunctionObject job = getPromiseReactionJob(fulfillReaction, value);
-            context.promiseEnqueueJob(getRealm(), job);
+            enqueuePromiseReactionJob(fulfillReaction, value);
         } else {
             assert promiseState == JSPromise.REJECTED;
             Object reason = getPromiseResult(promise);
             if (unhandledProf.profile(!getPromiseIsHandled(promise))) {
                 context.notifyPromiseRejectionTracker(promise, JSPromise.REJECTION_TRACKER_OPERATION_HANDLE, Undefined.instance);
             }
-            JSFunctionObject job = getPromiseReactionJob(rejectReaction, reason);
-            context.promiseEnqueueJob(getRealm(), job);
+            enqueuePromiseReactionJob(rejectReaction, reason);
         }
         setPromiseIsHandledNode.setValueBoolean(promise, true);
         if (resultCapability == null) {
@@ -117,12 +114,12 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
         return resultCapability.getPromise();
     }
 
-    private JSFunctionObject getPromiseReactionJob(PromiseReactionRecord reaction, Object value) {
+    private void enqueuePromiseReactionJob(PromiseReactionRecord reaction, Object value) {
         if (promiseReactionJobNode == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
             promiseReactionJobNode = insert(PromiseReactionJobNode.create(context));
         }
-        return promiseReactionJobNode.execute(reaction, value);
+        promiseReactionJobNode.enqueue(reaction, value);
     }
 
     private Object getPromiseResult(JSDynamicObject promise) {
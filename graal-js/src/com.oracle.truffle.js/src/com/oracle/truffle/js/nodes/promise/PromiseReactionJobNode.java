@@ -43,14 +43,18 @@ package com.oracle.truffle.js.nodes.promise;
 import java.util.List;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.TruffleStackTraceElement;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.InstrumentableNode;
 import com.oracle.truffle.api.instrumentation.ProbeNode;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
@@ -60,11 +64,13 @@ import com.oracle.truffle.js.nodes.control.AwaitNode;
 import com.oracle.truffle.js.nodes.control.TryCatchNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSAgent;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.PromiseHook;
+import com.oracle.truffle.js.runtime.PromiseJobsQueue;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
@@ -92,6 +98,9 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
         return new PromiseReactionJobNode(context);
     }
 
+    /**
+     * Creates a PromiseReactionJob function object.
+     */
     public JSFunctionObject execute(Object reaction, Object argument) {
         JSFunctionData functionData = context.getOrCreateBuiltinFunctionData(JSContext.BuiltinFunctionKey.PromiseReactionJob, (c) -> createPromiseReactionJobImpl(c));
         JSFunctionObject function = JSFunction.create(getRealm(), functionData);
@@ -100,25 +109,37 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
         return function;
     }
 
+    /**
+     * Enqueues a PromiseReactionJob, without creating a job function object.
+     */
+    public void enqueue(PromiseReactionRecord reaction, Object argument) {
+        JSFunctionData functionData = context.getOrCreateBuiltinFunctionData(JSContext.BuiltinFunctionKey.PromiseReactionJobs, (c) -> createPromiseReactionJobsImpl(c));
+        context.promiseEnqueueReactionJob(getRealm(), reaction, argument, functionData.getCallTarget());
+    }
+
     private static JSFunctionData createPromiseReactionJobImpl(JSContext context) {
         return JSFunctionData.createCallOnly(context, new PromiseReactionJobRootNode(context).getCallTarget(), 0, Strings.EMPTY_STRING);
     }
 
+    private static JSFunctionData createPromiseReactionJobsImpl(JSContext context) {
+        return JSFunctionData.createCallOnly(context, new PromiseReactionJobsRootNode(context).getCallTarget(), 0, Strings.EMPTY_STRING);
+    }
+
+    /**
+     * PromiseReactionJob function; the reaction and argument are stored in the function object.
+     */
     public static class PromiseReactionJobRootNode extends JavaScriptRootNode implements InstrumentableNode {
         private final JSContext context;
         @Child private PropertyGetNode getReaction;
         @Child private PropertyGetNode getArgument;
-        @Child private JSFunctionCallNode callResolveNode;
-        @Child private JSFunctionCallNode callRejectNode;
-        @Child private JSFunctionCallNode callHandlerNode;
-        @Child private TryCatchNode.GetErrorObjectNode getErrorObjectNode;
-        private final ConditionProfile handlerProf = ConditionProfile.createBinaryProfile();
+        @Child private PerformPromiseReactionJobNode performJob;
 
         PromiseReactionJobRootNode(JSContext context) {
             super(context.getLanguage(), null, null);
             this.context = context;
             this.getReaction = PropertyGetNode.createGetHidden(REACTION_KEY, context);
             this.getArgument = PropertyGetNode.createGetHidden(ARGUMENT_KEY, context);
+            this.performJob = new PerformPromiseReactionJobNode(context);
         }
 
         @Override
@@ -126,7 +147,147 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
             JSDynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
             PromiseReactionRecord reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
             Object argument = getArgument.getValue(functionObject);
+            return performJob.execute(reaction, argument);
+        }
+
+        @Override
+        public boolean isCaptureFramesForTrace() {
+            return context.isOptionAsyncStackTraces();
+        }
+
+        @Override
+        protected List<TruffleStackTraceElement> findAsynchronousFrames(Frame frame) {
+            if (!context.isOptionAsyncStackTraces()) {
+                return null;
+            }
+
+            JSDynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
+            PromiseReactionRecord reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
+            return findAsynchronousFrames(reaction);
+        }
+
+        @Override
+        public boolean hasTag(Class<? extends Tag> tag) {
+            return tag == StandardTags.RootTag.class;
+        }
+
+        @Override
+        public boolean isInstrumentable() {
+            return false;
+        }
+
+        @Override
+        public WrapperNode createWrapper(ProbeNode probe) {
+            throw Errors.shouldNotReachHere();
+        }
+    }
+
+    /**
+     * Performs consecutive PromiseReactionJobs from the agent's {@link PromiseJobsQueue}. Expects
+     * the agent, the queue and the maximum number of jobs to perform as arguments, and the first
+     * job in the queue to be a promise reaction job. Returns after any job that leaves waitAsync
+     * waiters pending, so that the agent can resolve them before the next job.
+     */
+    public static class PromiseReactionJobsRootNode extends JavaScriptRootNode implements InstrumentableNode {
+        private static final int REACTION_SLOT = 0;
 
+        private final JSContext context;
+        @Child private PerformPromiseReactionJobNode performJob;
+
+        PromiseReactionJobsRootNode(JSContext context) {
+            super(context.getLanguage(), null, createFrameDescriptor());
+            this.context = context;
+            this.performJob = new PerformPromiseReactionJobNode(context);
+        }
+
+        private static FrameDescriptor createFrameDescriptor() {
+            FrameDescriptor.Builder b = FrameDescriptor.newBuilder(1);
+            int slot = b.addSlot(FrameSlotKind.Object, "reaction", null);
+            assert slot == REACTION_SLOT;
+            return b.build();
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            JSAgent agent = (JSAgent) arguments[0];
+            PromiseJobsQueue queue = (PromiseJobsQueue) arguments[1];
+            int maxJobs = (int) arguments[2];
+            int count = 0;
+            do {
+                PromiseReactionRecord reaction = (PromiseReactionRecord) queue.peekJob();
+                Object argument = queue.peekArgument();
+                queue.remove();
+                // remembered for async stack traces
+                frame.setObject(REACTION_SLOT, reaction);
+                performJob.execute(reaction, argument);
+                count++;
+                TruffleSafepoint.poll(this);
+            } while (count < maxJobs && queue.peekJob() instanceof PromiseReactionRecord && !agent.hasWaitAsyncJobs());
+            LoopNode.reportLoopCount(this, count);
+            return count;
+        }
+
+        @Override
+        public boolean isCaptureFramesForTrace() {
+            return context.isOptionAsyncStackTraces();
+        }
+
+        @Override
+        protected List<TruffleStackTraceElement> findAsynchronousFrames(Frame frame) {
+            if (!context.isOptionAsyncStackTraces()) {
+                return null;
+            }
+
+            Object reaction = frame.getObject(REACTION_SLOT);
+            if (reaction instanceof PromiseReactionRecord) {
+                return findAsynchronousFrames((PromiseReactionRecord) reaction);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasTag(Class<? extends Tag> tag) {
+            return tag == StandardTags.RootTag.class;
+        }
+
+        @Override
+        public boolean isInstrumentable() {
+            return false;
+        }
+
+        @Override
+        public WrapperNode createWrapper(ProbeNode probe) {
+            throw Errors.shouldNotReachHere();
+        }
+    }
+
+    static List<TruffleStackTraceElement> findAsynchronousFrames(PromiseReactionRecord reaction) {
+        PromiseCapabilityRecord promiseCapability = reaction.getCapability();
+        if (promiseCapability != null) {
+            return AwaitNode.findAsyncStackFramesFromPromise(promiseCapability.getPromise());
+        } else if (JSFunction.isJSFunction(reaction.getHandler())) {
+            return AwaitNode.findAsyncStackFramesFromHandler((JSFunctionObject) reaction.getHandler());
+        }
+        return null;
+    }
+
+    /**
+     * Performs the steps of a PromiseReactionJob.
+     */
+    static final class PerformPromiseReactionJobNode extends JavaScriptBaseNode {
+        private final JSContext context;
+        @Child private JSFunctionCallNode callResolveNode;
+        @Child private JSFunctionCallNode callRejectNode;
+        @Child private JSFunctionCallNode callHandlerNode;
+        @Child private TryCatchNode.GetErrorObjectNode getErrorObjectNode;
+        private final ConditionProfile handlerProf = ConditionProfile.createBinaryProfile();
+
+        PerformPromiseReactionJobNode(JSContext context) {
+            this.context = context;
+        }
+
+        Object execute(PromiseReactionRecord reaction, Object argument) {
             PromiseCapabilityRecord promiseCapability = reaction.getCapability();
             Object handler = reaction.getHandler();
             assert promiseCapability != null || handler != Undefined.instance;
@@ -202,42 +363,5 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
             }
             return getErrorObjectNode;
         }
-
-        @Override
-        public boolean isCaptureFramesForTrace() {
-            return context.isOptionAsyncStackTraces();
-        }
-
-        @Override
-        protected List<TruffleStackTraceElement> findAsynchronousFrames(Frame frame) {
-            if (!context.isOptionAsyncStackTraces()) {
-                return null;
-            }
-
-            JSDynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
-            PromiseReactionRecord reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
-            PromiseCapabilityRecord promiseCapability = reaction.getCapability();
-            if (promiseCapability != null) {
-                return AwaitNode.findAsyncStackFramesFromPromise(promiseCapability.getPromise());
-            } else if (JSFunction.isJSFunction(reaction.getHandler())) {
-                return AwaitNode.findAsyncStackFramesFromHandler((JSFunctionObject) reaction.getHandler());
-            }
-            return null;
-        }
-
-        @Override
-        public boolean hasTag(Class<? extends Tag> tag) {
-            return tag == StandardTags.RootTag.class;
-        }
-
-        @Override
-        public boolean isInstrumentable() {
-            return false;
-        }
-
-        @Override
-        public WrapperNode createWrapper(ProbeNode probe) {
-            throw Errors.shouldNotReachHere();
-        }
     }
 }
@@ -42,16 +42,14 @@ package com.oracle.truffle.js.nodes.promise;
 
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
+import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
 public class TriggerPromiseReactionsNode extends JavaScriptBaseNode {
-    private final JSContext context;
     @Child private PromiseReactionJobNode promiseReactionJob;
 
     protected TriggerPromiseReactionsNode(JSContext context) {
-        this.context = context;
         this.promiseReactionJob = PromiseReactionJobNode.create(context);
     }
 
@@ -66,9 +64,8 @@ public class TriggerPromiseReactionsNode extends JavaScriptBaseNode {
     public Object execute(Object reactions, Object argument) {
         SimpleArrayList<?> list = (SimpleArrayList<?>) reactions;
         for (int i = 0; i < list.size(); i++) {
-            Object reaction = list.get(i);
-            JSFunctionObject job = promiseReactionJob.execute(reaction, argument);
-            context.promiseEnqueueJob(getRealm(), job);
+            PromiseReactionRecord reaction = (PromiseReactionRecord) list.get(i);
+            promiseReactionJob.enqueue(reaction, argument);
         }
         return Undefined.instance;
     }
@@ -55,30 +55,55 @@ import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.interop.JSMetaType;
 
+/**
+ * A BigInt value. Values that fit in a {@code long} are stored inline, larger values are backed by
+ * a {@link BigInteger}. The representation is canonical, i.e. {@link #value} is non-null if and
+ * only if the value does not fit in a {@code long}, so that operations on small values can use
+ * overflow-checked {@code long} arithmetic and only fall back to {@link BigInteger} on overflow.
+ */
 @ExportLibrary(InteropLibrary.class)
 @ValueType
 public final class BigInt implements Comparable<BigInt>, TruffleObject {
 
     static final long serialVersionUID = 6019523258212492110L;
 
+    /** The value of this BigInt if {@link #value} is {@code null}, otherwise unused. */
+    private final long smallValue;
+    /** The value of this BigInt if it does not fit in a {@code long}, otherwise {@code null}. */
     private final BigInteger value;
 
-    public static final BigInt ZERO = new BigInt(BigInteger.ZERO);
-    public static final BigInt ONE = new BigInt(BigInteger.ONE);
-    public static final BigInt NEGATIVE_ONE = new BigInt(BigInteger.valueOf(-1));
-    public static final BigInt TWO = new BigInt(BigInteger.valueOf(2));
+    public static final BigInt ZERO = new BigInt(0L);
+    public static final BigInt ONE = new BigInt(1L);
+    public static final BigInt NEGATIVE_ONE = new BigInt(-1L);
+    public static final BigInt TWO = new BigInt(2L);
 
-    public static final BigInt MAX_INT = new BigInt(BigInteger.valueOf(Integer.MAX_VALUE));
-    public static final BigInt MIN_INT = new BigInt(BigInteger.valueOf(Integer.MIN_VALUE));
+    public static final BigInt MAX_INT = new BigInt((long) Integer.MAX_VALUE);
+    public static final BigInt MIN_INT = new BigInt((long) Integer.MIN_VALUE);
 
     private static final BigInteger TWO64 = BigInteger.ONE.shiftLeft(64);
 
+    private static final long MAX_SAFE_DOUBLE_INTEGER = 1L << 53;
+    private static final long MAX_SAFE_FLOAT_INTEGER = 1L << 24;
+
+    @TruffleBoundary
     public BigInt(String s, int r) {
-        this.value = new BigInteger(s, r);
+        this(new BigInteger(s, r));
     }
 
+    @TruffleBoundary
     public BigInt(BigInteger v) {
-        this.value = v;
+        if (v.bitLength() < Long.SIZE) {
+            this.smallValue = v.longValue();
+            this.value = null;
+        } else {
+            this.smallValue = 0;
+            this.value = v;
+        }
+    }
+
+    private BigInt(long v) {
+        this.smallValue = v;
+        this.value = null;
     }
 
     @TruffleBoundary
@@ -97,20 +122,23 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         return new BigInt(parseBigInteger(s));
     }
 
-    @TruffleBoundary
     public static BigInt valueOf(long i) {
-        return new BigInt(BigInteger.valueOf(i));
+        return new BigInt(i);
     }
 
-    @TruffleBoundary
     public static BigInt valueOfUnsigned(long i) {
         if (i >= 0) {
-            return new BigInt(BigInteger.valueOf(i));
+            return new BigInt(i);
         } else {
-            return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+            return valueOfUnsignedSlow(i);
         }
     }
 
+    @TruffleBoundary
+    private static BigInt valueOfUnsignedSlow(long i) {
+        return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+    }
+
     @TruffleBoundary
     private static BigInteger parseBigInteger(final String valueString) {
 
@@ -142,79 +170,197 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         return new BigInteger(trimmedString, 10);
     }
 
-    @TruffleBoundary
     public int intValue() {
-        return value.intValue();
+        return (int) longValue();
     }
 
-    @TruffleBoundary
     public double doubleValue() {
-        return value.doubleValue();
+        if (fitsInLong()) {
+            return smallValue;
+        }
+        return bigDoubleValue(value);
     }
 
+    @TruffleBoundary
+    private static double bigDoubleValue(BigInteger v) {
+        return v.doubleValue();
+    }
+
+    @TruffleBoundary(allowInlining = true)
     public BigInteger bigIntegerValue() {
-        return value;
+        return fitsInLong() ? BigInteger.valueOf(smallValue) : value;
     }
 
-    @TruffleBoundary
     public BigInt toBigInt64() {
-        return valueOf(value.longValue());
+        if (fitsInLong()) {
+            return this;
+        }
+        return valueOf(longValue());
     }
 
-    @TruffleBoundary
     public BigInt toBigUint64() {
-        return new BigInt(value.mod(TWO64));
+        if (fitsInLong() && smallValue >= 0) {
+            return this;
+        }
+        return valueOfUnsigned(longValue());
+    }
+
+    /**
+     * BigInt.asIntN: this value modulo 2<sup>bits</sup>, as a signed integer.
+     */
+    public BigInt asIntN(int bits) {
+        assert bits >= 0 : bits;
+        if (fitsInLong()) {
+            if (bits == 0) {
+                return ZERO;
+            } else if (bits < Long.SIZE) {
+                int shift = Long.SIZE - bits;
+                return valueOf((smallValue << shift) >> shift);
+            } else {
+                return this;
+            }
+        }
+        return asIntNSlow(bits);
     }
 
     @TruffleBoundary
-    public BigInt pow(int e) {
-        return new BigInt(value.pow(e));
+    private BigInt asIntNSlow(int bits) {
+        if (bits == 0) {
+            return ZERO;
+        }
+        BigInteger twoPowBits = BigInteger.ONE.shiftLeft(bits);
+        BigInteger mod = value.mod(twoPowBits);
+        return new BigInt(mod.testBit(bits - 1) ? mod.subtract(twoPowBits) : mod);
+    }
+
+    /**
+     * BigInt.asUintN: this value modulo 2<sup>bits</sup>, as an unsigned integer.
+     */
+    public BigInt asUintN(int bits) {
+        assert bits >= 0 : bits;
+        if (fitsInLong()) {
+            if (bits == 0) {
+                return ZERO;
+            } else if (bits < Long.SIZE) {
+                return valueOf(smallValue & ((1L << bits) - 1));
+            } else if (smallValue >= 0) {
+                return this;
+            } else if (bits == Long.SIZE) {
+                return valueOfUnsignedSlow(smallValue);
+            }
+        }
+        return asUintNSlow(bits);
     }
 
     @TruffleBoundary
+    private BigInt asUintNSlow(int bits) {
+        return new BigInt(bigIntegerValue().mod(BigInteger.ONE.shiftLeft(bits)));
+    }
+
+    @TruffleBoundary
+    public BigInt pow(int e) {
+        return new BigInt(bigIntegerValue().pow(e));
+    }
+
     public BigInt mod(BigInt m) {
-        return new BigInt(value.mod(m.value));
+        if (fitsInLong() && m.fitsInLong() && m.smallValue > 0) {
+            return valueOf(Math.floorMod(smallValue, m.smallValue));
+        }
+        return modSlow(m);
     }
 
-    @Override
     @TruffleBoundary
+    private BigInt modSlow(BigInt m) {
+        return new BigInt(bigIntegerValue().mod(m.bigIntegerValue()));
+    }
+
+    @Override
     public int compareTo(BigInt b) {
-        return value.compareTo(b.value);
+        if (fitsInLong() && b.fitsInLong()) {
+            return Long.compare(smallValue, b.smallValue);
+        }
+        return compareToSlow(b);
     }
 
     @TruffleBoundary
+    private int compareToSlow(BigInt b) {
+        return bigIntegerValue().compareTo(b.bigIntegerValue());
+    }
+
     public int compareValueTo(long b) {
-        return value.compareTo(BigInteger.valueOf(b));
+        if (fitsInLong()) {
+            return Long.compare(smallValue, b);
+        }
+        // values that do not fit in a long are larger in magnitude than any long
+        return signum();
     }
 
-    @TruffleBoundary
     public int compareValueTo(double b) {
 
         assert !Double.isNaN(b) : "unexpected NAN in BigInt value comparison";
 
+        if (fitsInLong() && smallValue >= -MAX_SAFE_DOUBLE_INTEGER && smallValue <= MAX_SAFE_DOUBLE_INTEGER) {
+            // exactly representable as a double
+            double thisValue = smallValue;
+            return thisValue < b ? -1 : (thisValue > b ? 1 : 0);
+        }
+        return compareValueToSlow(b);
+    }
+
+    @TruffleBoundary
+    private int compareValueToSlow(double b) {
         if (b == Double.POSITIVE_INFINITY) {
             return -1;
         } else if (b == Double.NEGATIVE_INFINITY) {
             return 1;
         } else {
-            BigDecimal thisValue = new BigDecimal(value);
+            BigDecimal thisValue = new BigDecimal(bigIntegerValue());
             BigDecimal theOtherValue = new BigDecimal(b);
             return thisValue.compareTo(theOtherValue);
         }
     }
 
-    @TruffleBoundary
     public BigInt subtract(BigInt b) {
-        return new BigInt(value.subtract(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long r = x - y;
+            // same overflow check as Math.subtractExact
+            if (((x ^ y) & (x ^ r)) >= 0) {
+                return valueOf(r);
+            }
+        }
+        return subtractSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt subtractSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().subtract(b.bigIntegerValue()));
+    }
+
     public BigInt add(BigInt b) {
-        return new BigInt(value.add(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long r = x + y;
+            // same overflow check as Math.addExact
+            if (((x ^ r) & (y ^ r)) >= 0) {
+                return valueOf(r);
+            }
+        }
+        return addSlow(b);
+    }
+
+    @TruffleBoundary
+    private BigInt addSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().add(b.bigIntegerValue()));
     }
 
     @TruffleBoundary
     public String toString(int radix) {
+        if (fitsInLong()) {
+            return Long.toString(smallValue, radix);
+        }
         return value.toString(radix);
     }
 
@@ -225,36 +371,68 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
 
     @TruffleBoundary
     public TruffleString toTString(int radix) {
-        return Strings.fromJavaString(value.toString(radix));
+        return Strings.fromJavaString(toString(radix));
     }
 
-    @TruffleBoundary
     public boolean testBit(int n) {
-        return value.testBit(n);
+        if (fitsInLong() && n >= 0) {
+            return n >= Long.SIZE - 1 ? smallValue < 0 : ((smallValue >> n) & 1) != 0;
+        }
+        return testBitSlow(n);
+    }
+
+    @TruffleBoundary
+    private boolean testBitSlow(int n) {
+        return bigIntegerValue().testBit(n);
     }
 
-    @TruffleBoundary(allowInlining = true)
     public int signum() {
-        return value.signum();
+        if (fitsInLong()) {
+            return Long.signum(smallValue);
+        }
+        return bigSignum(value);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static int bigSignum(BigInteger v) {
+        return v.signum();
     }
 
-    @TruffleBoundary
     public BigInt negate() {
-        return new BigInt(value.negate());
+        if (fitsInLong() && smallValue != Long.MIN_VALUE) {
+            return valueOf(-smallValue);
+        }
+        return negateSlow();
     }
 
     @TruffleBoundary
+    private BigInt negateSlow() {
+        return new BigInt(bigIntegerValue().negate());
+    }
+
     public BigInt not() {
+        if (fitsInLong()) {
+            return valueOf(~smallValue);
+        }
+        return notSlow();
+    }
+
+    @TruffleBoundary
+    private BigInt notSlow() {
         return new BigInt(value.not());
     }
 
     @Override
-    @TruffleBoundary
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((value == null) ? 0 : value.hashCode());
-        return result;
+        if (fitsInLong()) {
+            return Long.hashCode(smallValue);
+        }
+        return bigHashCode(value);
+    }
+
+    @TruffleBoundary
+    private static int bigHashCode(BigInteger v) {
+        return v.hashCode();
     }
 
     @Override
@@ -271,74 +449,157 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         }
         BigInt other = (BigInt) obj;
         if (value == null) {
-            if (other.value != null) {
-                return false;
-            }
-        } else if (!value.equals(other.value)) {
-            return false;
+            return other.value == null && smallValue == other.smallValue;
+        } else {
+            return value.equals(other.value);
         }
-        return true;
     }
 
-    @TruffleBoundary
     public BigInt and(BigInt b) {
-        return new BigInt(value.and(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            return valueOf(smallValue & b.smallValue);
+        }
+        return andSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt andSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().and(b.bigIntegerValue()));
+    }
+
     public BigInt or(BigInt b) {
-        return new BigInt(value.or(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            return valueOf(smallValue | b.smallValue);
+        }
+        return orSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt orSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().or(b.bigIntegerValue()));
+    }
+
     public BigInt xor(BigInt b) {
-        return new BigInt(value.xor(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            return valueOf(smallValue ^ b.smallValue);
+        }
+        return xorSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt xorSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().xor(b.bigIntegerValue()));
+    }
+
     public BigInt multiply(BigInt b) {
-        return new BigInt(value.multiply(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long lo = x * y;
+            // the product fits in a long iff the high word is the sign extension of the low word
+            if (Math.multiplyHigh(x, y) == (lo >> (Long.SIZE - 1))) {
+                return valueOf(lo);
+            }
+        }
+        return multiplySlow(b);
     }
 
     @TruffleBoundary
+    private BigInt multiplySlow(BigInt b) {
+        return new BigInt(bigIntegerValue().multiply(b.bigIntegerValue()));
+    }
+
     public BigInt divide(BigInt b) {
-        return new BigInt(value.divide(b.value));
+        if (fitsInLong() && b.fitsInLong() && b.smallValue != 0 && !(smallValue == Long.MIN_VALUE && b.smallValue == -1)) {
+            return valueOf(smallValue / b.smallValue);
+        }
+        return divideSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt divideSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().divide(b.bigIntegerValue()));
+    }
+
     public BigInt remainder(BigInt b) {
-        return new BigInt(value.remainder(b.value));
+        if (fitsInLong() && b.fitsInLong() && b.smallValue != 0) {
+            return valueOf(smallValue % b.smallValue);
+        }
+        return remainderSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt remainderSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().remainder(b.bigIntegerValue()));
+    }
+
     public BigInt shiftLeft(int b) {
-        return new BigInt(value.shiftLeft(b));
+        if (fitsInLong() && b >= 0 && b < Long.SIZE) {
+            long r = smallValue << b;
+            if ((r >> b) == smallValue) {
+                return valueOf(r);
+            }
+        }
+        return shiftLeftSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt shiftLeftSlow(int b) {
+        return new BigInt(bigIntegerValue().shiftLeft(b));
+    }
+
     public BigInt shiftRight(int b) {
-        return new BigInt(value.shiftRight(b));
+        if (fitsInLong() && b >= 0) {
+            return valueOf(smallValue >> Math.min(b, Long.SIZE - 1));
+        }
+        return shiftRightSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt shiftRightSlow(int b) {
+        return new BigInt(bigIntegerValue().shiftRight(b));
+    }
+
     public BigInt abs() {
-        return new BigInt(value.abs());
+        if (fitsInLong() && smallValue != Long.MIN_VALUE) {
+            return smallValue < 0 ? valueOf(-smallValue) : this;
+        }
+        return absSlow();
     }
 
     @TruffleBoundary
+    private BigInt absSlow() {
+        return new BigInt(bigIntegerValue().abs());
+    }
+
     public long longValueExact() {
-        return value.longValueExact();
+        if (fitsInLong()) {
+            return smallValue;
+        }
+        return bigLongValueExact(value);
     }
 
     @TruffleBoundary
+    private static long bigLongValueExact(BigInteger v) {
+        return v.longValueExact();
+    }
+
     public long longValue() {
-        return value.longValue();
+        if (fitsInLong()) {
+            return smallValue;
+        }
+        return bigLongValue(value);
+    }
+
+    @TruffleBoundary
+    private static long bigLongValue(BigInteger v) {
+        return v.longValue();
     }
 
     @Override
     @TruffleBoundary
     public String toString() {
-        return value.toString(10);
+        return toString(10);
     }
 
     @ExportMessage
@@ -347,112 +608,115 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInByte() {
-        return value.bitLength() < Byte.SIZE;
+        return fitsInLong() && smallValue == (byte) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInShort() {
-        return value.bitLength() < Short.SIZE;
+        return fitsInLong() && smallValue == (short) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInInt() {
-        return value.bitLength() < Integer.SIZE;
+        return fitsInLong() && smallValue == (int) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     public boolean fitsInLong() {
-        return value.bitLength() < Long.SIZE;
+        return value == null;
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInDouble() {
-        if (value.bitLength() <= 53) { // 53 = size of double mantissa + 1
+        if (fitsInLong() && smallValue >= -MAX_SAFE_DOUBLE_INTEGER && smallValue <= MAX_SAFE_DOUBLE_INTEGER) {
             return true;
-        } else {
-            double doubleValue = value.doubleValue();
-            if (!Double.isFinite(doubleValue)) {
-                return false;
-            }
-            return new BigDecimal(doubleValue).toBigIntegerExact().equals(value);
         }
+        return fitsInDoubleSlow();
     }
 
-    @ExportMessage
     @TruffleBoundary
+    private boolean fitsInDoubleSlow() {
+        BigInteger bigValue = bigIntegerValue();
+        double doubleValue = bigValue.doubleValue();
+        if (!Double.isFinite(doubleValue)) {
+            return false;
+        }
+        return new BigDecimal(doubleValue).toBigIntegerExact().equals(bigValue);
+    }
+
+    @ExportMessage
     boolean fitsInFloat() {
-        if (value.bitLength() <= 24) { // 24 = size of float mantissa + 1
+        if (fitsInLong() && smallValue >= -MAX_SAFE_FLOAT_INTEGER && smallValue <= MAX_SAFE_FLOAT_INTEGER) {
             return true;
-        } else {
-            float floatValue = value.floatValue();
-            if (!Float.isFinite(floatValue)) {
-                return false;
-            }
-            return new BigDecimal(floatValue).toBigIntegerExact().equals(value);
         }
+        return fitsInFloatSlow();
     }
 
-    @ExportMessage
     @TruffleBoundary
+    private boolean fitsInFloatSlow() {
+        BigInteger bigValue = bigIntegerValue();
+        float floatValue = bigValue.floatValue();
+        if (!Float.isFinite(floatValue)) {
+            return false;
+        }
+        return new BigDecimal(floatValue).toBigIntegerExact().equals(bigValue);
+    }
+
+    @ExportMessage
     byte asByte() throws UnsupportedMessageException {
-        try {
-            return value.byteValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInByte()) {
+            return (byte) smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     short asShort() throws UnsupportedMessageException {
-        try {
-            return value.shortValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInShort()) {
+            return (short) smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     int asInt() throws UnsupportedMessageException {
-        try {
-            return value.intValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInInt()) {
+            return (int) smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     long asLong() throws UnsupportedMessageException {
-        try {
-            return longValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInLong()) {
+            return smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     float asFloat() throws UnsupportedMessageException {
         if (fitsInFloat()) {
-            return value.floatValue();
+            return fitsInLong() ? smallValue : bigFloatValue(value);
         } else {
             throw UnsupportedMessageException.create();
         }
     }
 
-    @ExportMessage
     @TruffleBoundary
+    private static float bigFloatValue(BigInteger v) {
+        return v.floatValue();
+    }
+
+    @ExportMessage
     double asDouble() throws UnsupportedMessageException {
         if (fitsInDouble()) {
-            return value.doubleValue();
+            return doubleValue();
         } else {
             throw UnsupportedMessageException.create();
         }
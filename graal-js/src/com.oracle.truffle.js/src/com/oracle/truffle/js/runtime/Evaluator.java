@@ -101,6 +101,13 @@ public interface Evaluator {
      */
     JSModuleData envParseModule(JSRealm realm, Source source);
 
+    /**
+     * Starts parsing a module source in the background, so that a later
+     * {@link #parseModule(JSContext, Source)} of an equal source can skip parsing. Does nothing if
+     * background module parsing is disabled.
+     */
+    void prefetchModule(JSRealm realm, Source source);
+
     JSModuleRecord parseJSONModule(JSRealm realm, Source source);
 
     JSModuleRecord hostResolveImportedModule(JSContext context, ScriptOrModule referencingScriptOrModule, Module.ModuleRequest moduleRequest);
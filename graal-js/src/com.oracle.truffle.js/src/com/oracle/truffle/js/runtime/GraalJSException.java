@@ -70,6 +70,7 @@ import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.function.FunctionRootNode;
 import com.oracle.truffle.js.nodes.promise.PerformPromiseAllNode.PromiseAllMarkerRootNode;
 import com.oracle.truffle.js.nodes.promise.PromiseReactionJobNode.PromiseReactionJobRootNode;
+import com.oracle.truffle.js.nodes.promise.PromiseReactionJobNode.PromiseReactionJobsRootNode;
 import com.oracle.truffle.js.runtime.builtins.JSError;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
@@ -238,7 +239,7 @@ public abstract class GraalJSException extends AbstractTruffleException {
             return null;
         }
         if (rootNode instanceof JavaScriptRootNode) {
-            if (rootNode instanceof PromiseReactionJobRootNode) {
+            if (rootNode instanceof PromiseReactionJobRootNode || rootNode instanceof PromiseReactionJobsRootNode) {
                 return JavaScriptRootNode.findAsynchronousFrames((JavaScriptRootNode) rootNode, element.getFrame());
             } else {
                 // We do not want to include any of the extra stack trace elements available when
@@ -50,6 +50,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.graalvm.collections.EconomicSet;
 import org.graalvm.collections.Equivalence;
 
+import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
@@ -58,6 +59,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistryObject;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
@@ -67,6 +69,12 @@ public abstract class JSAgent {
 
     private static final AtomicInteger signifierGenerator = new AtomicInteger(0);
 
+    /**
+     * Maximum number of consecutive promise reaction jobs performed by one call of the reaction
+     * jobs call target.
+     */
+    private static final int PROMISE_REACTION_JOBS_BATCH_SIZE = 256;
+
     /* ECMA2017 Agent Record */
     private final int signifier;
     private boolean canBlock;
@@ -74,7 +82,13 @@ public abstract class JSAgent {
     /**
      * ECMA 8.4 "PromiseJobs" job queue.
      */
-    private final Deque<JSFunctionObject> promiseJobsQueue;
+    private final PromiseJobsQueue promiseJobsQueue;
+
+    /**
+     * Performs a batch of consecutive promise reaction jobs from the {@link #promiseJobsQueue}.
+     * Set when the first reaction job is enqueued.
+     */
+    private CallTarget promiseReactionJobsCallTarget;
 
     /**
      * According to ECMA2017 8.4 the queue of pending jobs (promises reactions) must be processed
@@ -105,7 +119,7 @@ public abstract class JSAgent {
         this.promiseRejectionTracker = promiseRejectionTracker;
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
-        this.promiseJobsQueue = new ArrayDeque<>();
+        this.promiseJobsQueue = new PromiseJobsQueue();
         this.waitAsyncJobsQueue = new ConcurrentLinkedDeque<>();
         this.finalizationRegistryQueue = new ArrayDeque<>(4);
     }
@@ -122,7 +136,39 @@ public abstract class JSAgent {
 
     @TruffleBoundary
     public final void enqueuePromiseJob(JSFunctionObject job) {
-        promiseJobsQueue.push(job);
+        promiseJobsQueue.add(job, null);
+    }
+
+    /**
+     * Enqueues a PromiseReactionJob without creating a job function object.
+     *
+     * @param reactionJobsCallTarget call target that performs reaction jobs from the queue, given
+     *            the agent, the queue and the maximum number of jobs to perform as arguments.
+     */
+    @TruffleBoundary
+    public final void enqueuePromiseReactionJob(PromiseReactionRecord reaction, Object argument, CallTarget reactionJobsCallTarget) {
+        assert promiseReactionJobsCallTarget == null || promiseReactionJobsCallTarget == reactionJobsCallTarget;
+        promiseReactionJobsCallTarget = reactionJobsCallTarget;
+        promiseJobsQueue.add(reaction, argument);
+    }
+
+    /**
+     * Returns the number of pending promise jobs.
+     */
+    public final int getPromiseJobsQueueSize() {
+        return promiseJobsQueue.size();
+    }
+
+    /**
+     * Returns the maximum number of promise jobs that were pending at the same time since the
+     * agent was created or since the last {@link #resetPromiseJobsQueueHighWaterMark()}.
+     */
+    public final int getPromiseJobsQueueHighWaterMark() {
+        return promiseJobsQueue.getHighWaterMark();
+    }
+
+    public final void resetPromiseJobsQueueHighWaterMark() {
+        promiseJobsQueue.resetHighWaterMark();
     }
 
     @TruffleBoundary
@@ -144,10 +190,17 @@ public abstract class JSAgent {
                     checkWaiterRecords = processWaitAsyncJobs();
                 }
                 if (!promiseJobsQueue.isEmpty()) {
-                    JSFunctionObject nextJob = promiseJobsQueue.pollLast();
-                    if (JSFunction.isJSFunction(nextJob)) {
+                    Object nextJob = promiseJobsQueue.peekJob();
+                    if (nextJob instanceof PromiseReactionRecord) {
                         checkWaiterRecords = true;
-                        JSFunction.call(nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
+                        // The batch ends early after any job if there are waitAsync waiters.
+                        promiseReactionJobsCallTarget.call(this, promiseJobsQueue, PROMISE_REACTION_JOBS_BATCH_SIZE);
+                    } else {
+                        promiseJobsQueue.remove();
+                        if (JSFunction.isJSFunction(nextJob)) {
+                            checkWaiterRecords = true;
+                            JSFunction.call((JSFunctionObject) nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
+                        }
                     }
                 }
             }
@@ -159,6 +212,7 @@ public abstract class JSAgent {
             throw t;
         } finally {
             interopBoundaryExit();
+            promiseJobsQueue.trim();
             if (processWeakRefs) {
                 if (weakRefTargets != null) {
                     weakRefTargets.clear();
@@ -171,6 +225,15 @@ public abstract class JSAgent {
         }
     }
 
+    /**
+     * Returns {@code true} if there are waitAsync waiters that may have to be resolved before the
+     * next promise job is performed.
+     */
+    @TruffleBoundary
+    public final boolean hasWaitAsyncJobs() {
+        return !waitAsyncJobsQueue.isEmpty();
+    }
+
     private boolean processWaitAsyncJobs() {
         boolean checkWaiterRecords = false;
         Iterator<WaiterRecord> iter = waitAsyncJobsQueue.descendingIterator();
@@ -72,8 +72,10 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.nodes.ThrowTypeErrorRootNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
+import com.oracle.truffle.js.nodes.access.MegamorphicPropertyCache;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
 import com.oracle.truffle.js.nodes.promise.BuiltinPromiseRejectionTracker;
 import com.oracle.truffle.js.runtime.array.TypedArray;
@@ -153,10 +155,13 @@ import com.oracle.truffle.js.runtime.objects.JSPrototypeData;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.JSShapeData;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
+import com.oracle.truffle.js.runtime.util.ConcurrentLRUCache;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.KeyAccessHistograms;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
@@ -220,6 +225,7 @@ public class JSContext {
     private final Object nodeFactory;
 
     private final TimeProfiler timeProfiler;
+    private final KeyAccessHistograms keyAccessHistograms;
 
     private final JSObjectFactory.BoundProto moduleNamespaceFactory;
 
@@ -228,6 +234,23 @@ public class JSContext {
     private final String regexOptions;
     private final String regexValidateOptions;
 
+    /**
+     * Compiled regexes, shared by all realms (and polyglot contexts) using this JSContext. Keyed
+     * by the TRegex source string (options, pattern, and flags). {@code null} if disabled.
+     */
+    private final ConcurrentLRUCache<String, Object> compiledRegexCache;
+
+    /**
+     * Functions parsed by the Function constructor (and friends), shared by all call sites and
+     * realms using this JSContext. {@code null} if disabled.
+     */
+    private final ConcurrentLRUCache<Object, ScriptNode> functionConstructorCache;
+
+    /**
+     * Property lookups shared by all megamorphic property accesses. {@code null} if disabled.
+     */
+    private final MegamorphicPropertyCache megamorphicPropertyCache;
+
     private final Shape regExpGroupsEmptyShape;
 
     private PrepareStackTraceCallback prepareStackTraceCallback;
@@ -338,6 +361,7 @@ public class JSContext {
         PromiseGetCapabilitiesExecutor,
         PromiseResolveThenableJob,
         PromiseReactionJob,
+        PromiseReactionJobs,
         PromiseAllResolveElement,
         PromiseAllSettledResolveElement,
         PromiseAllSettledRejectElement,
@@ -636,6 +660,7 @@ public class JSContext {
         this.builtinFunctionData = new JSFunctionData[BuiltinFunctionKey.values().length];
 
         this.timeProfiler = contextOptions.isProfileTime() ? new TimeProfiler() : null;
+        this.keyAccessHistograms = contextOptions.isKeyAccessHistograms() ? new KeyAccessHistograms() : null;
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
 
@@ -760,6 +785,12 @@ public class JSContext {
 
         this.regexOptions = createRegexOptions(contextOptions);
         this.regexValidateOptions = regexOptions.isEmpty() ? REGEX_OPTION_VALIDATE : REGEX_OPTION_VALIDATE + "," + regexOptions;
+        int regexCacheSize = contextOptions.getRegexCacheSize();
+        this.compiledRegexCache = regexCacheSize > 0 ? new ConcurrentLRUCache<>(regexCacheSize) : null;
+        int functionConstructorCacheSize = contextOptions.getFunctionConstructorCacheSize();
+        this.functionConstructorCache = functionConstructorCacheSize > 0 ? new ConcurrentLRUCache<>(functionConstructorCacheSize) : null;
+        int megamorphicPropertyCacheSize = contextOptions.getMegamorphicPropertyCacheSize();
+        this.megamorphicPropertyCache = megamorphicPropertyCacheSize > 0 ? new MegamorphicPropertyCache(this, megamorphicPropertyCacheSize) : null;
 
         this.supportedImportAssertions = contextOptions.isImportAssertions() ? Set.of(TYPE_IMPORT_ASSERTION) : Set.of();
 
@@ -898,6 +929,14 @@ public class JSContext {
         realm.getAgent().enqueuePromiseJob(job);
     }
 
+    /**
+     * ECMA 8.4.1 EnqueueJob for a PromiseReactionJob, without materializing a job function.
+     */
+    public final void promiseEnqueueReactionJob(JSRealm realm, PromiseReactionRecord reaction, Object argument, CallTarget reactionJobsCallTarget) {
+        invalidatePromiseQueueNotUsedAssumption();
+        realm.getAgent().enqueuePromiseReactionJob(reaction, argument, reactionJobsCallTarget);
+    }
+
     public final void signalAsyncWaiterRecordUsage() {
         invalidatePromiseQueueNotUsedAssumption();
     }
@@ -930,6 +969,14 @@ public class JSContext {
         return timeProfiler;
     }
 
+    /**
+     * Returns the key distributions of keyed property accesses, or {@code null} if they are not
+     * collected.
+     */
+    public KeyAccessHistograms getKeyAccessHistograms() {
+        return keyAccessHistograms;
+    }
+
     /**
      * Get the current Realm using {@link ContextReference}.
      */
@@ -1272,6 +1319,29 @@ public class JSContext {
         return regexOptions;
     }
 
+    /**
+     * Returns the cache of compiled regexes, or {@code null} if the cache is disabled.
+     */
+    public ConcurrentLRUCache<String, Object> getCompiledRegexCache() {
+        return compiledRegexCache;
+    }
+
+    /**
+     * Returns the cache of functions parsed by the Function constructor, or {@code null} if the
+     * cache is disabled.
+     */
+    public ConcurrentLRUCache<Object, ScriptNode> getFunctionConstructorCache() {
+        return functionConstructorCache;
+    }
+
+    /**
+     * Returns the property lookup cache of megamorphic property accesses, or {@code null} if the
+     * cache is disabled.
+     */
+    public MegamorphicPropertyCache getMegamorphicPropertyCache() {
+        return megamorphicPropertyCache;
+    }
+
     public String getRegexValidateOptions() {
         return regexValidateOptions;
     }
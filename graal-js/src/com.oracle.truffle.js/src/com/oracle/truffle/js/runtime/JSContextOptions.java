@@ -324,6 +324,10 @@ public final class JSContextOptions {
     @Option(name = POLYGLOT_BUILTIN_NAME, category = OptionCategory.USER, help = "Provide 'Polyglot' global property.", deprecated = true) //
     public static final OptionKey<Boolean> POLYGLOT_BUILTIN = new OptionKey<>(true);
 
+    public static final String JSON_PARSE_BYTES_NAME = JS_OPTION_PREFIX + "json-parse-bytes";
+    @Option(name = JSON_PARSE_BYTES_NAME, category = OptionCategory.EXPERT, help = "Provide 'JSON.parseBytes' function that parses UTF-8 encoded JSON from a byte buffer.") //
+    public static final OptionKey<Boolean> JSON_PARSE_BYTES = new OptionKey<>(false);
+
     public static final String POLYGLOT_EVALFILE_NAME = JS_OPTION_PREFIX + "polyglot-evalfile";
     @Option(name = POLYGLOT_EVALFILE_NAME, category = OptionCategory.USER, help = "Provide 'Polyglot.evalFile' function.") //
     public static final OptionKey<Boolean> POLYGLOT_EVALFILE = new OptionKey<>(true);
@@ -420,6 +424,11 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> REGEX_CACHE_SIZE = new OptionKey<>(128);
     @CompilationFinal private int regexCacheSize;
 
+    public static final String MODULE_PARSE_THREADS_NAME = JS_OPTION_PREFIX + "module-parse-threads";
+    @Option(name = MODULE_PARSE_THREADS_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Number of background threads used to parse statically imported ES modules ahead of time (0 = disabled).") //
+    public static final OptionKey<Integer> MODULE_PARSE_THREADS = new OptionKey<>(0);
+    @CompilationFinal private int moduleParseThreads;
+
     public static final String STRING_LENGTH_LIMIT_NAME = JS_OPTION_PREFIX + "string-length-limit";
     @Option(name = STRING_LENGTH_LIMIT_NAME, category = OptionCategory.EXPERT, usageSyntax = "<chars>", help = "Maximum string length.") //
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
@@ -456,6 +465,11 @@ public final class JSContextOptions {
     @Option(name = PROFILE_TIME_PRINT_CUMULATIVE_NAME, category = OptionCategory.INTERNAL, help = "Print cumulative time when time profiling is enabled.") //
     public static final OptionKey<Boolean> PROFILE_TIME_PRINT_CUMULATIVE = new OptionKey<>(false);
 
+    public static final String KEY_ACCESS_HISTOGRAMS_NAME = JS_OPTION_PREFIX + "key-access-histograms";
+    @Option(name = KEY_ACCESS_HISTOGRAMS_NAME, category = OptionCategory.INTERNAL, help = "Print the key distributions sampled by keyed property access caches when the context is disposed.") //
+    public static final OptionKey<Boolean> KEY_ACCESS_HISTOGRAMS = new OptionKey<>(false);
+    @CompilationFinal private boolean keyAccessHistograms;
+
     public static final String TEST_CLONE_UNINITIALIZED_NAME = JS_OPTION_PREFIX + "test-clone-uninitialized";
     @Option(name = TEST_CLONE_UNINITIALIZED_NAME, category = OptionCategory.INTERNAL, help = "Test uninitialized cloning.") //
     public static final OptionKey<Boolean> TEST_CLONE_UNINITIALIZED = new OptionKey<>(false);
@@ -466,6 +480,16 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> LAZY_TRANSLATION = new OptionKey<>(false);
     @CompilationFinal private boolean lazyTranslation;
 
+    public static final String SNAPSHOT_DIRECTORY_NAME = JS_OPTION_PREFIX + "snapshot-directory";
+    @Option(name = SNAPSHOT_DIRECTORY_NAME, category = OptionCategory.EXPERT, usageSyntax = "<path>", help = "Directory with binary snapshots of scripts that are loaded instead of parsing the source.") //
+    public static final OptionKey<String> SNAPSHOT_DIRECTORY = new OptionKey<>("");
+    @CompilationFinal private String snapshotDirectory;
+
+    public static final String CODE_CACHE_DIRECTORY_NAME = JS_OPTION_PREFIX + "code-cache-directory";
+    @Option(name = CODE_CACHE_DIRECTORY_NAME, category = OptionCategory.EXPERT, usageSyntax = "<path>", help = "Directory in which binary snapshots of parsed scripts are stored and looked up by content hash.") //
+    public static final OptionKey<String> CODE_CACHE_DIRECTORY = new OptionKey<>("");
+    @CompilationFinal private String codeCacheDirectory;
+
     public static final String MAX_TYPED_ARRAY_LENGTH_NAME = JS_OPTION_PREFIX + "max-typed-array-length";
     @Option(name = MAX_TYPED_ARRAY_LENGTH_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum allowed length for TypedArrays.") //
     public static final OptionKey<Integer> MAX_TYPED_ARRAY_LENGTH = new OptionKey<>(JSConfig.MaxTypedArrayLength);
@@ -496,6 +520,11 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> FUNCTION_CACHE_LIMIT = new OptionKey<>(JSConfig.FunctionCacheLimit);
     @CompilationFinal private int functionCacheLimit;
 
+    public static final String MEGAMORPHIC_PROPERTY_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "megamorphic-property-cache-size";
+    @Option(name = MEGAMORPHIC_PROPERTY_CACHE_SIZE_NAME, category = OptionCategory.INTERNAL, usageSyntax = "<int>", help = "Number of entries of the property lookup cache shared by megamorphic property accesses (0 = disabled).") //
+    public static final OptionKey<Integer> MEGAMORPHIC_PROPERTY_CACHE_SIZE = new OptionKey<>(1024);
+    @CompilationFinal private int megamorphicPropertyCacheSize;
+
     public static final String TOP_LEVEL_AWAIT_NAME = JS_OPTION_PREFIX + "top-level-await";
     @Option(name = TOP_LEVEL_AWAIT_NAME, category = OptionCategory.EXPERT, help = "Enable top-level-await.")
     // defaulting to ecmascript-version>=2022
@@ -702,6 +731,7 @@ public final class JSContextOptions {
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
         this.regexCacheSize = readIntegerOption(REGEX_CACHE_SIZE);
+        this.moduleParseThreads = readIntegerOption(MODULE_PARSE_THREADS);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
         this.stringLazySubstrings = readBooleanOption(STRING_LAZY_SUBSTRINGS);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
@@ -709,6 +739,8 @@ public final class JSContextOptions {
         this.regexRegressionTestMode = readBooleanOption(REGEX_REGRESSION_TEST_MODE);
         this.testCloneUninitialized = readBooleanOption(TEST_CLONE_UNINITIALIZED);
         this.lazyTranslation = readBooleanOption(LAZY_TRANSLATION);
+        this.snapshotDirectory = SNAPSHOT_DIRECTORY.getValue(optionValues);
+        this.codeCacheDirectory = CODE_CACHE_DIRECTORY.getValue(optionValues);
         this.stackTraceLimit = readIntegerOption(STACK_TRACE_LIMIT);
         this.maxTypedArrayLength = readIntegerOption(MAX_TYPED_ARRAY_LENGTH);
         this.maxApplyArgumentLength = readIntegerOption(MAX_APPLY_ARGUMENT_LENGTH);
@@ -734,6 +766,8 @@ public final class JSContextOptions {
         this.temporal = readBooleanOption(TEMPORAL);
         this.propertyCacheLimit = readIntegerOption(PROPERTY_CACHE_LIMIT);
         this.functionCacheLimit = readIntegerOption(FUNCTION_CACHE_LIMIT);
+        this.megamorphicPropertyCacheSize = readIntegerOption(MEGAMORPHIC_PROPERTY_CACHE_SIZE);
+        this.keyAccessHistograms = readBooleanOption(KEY_ACCESS_HISTOGRAMS);
         this.scopeOptimization = readBooleanOption(SCOPE_OPTIMIZATION);
         this.v8Intrinsics = readBooleanOption(V8_INTRINSICS);
     }
@@ -784,6 +818,20 @@ public final class JSContextOptions {
         }
     }
 
+    /**
+     * Returns the names and values of all options in a stable textual form. Every option that
+     * affects parsing or translation is included, so the result can be used to key persistent
+     * caches of translated code.
+     */
+    public String getOptionValuesKey() {
+        CompilerAsserts.neverPartOfCompilation();
+        StringBuilder key = new StringBuilder();
+        for (OptionDescriptor desc : new JSContextOptionsOptionDescriptors()) {
+            key.append(desc.getName()).append('=').append(desc.getKey().getValue(optionValues)).append(';');
+        }
+        return key.toString();
+    }
+
     public <T> boolean optionWillChange(OptionKey<T> option, OptionValues newOptionValues) {
         return !option.getValue(this.optionValues).equals(option.getValue(newOptionValues));
     }
@@ -980,6 +1028,10 @@ public final class JSContextOptions {
         return POLYGLOT_BUILTIN.getValue(optionValues);
     }
 
+    public boolean isJSONParseBytes() {
+        return JSON_PARSE_BYTES.getValue(optionValues);
+    }
+
     public boolean isPolyglotEvalFile() {
         return POLYGLOT_EVALFILE.getValue(optionValues);
     }
@@ -1031,6 +1083,10 @@ public final class JSContextOptions {
         return regexCacheSize;
     }
 
+    public int getModuleParseThreads() {
+        return moduleParseThreads;
+    }
+
     public int getStringLengthLimit() {
         return stringLengthLimit;
     }
@@ -1065,6 +1121,18 @@ public final class JSContextOptions {
         return lazyTranslation;
     }
 
+    public String getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    public String getCodeCacheDirectory() {
+        return codeCacheDirectory;
+    }
+
+    public boolean isKeyAccessHistograms() {
+        return keyAccessHistograms;
+    }
+
     public boolean isProfileTimePrintCumulative() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option profile-time-print-cumulative was assumed not to be accessed in compiled code.");
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
@@ -1094,6 +1162,10 @@ public final class JSContextOptions {
         return functionCacheLimit;
     }
 
+    public int getMegamorphicPropertyCacheSize() {
+        return megamorphicPropertyCacheSize;
+    }
+
     public boolean isAsyncStackTraces() {
         return asyncStackTraces;
     }
@@ -1196,6 +1268,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
         hash = 53 * hash + this.regexCacheSize;
+        hash = 53 * hash + this.moduleParseThreads;
         hash = 53 * hash + this.stringLengthLimit;
         hash = 53 * hash + (this.stringLazySubstrings ? 1 : 0);
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
@@ -1203,6 +1276,8 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.regexRegressionTestMode ? 1 : 0);
         hash = 53 * hash + (this.testCloneUninitialized ? 1 : 0);
         hash = 53 * hash + (this.lazyTranslation ? 1 : 0);
+        hash = 53 * hash + this.snapshotDirectory.hashCode();
+        hash = 53 * hash + this.codeCacheDirectory.hashCode();
         hash = 53 * hash + this.stackTraceLimit;
         hash = 53 * hash + (this.asyncStackTraces ? 1 : 0);
         hash = 53 * hash + this.maxTypedArrayLength;
@@ -1210,6 +1285,8 @@ public final class JSContextOptions {
         hash = 53 * hash + this.maxPrototypeChainLength;
         hash = 53 * hash + this.propertyCacheLimit;
         hash = 53 * hash + this.functionCacheLimit;
+        hash = 53 * hash + this.megamorphicPropertyCacheSize;
+        hash = 53 * hash + (this.keyAccessHistograms ? 1 : 0);
         hash = 53 * hash + (this.topLevelAwait ? 1 : 0);
         hash = 53 * hash + (this.useUTCForLegacyDates ? 1 : 0);
         hash = 53 * hash + (this.webAssembly ? 1 : 0);
@@ -1335,6 +1412,9 @@ public final class JSContextOptions {
         if (this.regexCacheSize != other.regexCacheSize) {
             return false;
         }
+        if (this.moduleParseThreads != other.moduleParseThreads) {
+            return false;
+        }
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
@@ -1356,6 +1436,12 @@ public final class JSContextOptions {
         if (this.lazyTranslation != other.lazyTranslation) {
             return false;
         }
+        if (!this.snapshotDirectory.equals(other.snapshotDirectory)) {
+            return false;
+        }
+        if (!this.codeCacheDirectory.equals(other.codeCacheDirectory)) {
+            return false;
+        }
         if (this.stackTraceLimit != other.stackTraceLimit) {
             return false;
         }
@@ -1377,6 +1463,12 @@ public final class JSContextOptions {
         if (this.functionCacheLimit != other.functionCacheLimit) {
             return false;
         }
+        if (this.megamorphicPropertyCacheSize != other.megamorphicPropertyCacheSize) {
+            return false;
+        }
+        if (this.keyAccessHistograms != other.keyAccessHistograms) {
+            return false;
+        }
         if (this.topLevelAwait != other.topLevelAwait) {
             return false;
         }
@@ -56,6 +56,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.SplittableRandom;
 import java.util.WeakHashMap;
+import java.util.function.Function;
 
 import org.graalvm.collections.Pair;
 import org.graalvm.home.HomeFinder;
@@ -86,7 +87,6 @@ import com.oracle.truffle.api.nodes.LanguageInfo;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
-import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.builtins.ArrayIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.AsyncIteratorHelperPrototypeBuiltins;
@@ -138,6 +138,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.builtins.JSGlobal;
+import com.oracle.truffle.js.runtime.builtins.JSGlobalObject;
 import com.oracle.truffle.js.runtime.builtins.JSIterator;
 import com.oracle.truffle.js.runtime.builtins.JSMap;
 import com.oracle.truffle.js.runtime.builtins.JSMath;
@@ -206,7 +207,7 @@ import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
-import com.oracle.truffle.js.runtime.util.LRUCache;
+import com.oracle.truffle.js.runtime.util.ModuleParseExecutor;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
@@ -257,24 +258,8 @@ public class JSRealm {
     private final JSDynamicObject stringPrototype;
     private final JSFunctionObject regExpConstructor;
     private final JSDynamicObject regExpPrototype;
-    private final JSFunctionObject collatorConstructor;
-    private final JSDynamicObject collatorPrototype;
-    private final JSFunctionObject numberFormatConstructor;
-    private final JSDynamicObject numberFormatPrototype;
-    private final JSFunctionObject pluralRulesConstructor;
-    private final JSDynamicObject pluralRulesPrototype;
-    private final JSFunctionObject listFormatConstructor;
-    private final JSDynamicObject listFormatPrototype;
-    private final JSFunctionObject dateTimeFormatConstructor;
-    private final JSDynamicObject dateTimeFormatPrototype;
-    private final JSFunctionObject relativeTimeFormatConstructor;
-    private final JSDynamicObject relativeTimeFormatPrototype;
-    private final JSFunctionObject segmenterConstructor;
-    private final JSDynamicObject segmenterPrototype;
-    private final JSFunctionObject displayNamesConstructor;
-    private final JSDynamicObject displayNamesPrototype;
-    private final JSFunctionObject localeConstructor;
-    private final JSDynamicObject localePrototype;
+    /** Intl constructors and prototypes, created on first use. */
+    @CompilationFinal private IntlIntrinsics intlIntrinsics;
     private final JSFunctionObject dateConstructor;
     private final JSDynamicObject datePrototype;
     @CompilationFinal(dimensions = 1) private final JSDynamicObject[] errorConstructors;
@@ -365,8 +350,6 @@ public class JSRealm {
     private final JSDynamicObject mapIteratorPrototype;
     private final JSDynamicObject asyncIteratorHelperPrototype;
     private final JSDynamicObject iteratorHelperPrototype;
-    private final JSDynamicObject segmentsPrototype;
-    private final JSDynamicObject segmentIteratorPrototype;
     private final JSDynamicObject stringIteratorPrototype;
     private final JSDynamicObject regExpStringIteratorPrototype;
     private final JSDynamicObject enumerateIteratorPrototype;
@@ -508,6 +491,12 @@ public class JSRealm {
 
     private final JSConsoleUtil consoleUtil;
     private JSModuleLoader moduleLoader;
+
+    /**
+     * Background threads used to parse statically imported modules ahead of time, created on first
+     * use. Only used in the top-level realm.
+     */
+    private ModuleParseExecutor moduleParseExecutor;
     private long lastAsyncEvaluationOrder;
 
     /**
@@ -557,11 +546,6 @@ public class JSRealm {
      */
     private final SimpleArrayList<Object> joinStack = new SimpleArrayList<>();
 
-    /**
-     * Cache of least recently compiled compiled regular expressions.
-     */
-    private Map<Source, Object> compiledRegexCache;
-
     /**
      * Private MLE-only custom Path resolution callback for ESM.
      */
@@ -754,36 +738,6 @@ public class JSRealm {
         this.stringIteratorPrototype = es6 ? createStringIteratorPrototype() : null;
         this.regExpStringIteratorPrototype = ecmaScriptVersion >= JSConfig.ECMAScript2019 ? createRegExpStringIteratorPrototype() : null;
 
-        ctor = JSCollator.createConstructor(this);
-        this.collatorConstructor = ctor.getFunctionObject();
-        this.collatorPrototype = ctor.getPrototype();
-        ctor = JSNumberFormat.createConstructor(this);
-        this.numberFormatConstructor = ctor.getFunctionObject();
-        this.numberFormatPrototype = ctor.getPrototype();
-        ctor = JSDateTimeFormat.createConstructor(this);
-        this.dateTimeFormatConstructor = ctor.getFunctionObject();
-        this.dateTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSPluralRules.createConstructor(this);
-        this.pluralRulesConstructor = ctor.getFunctionObject();
-        this.pluralRulesPrototype = ctor.getPrototype();
-        ctor = JSListFormat.createConstructor(this);
-        this.listFormatConstructor = ctor.getFunctionObject();
-        this.listFormatPrototype = ctor.getPrototype();
-        ctor = JSRelativeTimeFormat.createConstructor(this);
-        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
-        this.relativeTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSSegmenter.createConstructor(this);
-        this.segmenterConstructor = ctor.getFunctionObject();
-        this.segmenterPrototype = ctor.getPrototype();
-        this.segmentsPrototype = JSSegmenter.createSegmentsPrototype(this);
-        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(this);
-        ctor = JSDisplayNames.createConstructor(this);
-        this.displayNamesConstructor = ctor.getFunctionObject();
-        this.displayNamesPrototype = ctor.getPrototype();
-        ctor = JSLocale.createConstructor(this);
-        this.localeConstructor = ctor.getFunctionObject();
-        this.localePrototype = ctor.getPrototype();
-
         if (es6) {
             ctor = JSFunction.createGeneratorFunctionConstructor(this);
             this.generatorFunctionConstructor = ctor.getFunctionObject();
@@ -1251,51 +1205,51 @@ public class JSRealm {
     }
 
     public final JSFunctionObject getCollatorConstructor() {
-        return collatorConstructor;
+        return getIntlIntrinsics().collatorConstructor;
     }
 
     public final JSDynamicObject getCollatorPrototype() {
-        return collatorPrototype;
+        return getIntlIntrinsics().collatorPrototype;
     }
 
     public final JSFunctionObject getNumberFormatConstructor() {
-        return numberFormatConstructor;
+        return getIntlIntrinsics().numberFormatConstructor;
     }
 
     public final JSDynamicObject getNumberFormatPrototype() {
-        return numberFormatPrototype;
+        return getIntlIntrinsics().numberFormatPrototype;
     }
 
     public final JSFunctionObject getPluralRulesConstructor() {
-        return pluralRulesConstructor;
+        return getIntlIntrinsics().pluralRulesConstructor;
     }
 
     public final JSDynamicObject getPluralRulesPrototype() {
-        return pluralRulesPrototype;
+        return getIntlIntrinsics().pluralRulesPrototype;
     }
 
     public final JSFunctionObject getListFormatConstructor() {
-        return listFormatConstructor;
+        return getIntlIntrinsics().listFormatConstructor;
     }
 
     public final JSDynamicObject getListFormatPrototype() {
-        return listFormatPrototype;
+        return getIntlIntrinsics().listFormatPrototype;
     }
 
     public final JSFunctionObject getRelativeTimeFormatConstructor() {
-        return relativeTimeFormatConstructor;
+        return getIntlIntrinsics().relativeTimeFormatConstructor;
     }
 
     public final JSDynamicObject getRelativeTimeFormatPrototype() {
-        return relativeTimeFormatPrototype;
+        return getIntlIntrinsics().relativeTimeFormatPrototype;
     }
 
     public final JSFunctionObject getDateTimeFormatConstructor() {
-        return dateTimeFormatConstructor;
+        return getIntlIntrinsics().dateTimeFormatConstructor;
     }
 
     public final JSDynamicObject getDateTimeFormatPrototype() {
-        return dateTimeFormatPrototype;
+        return getIntlIntrinsics().dateTimeFormatPrototype;
     }
 
     public final JSFunctionObject getDateConstructor() {
@@ -1307,27 +1261,27 @@ public class JSRealm {
     }
 
     public final JSFunctionObject getSegmenterConstructor() {
-        return segmenterConstructor;
+        return getIntlIntrinsics().segmenterConstructor;
     }
 
     public final JSDynamicObject getSegmenterPrototype() {
-        return segmenterPrototype;
+        return getIntlIntrinsics().segmenterPrototype;
     }
 
     public final JSFunctionObject getDisplayNamesConstructor() {
-        return displayNamesConstructor;
+        return getIntlIntrinsics().displayNamesConstructor;
     }
 
     public final JSDynamicObject getDisplayNamesPrototype() {
-        return displayNamesPrototype;
+        return getIntlIntrinsics().displayNamesPrototype;
     }
 
     public final JSFunctionObject getLocaleConstructor() {
-        return localeConstructor;
+        return getIntlIntrinsics().localeConstructor;
     }
 
     public final JSDynamicObject getLocalePrototype() {
-        return localePrototype;
+        return getIntlIntrinsics().localePrototype;
     }
 
     public final JSFunctionObject getSymbolConstructor() {
@@ -1735,11 +1689,11 @@ public class JSRealm {
     }
 
     public JSDynamicObject getSegmentsPrototype() {
-        return segmentsPrototype;
+        return getIntlIntrinsics().segmentsPrototype;
     }
 
     public JSDynamicObject getSegmentIteratorPrototype() {
-        return segmentIteratorPrototype;
+        return getIntlIntrinsics().segmentIteratorPrototype;
     }
 
     /**
@@ -1891,7 +1845,7 @@ public class JSRealm {
             putGlobalProperty(SHARED_ARRAY_BUFFER_CLASS_NAME, getSharedArrayBufferConstructor());
         }
         if (context.isOptionAtomics()) {
-            putGlobalProperty(ATOMICS_CLASS_NAME, createAtomics());
+            putLazyGlobalProperty(ATOMICS_CLASS_NAME, LAZY_ATOMICS_PROXY);
         }
         if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019) {
             putGlobalProperty(Strings.GLOBAL_THIS, global);
@@ -1915,7 +1869,7 @@ public class JSRealm {
             JSObjectUtil.putFunctionsFromContainer(this, global, OperatorsBuiltins.BUILTINS);
         }
         if (context.isOptionTemporal()) {
-            addTemporalGlobals();
+            putLazyGlobalProperty(TemporalConstants.TEMPORAL, LAZY_TEMPORAL_PROXY);
         }
         if (context.getContextOptions().isShadowRealm()) {
             putGlobalProperty(JSShadowRealm.CLASS_NAME, getShadowRealmConstructor());
@@ -2029,11 +1983,15 @@ public class JSRealm {
 
     private void addIntlGlobal() {
         if (context.isOptionIntl402()) {
-            putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject != null ? preinitIntlObject : createIntlObject());
+            if (preinitIntlObject != null) {
+                putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject);
+            } else {
+                putLazyGlobalProperty(JSIntl.CLASS_NAME, LAZY_INTL_PROXY);
+            }
         }
     }
 
-    private void addTemporalGlobals() {
+    private JSDynamicObject createTemporalObject() {
         assert context.isOptionTemporal();
         JSObject temporalObject = JSOrdinary.createInit(this);
         JSObjectUtil.putToStringTag(temporalObject, TemporalConstants.TEMPORAL);
@@ -2055,8 +2013,7 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(context, temporalObject, TemporalConstants.NOW, nowObject, flags);
         JSObjectUtil.putFunctionsFromContainer(this, nowObject, TemporalNowBuiltins.BUILTINS);
         JSObjectUtil.putToStringTag(nowObject, TemporalConstants.GLOBAL_TEMPORAL_NOW);
-
-        putGlobalProperty(TemporalConstants.TEMPORAL, temporalObject);
+        return temporalObject;
     }
 
     private JSDynamicObject createIntlObject() {
@@ -2149,6 +2106,14 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(getContext(), getGlobalObject(), key, value, attributes);
     }
 
+    /**
+     * Defines a global property whose value is only created on first access.
+     */
+    private void putLazyGlobalProperty(TruffleString key, LazyGlobalPropertyProxy proxy) {
+        assert proxy.key.equals(key);
+        JSObjectUtil.putProxyProperty(getGlobalObject(), key, proxy, JSAttributes.getDefaultNotEnumerable());
+    }
+
     private void putProperty(JSDynamicObject receiver, Object key, Object value) {
         JSObjectUtil.putDataProperty(getContext(), receiver, key, value, JSAttributes.getDefaultNotEnumerable());
     }
@@ -2777,6 +2742,36 @@ public class JSRealm {
         }
     }
 
+    /**
+     * Returns the executor for parsing modules in the background, or {@code null} if background
+     * module parsing is disabled. Must be called on the context thread.
+     */
+    @TruffleBoundary
+    public ModuleParseExecutor getModuleParseExecutor() {
+        if (parentRealm != null) {
+            return parentRealm.getModuleParseExecutor();
+        }
+        if (moduleParseExecutor == null) {
+            int threads = context.getContextOptions().getModuleParseThreads();
+            if (threads <= 0) {
+                return null;
+            }
+            moduleParseExecutor = new ModuleParseExecutor(getEnv(), threads);
+        }
+        return moduleParseExecutor;
+    }
+
+    /**
+     * Stops the background module parsing threads of this (top-level) realm, if any.
+     */
+    public void shutdownModuleParseExecutor() {
+        assert isMainRealm();
+        if (moduleParseExecutor != null) {
+            moduleParseExecutor.shutdown();
+            moduleParseExecutor = null;
+        }
+    }
+
     public final JSAgent getAgent() {
         assert agent != null;
         return agent;
@@ -2929,6 +2924,45 @@ public class JSRealm {
         return null;
     }
 
+    private static final LazyGlobalPropertyProxy LAZY_INTL_PROXY = new LazyGlobalPropertyProxy(JSIntl.CLASS_NAME, JSRealm::createIntlObject);
+    private static final LazyGlobalPropertyProxy LAZY_TEMPORAL_PROXY = new LazyGlobalPropertyProxy(TemporalConstants.TEMPORAL, JSRealm::createTemporalObject);
+    private static final LazyGlobalPropertyProxy LAZY_ATOMICS_PROXY = new LazyGlobalPropertyProxy(ATOMICS_CLASS_NAME, JSRealm::createAtomics);
+
+    /**
+     * Placeholder for a global property whose value is created by the realm of the global object on
+     * first access. The first read or write replaces the placeholder with an ordinary data property
+     * with the same attributes. The proxy is stateless so that global object shapes stay shareable.
+     */
+    private static final class LazyGlobalPropertyProxy extends PropertyProxy {
+        final TruffleString key;
+        private final Function<JSRealm, JSDynamicObject> valueFactory;
+
+        LazyGlobalPropertyProxy(TruffleString key, Function<JSRealm, JSDynamicObject> valueFactory) {
+            this.key = key;
+            this.valueFactory = valueFactory;
+        }
+
+        @TruffleBoundary
+        @Override
+        public Object get(JSDynamicObject store) {
+            JSDynamicObject value = valueFactory.apply(((JSGlobalObject) store).getRealm());
+            materialize(store, value);
+            return value;
+        }
+
+        @TruffleBoundary
+        @Override
+        public boolean set(JSDynamicObject store, Object value) {
+            materialize(store, value);
+            return true;
+        }
+
+        private void materialize(JSDynamicObject store, Object value) {
+            int attributes = store.getShape().getProperty(key).getFlags() & JSAttributes.ATTRIBUTES_MASK;
+            JSObjectUtil.defineDataProperty(store, key, value, attributes);
+        }
+    }
+
     private static final class RealmSharedPropertyProxy extends PropertyProxy {
         @Override
         public Object get(JSDynamicObject store) {
@@ -3221,6 +3255,85 @@ public class JSRealm {
         jsShortDateLocalFormat = null;
     }
 
+    private IntlIntrinsics getIntlIntrinsics() {
+        IntlIntrinsics intrinsics = intlIntrinsics;
+        if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, intrinsics == null)) {
+            enterOncePerContextBranch();
+            intrinsics = createIntlIntrinsics();
+        }
+        return intrinsics;
+    }
+
+    @TruffleBoundary
+    private IntlIntrinsics createIntlIntrinsics() {
+        IntlIntrinsics intrinsics = intlIntrinsics;
+        if (intrinsics == null) {
+            intrinsics = new IntlIntrinsics(this);
+            intlIntrinsics = intrinsics;
+        }
+        return intrinsics;
+    }
+
+    /**
+     * Constructors and prototypes of the ECMA-402 Internationalization API. They are created
+     * together on first use since most scripts never need them.
+     */
+    private static final class IntlIntrinsics {
+        final JSFunctionObject collatorConstructor;
+        final JSDynamicObject collatorPrototype;
+        final JSFunctionObject numberFormatConstructor;
+        final JSDynamicObject numberFormatPrototype;
+        final JSFunctionObject pluralRulesConstructor;
+        final JSDynamicObject pluralRulesPrototype;
+        final JSFunctionObject listFormatConstructor;
+        final JSDynamicObject listFormatPrototype;
+        final JSFunctionObject dateTimeFormatConstructor;
+        final JSDynamicObject dateTimeFormatPrototype;
+        final JSFunctionObject relativeTimeFormatConstructor;
+        final JSDynamicObject relativeTimeFormatPrototype;
+        final JSFunctionObject segmenterConstructor;
+        final JSDynamicObject segmenterPrototype;
+        final JSDynamicObject segmentsPrototype;
+        final JSDynamicObject segmentIteratorPrototype;
+        final JSFunctionObject displayNamesConstructor;
+        final JSDynamicObject displayNamesPrototype;
+        final JSFunctionObject localeConstructor;
+        final JSDynamicObject localePrototype;
+
+        IntlIntrinsics(JSRealm realm) {
+            JSConstructor ctor;
+            ctor = JSCollator.createConstructor(realm);
+            this.collatorConstructor = ctor.getFunctionObject();
+            this.collatorPrototype = ctor.getPrototype();
+            ctor = JSNumberFormat.createConstructor(realm);
+            this.numberFormatConstructor = ctor.getFunctionObject();
+            this.numberFormatPrototype = ctor.getPrototype();
+            ctor = JSDateTimeFormat.createConstructor(realm);
+            this.dateTimeFormatConstructor = ctor.getFunctionObject();
+            this.dateTimeFormatPrototype = ctor.getPrototype();
+            ctor = JSPluralRules.createConstructor(realm);
+            this.pluralRulesConstructor = ctor.getFunctionObject();
+            this.pluralRulesPrototype = ctor.getPrototype();
+            ctor = JSListFormat.createConstructor(realm);
+            this.listFormatConstructor = ctor.getFunctionObject();
+            this.listFormatPrototype = ctor.getPrototype();
+            ctor = JSRelativeTimeFormat.createConstructor(realm);
+            this.relativeTimeFormatConstructor = ctor.getFunctionObject();
+            this.relativeTimeFormatPrototype = ctor.getPrototype();
+            ctor = JSSegmenter.createConstructor(realm);
+            this.segmenterConstructor = ctor.getFunctionObject();
+            this.segmenterPrototype = ctor.getPrototype();
+            this.segmentsPrototype = JSSegmenter.createSegmentsPrototype(realm);
+            this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(realm);
+            ctor = JSDisplayNames.createConstructor(realm);
+            this.displayNamesConstructor = ctor.getFunctionObject();
+            this.displayNamesPrototype = ctor.getPrototype();
+            ctor = JSLocale.createConstructor(realm);
+            this.localeConstructor = ctor.getFunctionObject();
+            this.localePrototype = ctor.getPrototype();
+        }
+    }
+
     /**
      * Used in lazy initialization branch of compilation final fields that are set once per context.
      * Transfers to interpreter if this branch is entered with a single constant context.
@@ -3235,28 +3348,6 @@ public class JSRealm {
         return ++lastAsyncEvaluationOrder;
     }
 
-    @TruffleBoundary
-    public void putCachedCompiledRegex(Source regexSource, Object compiledRegex) {
-        int regexCacheSize = context.getContextOptions().getRegexCacheSize();
-        if (regexCacheSize > 0) {
-            if (compiledRegexCache == null) {
-                compiledRegexCache = new LRUCache<>(regexCacheSize);
-            }
-            compiledRegexCache.put(regexSource, compiledRegex);
-        }
-    }
-
-    @TruffleBoundary
-    public Object getCachedCompiledRegex(Source regexSource) {
-        int regexCacheSize = context.getContextOptions().getRegexCacheSize();
-        if (regexCacheSize > 0) {
-            if (compiledRegexCache != null) {
-                return compiledRegexCache.get(regexSource);
-            }
-        }
-        return null;
-    }
-
     public void storeParentPromise(JSDynamicObject promise) {
         parentPromise = promise;
     }
@@ -119,6 +119,7 @@ public final class JSRuntime {
     public static final int MIN_SAFE_INTEGER_IN_FLOAT = -MAX_SAFE_INTEGER_IN_FLOAT;
     public static final long MAX_BIG_INT_EXPONENT = Integer.MAX_VALUE;
     public static final long INVALID_SAFE_INTEGER = Long.MIN_VALUE;
+    public static final int DTOA_SHORTEST_MAX_LENGTH = DoubleConversion.kMaxShortestLength;
 
     public static final TruffleString VALUE = Strings.constant("value");
     public static final TruffleString DONE = Strings.constant("done");
@@ -1377,7 +1378,7 @@ public final class JSRuntime {
             return Strings.fromInt((int) d);
         }
 
-        return Strings.fromJavaString(formatDtoA(d));
+        return formatDtoAShortest(d);
     }
 
     @TruffleBoundary
@@ -1385,6 +1386,16 @@ public final class JSRuntime {
         return DoubleConversion.toShortest(value);
     }
 
+    /**
+     * Returns the shortest string representation of a finite number.
+     */
+    @TruffleBoundary
+    public static TruffleString formatDtoAShortest(double value) {
+        char[] buffer = new char[DTOA_SHORTEST_MAX_LENGTH];
+        int length = DoubleConversion.toShortest(value, buffer);
+        return Strings.fromCharArray(buffer, 0, length);
+    }
+
     @TruffleBoundary
     public static Object formatDtoAPrecision(double value, int precision) {
         return Strings.fromJavaString(DoubleConversion.toPrecision(value, precision));
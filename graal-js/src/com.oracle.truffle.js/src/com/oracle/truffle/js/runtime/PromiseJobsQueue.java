@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime;
+
+import java.util.Arrays;
+
+/**
+ * FIFO queue of pending jobs of an agent (ECMA 8.4 "PromiseJobs").
+ *
+ * A job is either a function object to be called without arguments, or a
+ * {@linkplain com.oracle.truffle.js.runtime.objects.PromiseReactionRecord promise reaction} and
+ * its argument. Reactions are stored directly, so that no job function object has to be created
+ * for them. Jobs are kept in a ring buffer with the job and its argument in consecutive slots. The
+ * buffer grows as needed and is shrunk by {@link #trim()} once the peak number of pending jobs
+ * has dropped well below its capacity.
+ */
+public final class PromiseJobsQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Pairs of job and argument; the capacity (number of pairs) is a power of 2. */
+    private Object[] jobs;
+    /** Index of the first pair. */
+    private int head;
+    private int size;
+    private int highWaterMark;
+    /** Maximum size since the last {@link #trim()}. */
+    private int peakSize;
+
+    public PromiseJobsQueue() {
+        this.jobs = new Object[INITIAL_CAPACITY << 1];
+    }
+
+    /**
+     * Returns the number of jobs the queue can hold without growing.
+     */
+    public int capacity() {
+        return jobs.length >> 1;
+    }
+
+    public void add(Object job, Object argument) {
+        assert job != null;
+        if (size == capacity()) {
+            grow();
+        }
+        int index = ((head + size) & (capacity() - 1)) << 1;
+        jobs[index] = job;
+        jobs[index + 1] = argument;
+        size++;
+        if (size > highWaterMark) {
+            highWaterMark = size;
+        }
+        if (size > peakSize) {
+            peakSize = size;
+        }
+    }
+
+    private void grow() {
+        int capacity = capacity();
+        Object[] newJobs = new Object[capacity << 2];
+        int headIndex = head << 1;
+        int headLength = jobs.length - headIndex;
+        System.arraycopy(jobs, headIndex, newJobs, 0, headLength);
+        System.arraycopy(jobs, 0, newJobs, headLength, headIndex);
+        jobs = newJobs;
+        head = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the first job, or {@code null} if the queue is empty.
+     */
+    public Object peekJob() {
+        return size == 0 ? null : jobs[head << 1];
+    }
+
+    /**
+     * Returns the argument of the first job.
+     */
+    public Object peekArgument() {
+        assert size > 0;
+        return jobs[(head << 1) + 1];
+    }
+
+    /**
+     * Removes the first job.
+     */
+    public void remove() {
+        assert size > 0;
+        int index = head << 1;
+        jobs[index] = null;
+        jobs[index + 1] = null;
+        head = (head + 1) & (capacity() - 1);
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(jobs, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Releases the buffer of an empty queue if the peak number of pending jobs since the last trim
+     * used no more than a quarter of it, so that a single burst of jobs does not retain a large
+     * buffer for the lifetime of the agent.
+     */
+    public void trim() {
+        if (size == 0 && peakSize <= capacity() >> 2 && capacity() > INITIAL_CAPACITY) {
+            int newCapacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(peakSize, 1) - 1) << 1);
+            jobs = new Object[newCapacity << 1];
+            head = 0;
+        }
+        peakSize = size;
+    }
+
+    /**
+     * Returns the maximum number of jobs that were pending at the same time since the queue was
+     * created or since the last {@link #resetHighWaterMark()}.
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void resetHighWaterMark() {
+        highWaterMark = size;
+    }
+}
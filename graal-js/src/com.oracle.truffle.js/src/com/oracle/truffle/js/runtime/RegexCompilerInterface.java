@@ -47,6 +47,7 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.util.ConcurrentLRUCache;
 
 public final class RegexCompilerInterface {
     private static final String REPEATED_REG_EXP_FLAG_MSG = "Repeated RegExp flag: %c";
@@ -65,8 +66,7 @@ public final class RegexCompilerInterface {
     }
 
     public static Object compile(String pattern, String flags, JSContext context, JSRealm realm, InteropLibrary isCompiledRegexNull) {
-        Source regexSource = createRegexSource(pattern, flags, context.getRegexOptions());
-        Object compiledRegex = compile(regexSource, flags, context, realm);
+        Object compiledRegex = compileCached(pattern, flags, context, realm);
         if (isCompiledRegexNull.isNull(compiledRegex)) {
             throw Errors.createSyntaxError("regular expression not supported");
         }
@@ -74,27 +74,42 @@ public final class RegexCompilerInterface {
     }
 
     @TruffleBoundary
-    private static Object compile(Source regexSource, String flags, JSContext context, JSRealm realm) {
-        Object compiledRegex = realm.getCachedCompiledRegex(regexSource);
-        if (compiledRegex != null) {
-            return compiledRegex;
+    private static Object compileCached(String pattern, String flags, JSContext context, JSRealm realm) {
+        String regexStr = createRegexString(pattern, flags, context.getRegexOptions());
+        ConcurrentLRUCache<String, Object> cache = context.getCompiledRegexCache();
+        if (cache != null) {
+            Object cachedRegex = cache.get(regexStr);
+            if (cachedRegex != null) {
+                return cachedRegex;
+            }
         }
         // RegexLanguage does its own validation of the flags. This call to validateFlags only
         // serves the purpose of mimicking the error messages of Nashorn and V8.
         validateFlags(flags, context.getEcmaScriptVersion(), context.isOptionNashornCompatibilityMode(), context.isOptionRegexpMatchIndices());
+        Object compiledRegex;
         try {
-            compiledRegex = realm.getEnv().parseInternal(regexSource).call();
-            realm.putCachedCompiledRegex(regexSource, compiledRegex);
+            compiledRegex = realm.getEnv().parseInternal(createRegexSource(regexStr)).call();
         } catch (AbstractTruffleException e) {
             throw rethrowAsSyntaxError(e);
         }
+        if (cache != null) {
+            // another thread might have compiled the same regex in the meantime
+            compiledRegex = cache.putIfAbsent(regexStr, compiledRegex);
+        }
         return compiledRegex;
     }
 
+    private static String createRegexString(String pattern, String flags, String options) {
+        return options + '/' + pattern + '/' + flags;
+    }
+
+    private static Source createRegexSource(String regexStr) {
+        return Source.newBuilder("regex", regexStr, regexStr).mimeType("application/tregex").internal(true).build();
+    }
+
     @TruffleBoundary
     public static Source createRegexSource(String pattern, String flags, String options) {
-        String regexStr = options + '/' + pattern + '/' + flags;
-        return Source.newBuilder("regex", regexStr, regexStr).mimeType("application/tregex").internal(true).build();
+        return createRegexSource(createRegexString(pattern, flags, options));
     }
 
     @TruffleBoundary
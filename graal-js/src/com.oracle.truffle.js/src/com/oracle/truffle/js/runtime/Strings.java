@@ -819,6 +819,14 @@ public final class Strings {
         return node.execute(s, codePoint, length(s) << 1, 0, TruffleString.Encoding.UTF_16) >> 1;
     }
 
+    public static int hashCode(TruffleString s) {
+        return hashCode(TruffleString.HashCodeNode.getUncached(), s);
+    }
+
+    public static int hashCode(TruffleString.HashCodeNode node, TruffleString s) {
+        return node.execute(s, TruffleString.Encoding.UTF_16);
+    }
+
     public static boolean equals(TruffleString s1, TruffleString s2) {
         return equals(TruffleString.EqualNode.getUncached(), s1, s2);
     }
@@ -991,6 +999,14 @@ public final class Strings {
         return node.execute(chars, fromIndex, length);
     }
 
+    /**
+     * Decodes a range of UTF-8 encoded bytes. Invalid byte sequences are replaced by U+FFFD.
+     */
+    public static TruffleString fromUTF8ByteArray(byte[] bytes, int fromIndex, int length) {
+        TruffleString utf8 = TruffleString.FromByteArrayNode.getUncached().execute(bytes, fromIndex, length, TruffleString.Encoding.UTF_8, true);
+        return TruffleString.SwitchEncodingNode.getUncached().execute(utf8, TruffleString.Encoding.UTF_16);
+    }
+
     public static TruffleString intToHexString(char i) {
         return fromJavaString(Integer.toHexString(i));
     }
@@ -44,8 +44,10 @@ import static com.oracle.truffle.js.runtime.objects.JSObjectUtil.putConstructorP
 import static com.oracle.truffle.js.runtime.objects.JSObjectUtil.putFunctionsFromContainer;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
@@ -129,6 +131,38 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
         return context.trackAllocation(obj);
     }
 
+    /**
+     * Wraps a host {@link ByteBuffer} as an ArrayBuffer without copying its contents. Writable
+     * direct buffers become direct ArrayBuffers and array-backed buffers become heap ArrayBuffers
+     * sharing the backing array, so that typed array accesses do not have to go through interop.
+     *
+     * @return the ArrayBuffer or {@code null} if {@code buffer} is not a host ByteBuffer that can
+     *         be wrapped this way (e.g. a read-only buffer or a slice of a larger array).
+     */
+    @TruffleBoundary
+    public static JSArrayBufferObject wrapHostByteBuffer(JSContext context, JSRealm realm, Object buffer) {
+        TruffleLanguage.Env env = realm.getEnv();
+        if (!env.isHostObject(buffer)) {
+            return null;
+        }
+        Object hostObject = env.asHostObject(buffer);
+        if (!(hostObject instanceof ByteBuffer)) {
+            return null;
+        }
+        ByteBuffer byteBuffer = (ByteBuffer) hostObject;
+        if (byteBuffer.limit() != byteBuffer.capacity()) {
+            return null;
+        }
+        if (DirectByteBufferHelper.isWritableDirectByteBuffer(byteBuffer)) {
+            // Own position, limit and byte order, so that later changes to the host buffer's
+            // limit cannot shrink the ArrayBuffer.
+            return createDirectArrayBuffer(context, realm, DirectByteBufferHelper.cast(byteBuffer.duplicate().order(ByteOrder.nativeOrder())));
+        } else if (byteBuffer.hasArray() && byteBuffer.arrayOffset() == 0 && byteBuffer.array().length == byteBuffer.capacity()) {
+            return createArrayBuffer(context, realm, byteBuffer.array());
+        }
+        return null;
+    }
+
     @Override
     public JSDynamicObject createPrototype(JSRealm realm, JSFunctionObject ctor) {
         JSContext context = realm.getContext();
@@ -66,7 +66,7 @@ public final class JSGlobal extends JSNonProxy {
         CompilerAsserts.neverPartOfCompilation();
         JSContext context = realm.getContext();
         JSObjectFactory factory = context.getGlobalObjectFactory();
-        JSObject global = new JSGlobalObject(factory.getShape(realm));
+        JSObject global = new JSGlobalObject(factory.getShape(realm), realm);
         factory.initProto(global, objectPrototype);
 
         JSObjectUtil.putToStringTag(global, CLASS_NAME);
@@ -85,7 +85,7 @@ public final class JSGlobal extends JSNonProxy {
 
     public static JSObject createGlobalScope(JSContext context) {
         CompilerAsserts.neverPartOfCompilation();
-        return new JSGlobalObject(context.getGlobalScopeShape());
+        return new JSGlobalObject(context.getGlobalScopeShape(), null);
     }
 
     public static boolean isJSGlobalObject(Object obj) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -42,11 +42,22 @@ package com.oracle.truffle.js.runtime.builtins;
 
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.objects.JSNonProxyObject;
 
 public final class JSGlobalObject extends JSNonProxyObject {
-    protected JSGlobalObject(Shape shape) {
+    private final JSRealm realm;
+
+    protected JSGlobalObject(Shape shape, JSRealm realm) {
         super(shape);
+        this.realm = realm;
+    }
+
+    /**
+     * Returns the realm this object is the global object of, or {@code null} for the global scope.
+     */
+    public JSRealm getRealm() {
+        return realm;
     }
 
     @Override
@@ -40,9 +40,12 @@
  */
 package com.oracle.truffle.js.runtime.builtins;
 
+import java.nio.ByteOrder;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
@@ -163,4 +166,117 @@ public final class JSTypedArrayObject extends JSArrayBufferViewBase {
         // typed array elements are never insertable
         return false;
     }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public boolean hasBufferElements() {
+        return true;
+    }
+
+    @ExportMessage
+    public boolean isBufferWritable(
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException {
+        return bufferInterop.isBufferWritable(arrayBuffer);
+    }
+
+    @ExportMessage
+    public long getBufferSize(
+                    @CachedLibrary("this") InteropLibrary self) {
+        return JSArrayBufferView.getByteLength(this, language(self).getJSContext());
+    }
+
+    /**
+     * Checks that the access is within the bounds of this view and translates the view-relative
+     * byte offset to an offset into the underlying ArrayBuffer.
+     */
+    private long toBufferOffset(InteropLibrary self, long byteOffset, int accessLength) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (byteOffset < 0 || byteOffset > self.getBufferSize(this) - accessLength) {
+            throw InvalidBufferOffsetException.create(byteOffset, accessLength);
+        }
+        return arrayType.getOffset(this) + byteOffset;
+    }
+
+    @ExportMessage
+    public byte readBufferByte(long byteOffset,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return bufferInterop.readBufferByte(arrayBuffer, toBufferOffset(self, byteOffset, Byte.BYTES));
+    }
+
+    @ExportMessage
+    public void writeBufferByte(long byteOffset, byte value,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        bufferInterop.writeBufferByte(arrayBuffer, toBufferOffset(self, byteOffset, Byte.BYTES), value);
+    }
+
+    @ExportMessage
+    public short readBufferShort(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return bufferInterop.readBufferShort(arrayBuffer, order, toBufferOffset(self, byteOffset, Short.BYTES));
+    }
+
+    @ExportMessage
+    public void writeBufferShort(ByteOrder order, long byteOffset, short value,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        bufferInterop.writeBufferShort(arrayBuffer, order, toBufferOffset(self, byteOffset, Short.BYTES), value);
+    }
+
+    @ExportMessage
+    public int readBufferInt(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return bufferInterop.readBufferInt(arrayBuffer, order, toBufferOffset(self, byteOffset, Integer.BYTES));
+    }
+
+    @ExportMessage
+    public void writeBufferInt(ByteOrder order, long byteOffset, int value,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        bufferInterop.writeBufferInt(arrayBuffer, order, toBufferOffset(self, byteOffset, Integer.BYTES), value);
+    }
+
+    @ExportMessage
+    public long readBufferLong(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return bufferInterop.readBufferLong(arrayBuffer, order, toBufferOffset(self, byteOffset, Long.BYTES));
+    }
+
+    @ExportMessage
+    public void writeBufferLong(ByteOrder order, long byteOffset, long value,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        bufferInterop.writeBufferLong(arrayBuffer, order, toBufferOffset(self, byteOffset, Long.BYTES), value);
+    }
+
+    @ExportMessage
+    public float readBufferFloat(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return bufferInterop.readBufferFloat(arrayBuffer, order, toBufferOffset(self, byteOffset, Float.BYTES));
+    }
+
+    @ExportMessage
+    public void writeBufferFloat(ByteOrder order, long byteOffset, float value,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        bufferInterop.writeBufferFloat(arrayBuffer, order, toBufferOffset(self, byteOffset, Float.BYTES), value);
+    }
+
+    @ExportMessage
+    public double readBufferDouble(ByteOrder order, long byteOffset,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return bufferInterop.readBufferDouble(arrayBuffer, order, toBufferOffset(self, byteOffset, Double.BYTES));
+    }
+
+    @ExportMessage
+    public void writeBufferDouble(ByteOrder order, long byteOffset, double value,
+                    @CachedLibrary("this") InteropLibrary self,
+                    @CachedLibrary("this.arrayBuffer") InteropLibrary bufferInterop) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        bufferInterop.writeBufferDouble(arrayBuffer, order, toBufferOffset(self, byteOffset, Double.BYTES), value);
+    }
 }
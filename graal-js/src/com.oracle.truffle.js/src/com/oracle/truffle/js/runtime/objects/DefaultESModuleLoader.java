@@ -50,6 +50,7 @@ import java.util.Objects;
 
 import com.oracle.js.parser.ir.Module.ModuleRequest;
 import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
@@ -59,6 +60,7 @@ import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.UserScriptException;
+import com.oracle.truffle.js.runtime.util.ModuleParseExecutor;
 
 public class DefaultESModuleLoader implements JSModuleLoader {
 
@@ -73,6 +75,17 @@ public class DefaultESModuleLoader implements JSModuleLoader {
     protected final JSRealm realm;
     protected final Map<String, JSModuleRecord> moduleMap = new HashMap<>();
 
+    /**
+     * Whether the loader is only resolving imported modules to parse them in the background.
+     */
+    private boolean prefetching;
+
+    /**
+     * Sources read by {@link #prefetchRequestedModules}, reused when the module is loaded so that
+     * the file is read only once.
+     */
+    private final Map<String, Source> prefetchedSources = new HashMap<>();
+
     public static DefaultESModuleLoader create(JSRealm realm) {
         return new DefaultESModuleLoader(realm);
     }
@@ -185,9 +198,26 @@ public class DefaultESModuleLoader implements JSModuleLoader {
             return existingModule;
         }
 
-        Source source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(Strings.toJavaString(moduleRequest.getSpecifier())).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
-        Map<TruffleString, TruffleString> assertions = moduleRequest.getAssertions();
         int moduleType = getModuleType(moduleFile.getName());
+        if (prefetching && !isModuleType(moduleType, JS_MODULE_TYPE)) {
+            return null;
+        }
+        String sourceName = Strings.toJavaString(moduleRequest.getSpecifier());
+        Source source = prefetchedSources.remove(canonicalPath);
+        if (source != null && !sourceName.equals(source.getName())) {
+            // imported under a different specifier, the source name must match it
+            discardPrefetchedModule(source);
+            source = null;
+        }
+        if (source == null) {
+            source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(sourceName).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
+        }
+        if (prefetching) {
+            prefetchedSources.put(canonicalPath, source);
+            realm.getContext().getEvaluator().prefetchModule(realm, source);
+            return null;
+        }
+        Map<TruffleString, TruffleString> assertions = moduleRequest.getAssertions();
         TruffleString assertedType = assertions.get(JSContext.getTypeImportAssertion());
         if (!doesModuleTypeMatchAssertionType(assertedType, moduleType)) {
             throw Errors.createTypeError("Invalid module type was asserted");
@@ -198,8 +228,10 @@ public class DefaultESModuleLoader implements JSModuleLoader {
         } else {
             JSModuleData parsedModule = realm.getContext().getEvaluator().envParseModule(realm, source);
             newModule = new JSModuleRecord(parsedModule, this);
+            discardPrefetchedModule(source);
         }
         moduleMap.put(canonicalPath, newModule);
+        prefetchRequestedModules(newModule);
 
         if (referrer != null) {
             referrer.rememberImportedModuleSource(moduleRequest.getSpecifier(), source);
@@ -207,6 +239,52 @@ public class DefaultESModuleLoader implements JSModuleLoader {
         return newModule;
     }
 
+    /**
+     * Starts parsing the modules statically imported by the given module in the background, so
+     * that they are (being) parsed by the time module linking loads them. Resolution and source
+     * loading happen on the current thread; modules that cannot be resolved are skipped, the error
+     * is reported by the regular load.
+     */
+    protected void prefetchRequestedModules(JSModuleRecord module) {
+        if (prefetching || module.getModule() == null || realm.getContext().getContextOptions().getModuleParseThreads() <= 0) {
+            return;
+        }
+        prefetching = true;
+        try {
+            for (ModuleRequest moduleRequest : module.getModule().getRequestedModules()) {
+                try {
+                    resolveImportedModule(module, moduleRequest);
+                } catch (AbstractTruffleException e) {
+                    // ignored, reported when the module is linked
+                }
+            }
+        } finally {
+            prefetching = false;
+        }
+    }
+
+    /**
+     * Drops the background parse result of a loaded module source. It is still pending if the
+     * module was not parsed, e.g. because it was loaded from the code cache.
+     */
+    private void discardPrefetchedModule(Source source) {
+        if (realm.getContext().getContextOptions().getModuleParseThreads() > 0) {
+            ModuleParseExecutor executor = realm.getModuleParseExecutor();
+            if (executor != null) {
+                executor.discard(source);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} while {@link #prefetchRequestedModules} resolves imported modules. In
+     * this mode, module resolution must not have side effects other than reading the module source
+     * and return {@code null} instead of a module record.
+     */
+    protected final boolean isPrefetching() {
+        return prefetching;
+    }
+
     private static boolean doesModuleTypeMatchAssertionType(TruffleString assertedType, int moduleType) {
         if (assertedType == null) {
             return true;
@@ -231,7 +309,15 @@ public class DefaultESModuleLoader implements JSModuleLoader {
     @Override
     public JSModuleRecord loadModule(Source source, JSModuleData moduleData) {
         String canonicalPath = getCanonicalPath(source);
-        return moduleMap.computeIfAbsent(canonicalPath, (key) -> new JSModuleRecord(moduleData, this));
+        JSModuleRecord existingModule = moduleMap.get(canonicalPath);
+        if (existingModule != null) {
+            return existingModule;
+        }
+        JSModuleRecord newModule = new JSModuleRecord(moduleData, this);
+        moduleMap.put(canonicalPath, newModule);
+        discardPrefetchedModule(source);
+        prefetchRequestedModules(newModule);
+        return newModule;
     }
 
     private String getCanonicalPath(Source source) {
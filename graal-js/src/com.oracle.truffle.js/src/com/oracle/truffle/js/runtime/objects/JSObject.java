@@ -84,6 +84,7 @@ import com.oracle.truffle.js.runtime.builtins.JSArrayBase;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSObjectPrototype;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSTypedArrayObject;
 import com.oracle.truffle.js.runtime.interop.InteropArray;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
@@ -126,19 +127,45 @@ public abstract class JSObject extends JSDynamicObject {
         return true;
     }
 
-    @ImportStatic({JSGuards.class, JSObject.class})
+    @ImportStatic({JSGuards.class, JSObject.class, JSConfig.class})
     @ExportMessage
     public abstract static class GetMembers {
+        @Specialization(guards = {"target.getShape() == cachedShape", "cachedMembers != null"}, limit = "PropertyCacheLimit")
+        public static Object shapeCached(@SuppressWarnings("unused") JSObject target, @SuppressWarnings("unused") boolean internal,
+                        @Cached("target.getShape()") @SuppressWarnings("unused") Shape cachedShape,
+                        @Cached("getShapeEnumerableMembers(cachedShape)") InteropArray cachedMembers) {
+            return cachedMembers;
+        }
+
         @Specialization(guards = {"cachedJSClass != null", "getJSClass(target) == cachedJSClass"})
         public static Object nonArrayCached(JSObject target, @SuppressWarnings("unused") boolean internal,
                         @Cached("getJSClass(target)") @SuppressWarnings("unused") JSClass cachedJSClass) {
-            return InteropArray.create(JSObject.enumerableOwnNames(target));
+            return enumerableOwnMembers(target);
         }
 
         @Specialization(replaces = "nonArrayCached")
         public static Object nonArrayUncached(JSObject target, @SuppressWarnings("unused") boolean internal) {
-            return InteropArray.create(JSObject.enumerableOwnNames(target));
+            return enumerableOwnMembers(target);
+        }
+    }
+
+    /**
+     * Returns the member keys shared by all objects with this shape, or {@code null} if the member
+     * keys of such objects are not determined by the shape alone.
+     */
+    static InteropArray getShapeEnumerableMembers(Shape shape) {
+        if (JSConfig.FastOwnKeys && JSShape.getJSClass(shape) instanceof JSOrdinary) {
+            return JSShape.getEnumerableMembers(shape);
+        }
+        return null;
+    }
+
+    static InteropArray enumerableOwnMembers(JSObject target) {
+        InteropArray members = getShapeEnumerableMembers(target.getShape());
+        if (members != null) {
+            return members;
         }
+        return InteropArray.create(JSObject.enumerableOwnNames(target));
     }
 
     @TruffleBoundary
@@ -54,6 +54,7 @@ import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSDictionary;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSOverloadedOperatorsObject;
+import com.oracle.truffle.js.runtime.interop.InteropArray;
 import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
 import com.oracle.truffle.js.runtime.util.UnmodifiablePropertyKeyList;
 
@@ -167,6 +168,15 @@ public final class JSShape {
         return JSShapeData.getEnumerablePropertyNames(shape);
     }
 
+    /**
+     * Returns the enumerable string-keyed property names as an immutable interop array that is
+     * shared by all objects with this shape.
+     */
+    public static InteropArray getEnumerableMembers(Shape shape) {
+        assert JSConfig.FastOwnKeys;
+        return JSShapeData.getEnumerableMembers(shape);
+    }
+
     public static UnmodifiableArrayList<Property> getPropertiesIfHasEnumerablePropertyNames(Shape shape) {
         assert JSConfig.FastOwnKeys;
         return JSShapeData.getPropertiesIfHasEnumerablePropertyNames(shape);
@@ -54,6 +54,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.interop.InteropArray;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
 import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
 import com.oracle.truffle.js.runtime.util.UnmodifiablePropertyKeyList;
@@ -66,6 +67,7 @@ import com.oracle.truffle.js.runtime.util.UnmodifiablePropertyKeyList;
 public final class JSShapeData {
     private static final Property[] EMPTY_PROPERTY_ARRAY = new Property[0];
     private static final TruffleString[] EMPTY_STRING_ARRAY = new TruffleString[0];
+    private static final InteropArray EMPTY_MEMBERS = InteropArray.create(EMPTY_STRING_ARRAY);
     private static final int UNKNOWN = -1;
 
     /** The position in the property array where strings end and symbols start. */
@@ -74,6 +76,8 @@ public final class JSShapeData {
     private Property[] propertyArray;
     /** Only enumerable properties with string keys (no symbols). */
     private TruffleString[] enumerablePropertyNames;
+    /** {@link #enumerablePropertyNames} as interop member keys, shared by all objects of the shape. */
+    private InteropArray enumerableMembers;
 
     private JSShapeData() {
     }
@@ -181,6 +185,22 @@ public final class JSShapeData {
         return asUnmodifiableList(shape.getPropertyCount() == 0 ? EMPTY_STRING_ARRAY : getEnumerablePropertyNamesArray(shape));
     }
 
+    @TruffleBoundary
+    private static InteropArray getEnumerableMembersArray(Shape shape) {
+        assert shape.getPropertyCount() != 0;
+        JSShapeData shapeData = getShapeData(shape);
+        InteropArray enumerableMembers = shapeData.enumerableMembers;
+        if (enumerableMembers == null) {
+            enumerableMembers = InteropArray.create(getEnumerablePropertyNamesArray(shapeData, shape));
+            shapeData.enumerableMembers = enumerableMembers;
+        }
+        return enumerableMembers;
+    }
+
+    static InteropArray getEnumerableMembers(Shape shape) {
+        return shape.getPropertyCount() == 0 ? EMPTY_MEMBERS : getEnumerableMembersArray(shape);
+    }
+
     @TruffleBoundary
     private static Property[] getPropertiesArrayIfHasEnumerablePropertyNames(Shape shape) {
         assert shape.getPropertyCount() != 0;
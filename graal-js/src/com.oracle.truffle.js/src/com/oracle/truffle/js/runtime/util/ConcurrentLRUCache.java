@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache for sharing between threads and contexts.
+ *
+ * Approximates LRU eviction using the CLOCK (second-chance) algorithm: a lookup only marks the
+ * entry as referenced, so that, unlike {@link LRUCache}, lookups never lock or reorder anything.
+ * When the cache grows beyond its maximum size, entries are evicted in insertion order, skipping
+ * (and unmarking) entries that were referenced since the last sweep.
+ */
+public final class ConcurrentLRUCache<K, V> {
+
+    private final int maxCacheSize;
+    private final ConcurrentHashMap<K, Entry<K, V>> map;
+    private final ConcurrentLinkedQueue<Entry<K, V>> clock;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ConcurrentLRUCache(int maxCacheSize) {
+        assert maxCacheSize > 0;
+        this.maxCacheSize = maxCacheSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maxCacheSize, 16));
+        this.clock = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Returns the value cached for the key, or {@code null} if there is none.
+     */
+    public V get(K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.markReferenced();
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Caches the value unless there is already a value cached for the key.
+     *
+     * @return the value that is cached for the key after this call.
+     */
+    public V putIfAbsent(K key, V value) {
+        Entry<K, V> newEntry = new Entry<>(key, value);
+        Entry<K, V> existing = map.putIfAbsent(key, newEntry);
+        if (existing != null) {
+            existing.markReferenced();
+            return existing.value;
+        }
+        clock.add(newEntry);
+        if (size.incrementAndGet() > maxCacheSize) {
+            evict();
+        }
+        return value;
+    }
+
+    private void evict() {
+        // Every entry is skipped at most once, unless it is referenced again concurrently.
+        int maxScan = 2 * maxCacheSize + 1;
+        for (int scanned = 0; scanned < maxScan && size.get() > maxCacheSize; scanned++) {
+            Entry<K, V> entry = clock.poll();
+            if (entry == null) {
+                break;
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+                clock.add(entry);
+            } else if (map.remove(entry.key, entry)) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        Entry<K, V> entry;
+        while ((entry = clock.poll()) != null) {
+            if (map.remove(entry.key, entry)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getMaxSize() {
+        return maxCacheSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentLRUCache [size=" + size() + ", maxSize=" + maxCacheSize + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+        volatile boolean referenced;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        void markReferenced() {
+            // avoid contended writes to the same cache line if already set
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+}
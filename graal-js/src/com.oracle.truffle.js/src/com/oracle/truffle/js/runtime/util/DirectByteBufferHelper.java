@@ -61,6 +61,14 @@ public final class DirectByteBufferHelper {
         return cast(allocateDirectImpl(length));
     }
 
+    /**
+     * Returns true if the buffer is a writable direct buffer that can be used as the backing store
+     * of a direct ArrayBuffer.
+     */
+    public static boolean isWritableDirectByteBuffer(ByteBuffer buffer) {
+        return buffer.getClass() == DIRECT_BYTE_BUFFER_CLASS;
+    }
+
     public static ByteBuffer cast(ByteBuffer buffer) {
         return CompilerDirectives.castExact(buffer, DIRECT_BYTE_BUFFER_CLASS);
     }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
+
+/**
+ * Fast path for parsing decimal number literals ({@code StrDecimalLiteral} without
+ * {@code Infinity}) directly from a string, without creating substrings or Java strings.
+ * <p>
+ * The significand is accumulated in a {@code long}, eight digits at a time where possible, and
+ * converted with {@link DoubleConversion#decimalToDouble}. Inputs with more than 19 significant
+ * digits, inputs that are not a complete decimal literal, and the rare cases the conversion
+ * cannot decide yield {@link Double#NaN}, and the caller has to use the exact parser instead.
+ */
+public final class FastDoubleParser {
+
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+    // larger exponents are left to the exact parser
+    private static final int MAX_EXPONENT = 100000;
+
+    private FastDoubleParser() {
+    }
+
+    /**
+     * Parses the characters of {@code s} from {@code fromIndex} to {@code toIndex} as a decimal
+     * literal with optional sign.
+     *
+     * @return the parsed value, or {@link Double#NaN} if the fast path is not applicable
+     */
+    public static double parse(TruffleString.ReadCharUTF16Node readNode, TruffleString s, int fromIndex, int toIndex) {
+        assert 0 <= fromIndex && fromIndex <= toIndex && toIndex <= Strings.length(s);
+        int i = fromIndex;
+        if (i == toIndex) {
+            return Double.NaN;
+        }
+        boolean negative = false;
+        char c = Strings.charAt(readNode, s, i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        long significand = 0;
+        int significantDigits;
+        int exponent = 0;
+        boolean anyDigits;
+
+        // integer part; leading zeros are not significant
+        int start = i;
+        while (i < toIndex && Strings.charAt(readNode, s, i) == '0') {
+            i++;
+        }
+        int digitsStart = i;
+        while (i + 8 <= toIndex) {
+            int chunk = parseEightDigits(readNode, s, i);
+            if (chunk < 0) {
+                break;
+            }
+            significand = significand * 100000000 + chunk;
+            i += 8;
+        }
+        while (i < toIndex && JSRuntime.isAsciiDigit(c = Strings.charAt(readNode, s, i))) {
+            significand = significand * 10 + (c - '0');
+            i++;
+        }
+        significantDigits = i - digitsStart;
+        anyDigits = i > start;
+
+        // fraction part
+        if (i < toIndex && Strings.charAt(readNode, s, i) == '.') {
+            i++;
+            int fractionStart = i;
+            if (significantDigits == 0) {
+                while (i < toIndex && Strings.charAt(readNode, s, i) == '0') {
+                    i++;
+                }
+            }
+            digitsStart = i;
+            while (i + 8 <= toIndex) {
+                int chunk = parseEightDigits(readNode, s, i);
+                if (chunk < 0) {
+                    break;
+                }
+                significand = significand * 100000000 + chunk;
+                i += 8;
+            }
+            while (i < toIndex && JSRuntime.isAsciiDigit(c = Strings.charAt(readNode, s, i))) {
+                significand = significand * 10 + (c - '0');
+                i++;
+            }
+            significantDigits += i - digitsStart;
+            exponent = fractionStart - i;
+            anyDigits |= i > fractionStart;
+        }
+        if (!anyDigits) {
+            return Double.NaN;
+        }
+
+        // exponent part
+        if (i < toIndex && ((c = Strings.charAt(readNode, s, i)) == 'e' || c == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < toIndex && ((c = Strings.charAt(readNode, s, i)) == '-' || c == '+')) {
+                negativeExponent = c == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int exponentValue = 0;
+            while (i < toIndex && JSRuntime.isAsciiDigit(c = Strings.charAt(readNode, s, i))) {
+                exponentValue = exponentValue * 10 + (c - '0');
+                if (exponentValue >= MAX_EXPONENT) {
+                    return Double.NaN;
+                }
+                i++;
+            }
+            if (i == exponentStart) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+        if (i != toIndex || significantDigits > MAX_SIGNIFICANT_DIGITS) {
+            return Double.NaN;
+        }
+        return DoubleConversion.decimalToDouble(significand, exponent, negative);
+    }
+
+    /**
+     * Reads eight characters starting at {@code index} and returns their value if they are all
+     * ASCII digits, otherwise -1. The characters are packed into a {@code long} so that they can
+     * be validated and converted with a few arithmetic operations on all digits at once.
+     */
+    private static int parseEightDigits(TruffleString.ReadCharUTF16Node readNode, TruffleString s, int index) {
+        long chars = 0;
+        int any = 0;
+        for (int k = 0; k < 8; k++) {
+            char c = Strings.charAt(readNode, s, index + k);
+            any |= c;
+            chars |= (long) (c & 0xFF) << (k * 8);
+        }
+        if ((any & 0xFF00) != 0 || !isEightDigits(chars)) {
+            return -1;
+        }
+        long value = chars - 0x3030303030303030L;
+        value = (value * 10) + (value >>> 8);
+        value = (((value & 0x000000FF000000FFL) * (100 + (1000000L << 32))) + (((value >>> 16) & 0x000000FF000000FFL) * (1 + (10000L << 32)))) >>> 32;
+        return (int) value;
+    }
+
+    private static boolean isEightDigits(long chars) {
+        return (((chars & 0xF0F0F0F0F0F0F0F0L) | (((chars + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,12 +40,29 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Strings;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * Entries are kept in insertion order in parallel key/value arrays, with hash buckets chaining
+ * through entry indices (similar to V8's OrderedHashTable). Removed entries leave a tombstone
+ * behind that is dropped when the table is rehashed. Since a rehash or {@link #clear()} moves
+ * entries to new arrays, the old {@link Store} keeps a link to its successor and enough
+ * information for live cursors to find their position in the new store.
+ *
+ * Keys are expected to be normalized (see {@code JSCollectionsNormalizeNode}), i.e., integral
+ * doubles are stored as {@link Integer}, and there is no {@code -0}. Hashing and comparison of
+ * {@link Integer} and {@link Double} keys is specialized to avoid virtual calls.
+ *
+ * The {@code int}, {@code double}, and {@link TruffleString} key variants of the operations are not
+ * behind a {@link TruffleBoundary}, so that they can be partially evaluated; only growing and
+ * shrinking the table is.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -72,21 +89,25 @@ public final class JSHashMap {
         Cursor copy();
     }
 
-    private final HashMap<Object, Node> map;
-    private final Node head;
-    private Node tail;
+    /** Number of buckets of a new (or cleared) map. Must be a power of 2. */
+    private static final int INITIAL_BUCKETS = 2;
+    /** Number of entries per bucket (i.e. maximum load factor). */
+    private static final int LOAD_FACTOR = 2;
+    private static final int MAX_BUCKETS = 1 << 29;
+
+    /** End of bucket chain marker. */
+    static final int NOT_FOUND = -1;
+
+    private Store store;
+    private int size;
 
     @TruffleBoundary(allowInlining = true)
     public JSHashMap() {
-        this.map = new HashMap<>();
-        Node dummy = new Node(null, null, null, null);
-        this.head = dummy;
-        this.tail = dummy;
+        this.store = new Store(INITIAL_BUCKETS);
     }
 
-    @TruffleBoundary(allowInlining = true)
     public int size() {
-        return map.size();
+        return size;
     }
 
     /**
@@ -94,172 +115,445 @@ public final class JSHashMap {
      */
     @TruffleBoundary
     public void put(Object key, Object value) {
-        Node newNode = new Node(key, value, null, null);
-        Node oldNode = map.putIfAbsent(key, newNode);
-        if (oldNode == null) {
-            newNode.setPrev(tail);
-            tail.setNext(newNode);
-            tail = newNode;
+        assert key != null && value != null;
+        int hash = hash(key);
+        int index = store.find(hash, key);
+        if (index != NOT_FOUND) {
+            store.values[index] = value;
         } else {
-            oldNode.setValue(value);
+            insert(hash, key, value);
         }
     }
 
     @TruffleBoundary
     public Object get(Object key) {
-        Node node = map.get(key);
-        return node == null ? null : node.getValue();
+        int index = store.find(hash(key), key);
+        return index == NOT_FOUND ? null : store.values[index];
     }
 
     @TruffleBoundary
     public boolean has(Object key) {
-        return map.containsKey(key);
+        return store.find(hash(key), key) != NOT_FOUND;
     }
 
     @TruffleBoundary
     public boolean remove(Object key) {
-        Node node = map.remove(key);
-        if (node == null) {
+        int index = store.find(hash(key), key);
+        if (index == NOT_FOUND) {
             return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Insert new entry, if key does not already exist, otherwise update the existing entry's value.
+     * Specialization of {@link #put(Object, Object)} for {@code int} keys.
+     */
+    public void putInt(int key, Object value) {
+        assert value != null;
+        int hash = hashInt(key);
+        int index = store.findInt(hash, key);
+        if (index != NOT_FOUND) {
+            store.values[index] = value;
         } else {
-            unlink(node);
-            return true;
+            insert(hash, key, value);
         }
     }
 
-    private void unlink(Node node) {
-        Node next = node.getNext();
-        Node prev = node.getPrev();
-        prev.setNext(next);
-        if (next != null) {
-            next.setPrev(prev);
+    public Object getInt(int key) {
+        int index = store.findInt(hashInt(key), key);
+        return index == NOT_FOUND ? null : store.values[index];
+    }
+
+    public boolean hasInt(int key) {
+        return store.findInt(hashInt(key), key) != NOT_FOUND;
+    }
+
+    public boolean removeInt(int key) {
+        int index = store.findInt(hashInt(key), key);
+        if (index == NOT_FOUND) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Insert new entry, if key does not already exist, otherwise update the existing entry's value.
+     * Specialization of {@link #put(Object, Object)} for normalized (i.e. non-integral) {@code double}
+     * keys.
+     */
+    public void putDouble(double key, Object value) {
+        assert value != null && isNormalizedDouble(key);
+        int hash = hashDouble(key);
+        int index = store.findDouble(hash, key);
+        if (index != NOT_FOUND) {
+            store.values[index] = value;
         } else {
-            tail = prev;
+            insert(hash, key, value);
         }
-        node.setEmpty();
     }
 
-    @TruffleBoundary
-    public void clear() {
-        map.clear();
-        for (Node current = head.getNext(); current != null; current = current.getNext()) {
-            current.setEmpty();
+    public Object getDouble(double key) {
+        assert isNormalizedDouble(key);
+        int index = store.findDouble(hashDouble(key), key);
+        return index == NOT_FOUND ? null : store.values[index];
+    }
+
+    public boolean hasDouble(double key) {
+        assert isNormalizedDouble(key);
+        return store.findDouble(hashDouble(key), key) != NOT_FOUND;
+    }
+
+    /**
+     * Insert new entry, if key does not already exist, otherwise update the existing entry's value.
+     * Specialization of {@link #put(Object, Object)} for string keys.
+     */
+    public void putString(TruffleString key, Object value, TruffleString.HashCodeNode hashCodeNode, TruffleString.EqualNode equalNode) {
+        assert value != null;
+        int hash = hashString(hashCodeNode, key);
+        int index = store.findString(hash, key, equalNode);
+        if (index != NOT_FOUND) {
+            store.values[index] = value;
+        } else {
+            insert(hash, key, value);
         }
-        head.setNext(null);
-        tail = head;
     }
 
-    @TruffleBoundary
-    @Override
-    public String toString() {
-        return map.toString();
+    public Object getString(TruffleString key, TruffleString.HashCodeNode hashCodeNode, TruffleString.EqualNode equalNode) {
+        int index = store.findString(hashString(hashCodeNode, key), key, equalNode);
+        return index == NOT_FOUND ? null : store.values[index];
     }
 
-    public Cursor getEntries() {
-        return new CursorImpl(head);
+    public boolean hasString(TruffleString key, TruffleString.HashCodeNode hashCodeNode, TruffleString.EqualNode equalNode) {
+        return store.findString(hashString(hashCodeNode, key), key, equalNode) != NOT_FOUND;
     }
 
-    private static final class CursorImpl implements Cursor {
-        private Node current;
+    private void insert(int hash, Object key, Object value) {
+        Store s = store;
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, s.used == s.capacity())) {
+            s = grow();
+        }
+        s.append(hash, key, value);
+        size++;
+    }
 
-        CursorImpl(Node head) {
-            this.current = head;
+    private void removeAt(int index) {
+        Store s = store;
+        s.keys[index] = null;
+        s.values[index] = null;
+        s.deleted++;
+        size--;
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, s.buckets.length > INITIAL_BUCKETS && size < (s.capacity() >>> 2))) {
+            rehash(s.buckets.length >>> 1);
         }
+    }
 
-        @Override
-        public boolean advance() {
-            if (current == null) {
-                return false;
+    /**
+     * Makes room for at least one more entry, either by compacting away tombstones or by doubling
+     * the number of buckets.
+     */
+    @TruffleBoundary
+    private Store grow() {
+        Store s = store;
+        int bucketCount = s.buckets.length;
+        if (s.deleted < (s.capacity() >>> 1)) {
+            if (bucketCount >= MAX_BUCKETS) {
+                throw new OutOfMemoryError();
+            }
+            bucketCount <<= 1;
+        }
+        return rehash(bucketCount);
+    }
+
+    @TruffleBoundary
+    private Store rehash(int bucketCount) {
+        Store oldStore = store;
+        Store newStore = new Store(bucketCount);
+        int[] removed = new int[oldStore.deleted];
+        int removedCount = 0;
+        for (int i = 0; i < oldStore.used; i++) {
+            Object key = oldStore.keys[i];
+            if (key == null) {
+                removed[removedCount++] = i;
             } else {
-                // if current is no longer in the map, back up to a previous node still in the map
-                while (current.isEmpty() && current.getPrev() != null) {
-                    current = current.getPrev();
+                newStore.append(oldStore.hashes[i], key, oldStore.values[i]);
+            }
+        }
+        assert removedCount == removed.length && newStore.used == size;
+        oldStore.obsolete(newStore, removed);
+        store = newStore;
+        return newStore;
+    }
+
+    @TruffleBoundary
+    public void clear() {
+        Store oldStore = store;
+        Store newStore = new Store(INITIAL_BUCKETS);
+        oldStore.obsolete(newStore, null);
+        Arrays.fill(oldStore.keys, 0, oldStore.used, null);
+        Arrays.fill(oldStore.values, 0, oldStore.used, null);
+        store = newStore;
+        size = 0;
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        Store s = store;
+        boolean first = true;
+        for (int i = 0; i < s.used; i++) {
+            Object key = s.keys[i];
+            if (key != null) {
+                if (!first) {
+                    sb.append(", ");
                 }
-                Node next = current.getNext();
-                assert next == null || next.getKey() != null;
-                current = next;
-                return next != null;
+                sb.append(key).append('=').append(s.values[i]);
+                first = false;
             }
         }
+        return sb.append('}').toString();
+    }
 
-        @Override
-        public Object getKey() {
-            Object key = current.getKey();
-            assert key != null;
-            return key;
+    public Cursor getEntries() {
+        return new CursorImpl(store, -1);
+    }
+
+    static int hash(Object key) {
+        if (key instanceof Integer) {
+            return hashInt((int) key);
+        } else if (key instanceof Double) {
+            return hashDouble((double) key);
+        } else if (key instanceof TruffleString) {
+            return spread(Strings.hashCode((TruffleString) key));
+        } else {
+            return spread(key.hashCode());
         }
+    }
 
-        @Override
-        public Object getValue() {
-            Object value = current.getValue();
-            assert value != null;
-            return value;
+    static int hashInt(int key) {
+        return spread(key);
+    }
+
+    static int hashDouble(double key) {
+        return spread(Double.hashCode(key));
+    }
+
+    static int hashString(TruffleString.HashCodeNode hashCodeNode, TruffleString key) {
+        return spread(Strings.hashCode(hashCodeNode, key));
+    }
+
+    private static boolean isNormalizedDouble(double key) {
+        return !(key == (int) key);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Backing arrays of the hash map. Replaced by a new store on rehash and clear.
+     */
+    static final class Store {
+        /** First entry index per bucket, or {@link JSHashMap#NOT_FOUND}. */
+        final int[] buckets;
+        /** Next entry index in the same bucket, or {@link JSHashMap#NOT_FOUND}. */
+        final int[] chain;
+        /** Cached key hashes, so that rehashing does not have to call {@code hashCode()}. */
+        final int[] hashes;
+        /** Keys in insertion order; {@code null} marks a removed entry. */
+        final Object[] keys;
+        final Object[] values;
+        /** Number of entry slots in use, including removed entries. */
+        int used;
+        /** Number of removed entries. */
+        int deleted;
+
+        /** The store that replaced this one, or {@code null} if this store is still in use. */
+        Store successor;
+        /**
+         * Sorted indices of the entries removed during the transition to {@link #successor}, or
+         * {@code null} if the map has been cleared.
+         */
+        int[] removedIndices;
+
+        Store(int bucketCount) {
+            assert Integer.bitCount(bucketCount) == 1;
+            int capacity = bucketCount * LOAD_FACTOR;
+            this.buckets = new int[bucketCount];
+            Arrays.fill(buckets, NOT_FOUND);
+            this.chain = new int[capacity];
+            this.hashes = new int[capacity];
+            this.keys = new Object[capacity];
+            this.values = new Object[capacity];
         }
 
-        @Override
-        public String toString() {
-            return "Cursor [current=" + current + "]";
+        int capacity() {
+            return keys.length;
         }
 
-        @Override
-        public Cursor copy() {
-            return new CursorImpl(current);
+        int bucketOf(int hash) {
+            return hash & (buckets.length - 1);
         }
-    }
 
-    private static final class Node {
-        private Object key;
-        private Object value;
-        private Node prev;
-        private Node next;
+        int find(int hash, Object key) {
+            if (key instanceof Integer) {
+                return findInt(hash, (int) key);
+            } else if (key instanceof Double) {
+                return findDouble(hash, (double) key);
+            }
+            for (int i = buckets[bucketOf(hash)]; i != NOT_FOUND; i = chain[i]) {
+                if (hashes[i] == hash) {
+                    Object k = keys[i];
+                    if (k == key || (k != null && k.equals(key))) {
+                        return i;
+                    }
+                }
+            }
+            return NOT_FOUND;
+        }
 
-        Node(Object key, Object value, Node prev, Node next) {
-            this.key = key;
-            this.value = value;
-            this.prev = prev;
-            this.next = next;
+        int findInt(int hash, int key) {
+            for (int i = buckets[bucketOf(hash)]; i != NOT_FOUND; i = chain[i]) {
+                if (hashes[i] == hash) {
+                    Object k = keys[i];
+                    if (k instanceof Integer && (int) k == key) {
+                        return i;
+                    }
+                }
+            }
+            return NOT_FOUND;
         }
 
-        Object getKey() {
-            return key;
+        int findDouble(int hash, double key) {
+            long bits = Double.doubleToLongBits(key);
+            for (int i = buckets[bucketOf(hash)]; i != NOT_FOUND; i = chain[i]) {
+                if (hashes[i] == hash) {
+                    Object k = keys[i];
+                    if (k instanceof Double && Double.doubleToLongBits((double) k) == bits) {
+                        return i;
+                    }
+                }
+            }
+            return NOT_FOUND;
         }
 
-        Object getValue() {
-            return value;
+        int findString(int hash, TruffleString key, TruffleString.EqualNode equalNode) {
+            for (int i = buckets[bucketOf(hash)]; i != NOT_FOUND; i = chain[i]) {
+                if (hashes[i] == hash) {
+                    Object k = keys[i];
+                    if (k instanceof TruffleString && Strings.equals(equalNode, (TruffleString) k, key)) {
+                        return i;
+                    }
+                }
+            }
+            return NOT_FOUND;
         }
 
-        void setValue(Object value) {
-            this.value = value;
+        void append(int hash, Object key, Object value) {
+            int index = used++;
+            int bucket = bucketOf(hash);
+            hashes[index] = hash;
+            keys[index] = key;
+            values[index] = value;
+            chain[index] = buckets[bucket];
+            buckets[bucket] = index;
         }
 
-        Node getPrev() {
-            return prev;
+        void obsolete(Store newStore, int[] removed) {
+            this.successor = newStore;
+            this.removedIndices = removed;
         }
 
-        void setPrev(Node prev) {
-            this.prev = prev;
+        boolean isObsolete() {
+            return successor != null;
+        }
+    }
+
+    private static final class CursorImpl implements Cursor {
+        /** Current store, or {@code null} if the cursor has reached the end. */
+        private Store store;
+        /** Index of the current entry, {@code -1} if positioned before the first entry. */
+        private int index;
+
+        CursorImpl(Store store, int index) {
+            this.store = store;
+            this.index = index;
         }
 
-        Node getNext() {
-            return next;
+        @Override
+        public boolean advance() {
+            Store s = store;
+            if (s == null) {
+                return false;
+            }
+            if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, s.isObsolete())) {
+                s = transition();
+            }
+            int i = index + 1;
+            while (i < s.used && s.keys[i] == null) {
+                i++;
+            }
+            if (i < s.used) {
+                index = i;
+                return true;
+            } else {
+                store = null;
+                return false;
+            }
         }
 
-        void setNext(Node next) {
-            this.next = next;
+        /**
+         * Follows the successor chain of the current store, adjusting the index so that it points
+         * to the last entry visited (or to just before the next entry not yet visited).
+         */
+        @TruffleBoundary
+        private Store transition() {
+            Store s = store;
+            int i = index;
+            while (s.isObsolete()) {
+                int[] removed = s.removedIndices;
+                if (removed == null) {
+                    // cleared
+                    i = -1;
+                } else if (i >= 0) {
+                    int removedBefore = 0;
+                    while (removedBefore < removed.length && removed[removedBefore] <= i) {
+                        removedBefore++;
+                    }
+                    i -= removedBefore;
+                }
+                s = s.successor;
+            }
+            store = s;
+            index = i;
+            return s;
         }
 
-        void setEmpty() {
-            this.key = null;
-            this.value = null;
+        @Override
+        public Object getKey() {
+            Object key = store.keys[index];
+            assert key != null;
+            return key;
         }
 
-        boolean isEmpty() {
-            return this.key == null;
+        @Override
+        public Object getValue() {
+            Object value = store.values[index];
+            assert value != null;
+            return value;
         }
 
         @Override
         public String toString() {
-            return "Node [key=" + key + ", value=" + value + "]";
+            return "Cursor [index=" + index + "]";
+        }
+
+        @Override
+        public Cursor copy() {
+            return new CursorImpl(store, index);
         }
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.PrintWriter;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Collects the key distributions sampled by frequency-based keyed property access caches, so that
+ * they can be printed when the last context sharing the JSContext is disposed.
+ *
+ * Access nodes are only referenced weakly, so that registering them does not keep unused ASTs
+ * alive. The histograms of nodes that have been collected are not printed.
+ */
+public final class KeyAccessHistograms {
+    private static final String CLASS_NAME = "[" + KeyAccessHistograms.class.getSimpleName() + "] ";
+    /** Remove cleared references after this many registrations. */
+    private static final int PRUNE_EVERY = 1024;
+
+    private final Queue<WeakReference<Sampler>> samplers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger registrations = new AtomicInteger();
+    private final AtomicInteger liveContexts = new AtomicInteger();
+    private final AtomicBoolean printed = new AtomicBoolean();
+
+    /**
+     * A keyed access node that samples the keys it is used with.
+     */
+    public interface Sampler {
+        /**
+         * Returns a snapshot of the number of sampled accesses per key, or {@code null} if the
+         * node stopped sampling.
+         */
+        Map<Object, Long> getKeyHistogram();
+
+        /**
+         * Returns the keys that currently have a dedicated cache entry, most frequent first.
+         */
+        List<Object> getCachedKeys();
+
+        SourceSection getEncapsulatingSourceSection();
+    }
+
+    @TruffleBoundary
+    public void register(Sampler sampler) {
+        samplers.add(new WeakReference<>(sampler));
+        if (registrations.incrementAndGet() % PRUNE_EVERY == 0) {
+            samplers.removeIf(ref -> ref.get() == null);
+        }
+    }
+
+    public void contextCreated() {
+        liveContexts.incrementAndGet();
+    }
+
+    /**
+     * Prints the histograms when the last context using them is disposed. They are printed only
+     * once, even if contexts are created again later.
+     */
+    @TruffleBoundary
+    public void contextDisposed(PrintWriter out) {
+        if (liveContexts.decrementAndGet() == 0 && printed.compareAndSet(false, true)) {
+            print(out);
+        }
+    }
+
+    @TruffleBoundary
+    public void print(PrintWriter out) {
+        for (WeakReference<Sampler> ref : samplers) {
+            Sampler sampler = ref.get();
+            if (sampler == null) {
+                continue;
+            }
+            Map<Object, Long> histogram = sampler.getKeyHistogram();
+            if (histogram != null && histogram.isEmpty()) {
+                continue;
+            }
+            String location = getLocation(sampler.getEncapsulatingSourceSection());
+            if (histogram == null) {
+                out.println(CLASS_NAME + location + " too many keys, sampling stopped");
+                continue;
+            }
+            long total = 0;
+            for (long hits : histogram.values()) {
+                total += hits;
+            }
+            out.println(CLASS_NAME + location + " total: " + total);
+            List<Object> cachedKeys = sampler.getCachedKeys();
+            List<Map.Entry<Object, Long>> sorted = new ArrayList<>(histogram.entrySet());
+            sorted.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+            for (Map.Entry<Object, Long> keyHits : sorted) {
+                long hits = keyHits.getValue();
+                String cached = cachedKeys.contains(keyHits.getKey()) ? " cached" : "";
+                out.println("  " + keyHits.getKey() + ": " + hits + " (" + (hits * 100 / total) + "%)" + cached);
+            }
+        }
+        out.flush();
+    }
+
+    private static String getLocation(SourceSection sourceSection) {
+        if (sourceSection == null || !sourceSection.isAvailable()) {
+            return "<unknown>";
+        }
+        return sourceSection.getSource().getName() + ":" + sourceSection.getStartLine() + ":" + sourceSection.getStartColumn();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Parses sources on a bounded pool of background threads, ahead of the point where the (single
+ * threaded) JS context needs the result.
+ *
+ * Only parsing is done in the background; the result is handed back to the context thread via
+ * {@link #take(Source)}, which translates it. The module loader {@link #discard discards} the
+ * result of a source once the module has been loaded, so results that are never taken (e.g.
+ * because the module was served from the code cache) are not retained. The threads are system
+ * threads of the context that owns the executor and are stopped by {@link #shutdown()} when the
+ * context is finalized.
+ */
+public final class ModuleParseExecutor {
+
+    private static final int MAX_PENDING = 256;
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Source, Future<Object>> pending = new ConcurrentHashMap<>();
+    private int takenCount;
+
+    public ModuleParseExecutor(TruffleLanguage.Env env, int threads) {
+        assert threads > 0;
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = env.createSystemThread(r);
+            thread.setName("JS-Module-Parser-Thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Schedules the parse task for the source, unless it is already pending or too many sources
+     * are pending.
+     */
+    public void submit(Source source, Callable<Object> task) {
+        if (pending.size() >= MAX_PENDING || pending.containsKey(source)) {
+            return;
+        }
+        try {
+            pending.computeIfAbsent(source, s -> executor.submit(task));
+        } catch (RejectedExecutionException e) {
+            // best effort only, the source will be parsed on demand
+        }
+    }
+
+    /**
+     * Removes the pending parse result for the source and waits for it to complete.
+     *
+     * @return the parse result or {@code null} if the source was not submitted or its parsing
+     *         failed, in which case the caller should parse the source itself.
+     */
+    public Object take(Source source) {
+        Future<Object> future = pending.remove(source);
+        if (future == null) {
+            return null;
+        }
+        try {
+            Object result = future.get();
+            takenCount++;
+            return result;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Drops the pending parse result for the source, if any. Called once the source has been
+     * loaded, whether or not its result was taken.
+     */
+    public void discard(Source source) {
+        Future<Object> future = pending.remove(source);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Drops all pending results and waits for running parse tasks to finish, so that no system
+     * thread outlives the context.
+     */
+    public void shutdown() {
+        pending.clear();
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of parse results that were taken by the context thread.
+     */
+    public int getTakenCount() {
+        return takenCount;
+    }
+}